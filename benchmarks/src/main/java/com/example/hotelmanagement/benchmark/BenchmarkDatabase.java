@@ -0,0 +1,100 @@
+package com.example.hotelmanagement.benchmark;
+
+import com.example.hotelmanagement.HotelManagementApplication;
+import com.example.hotelmanagement.index.GuestSearchIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+/**
+ * Boots the application against the in-memory {@code bench} profile and seeds a deterministic guest table.
+ * Row {@code i} (1-based) has id {@code i}, email {@code guest<i>@bench.example.com} and phone {@code 09<i padded to 8>}.
+ */
+public final class BenchmarkDatabase {
+
+    static final String[] FIRST_NAMES = {"An", "Binh", "Chi", "Dung", "Hoa", "Khanh", "Linh", "Minh", "Nam", "Trang"};
+    static final String[] LAST_NAMES = {"Nguyen", "Tran", "Le", "Pham", "Hoang", "Vu", "Dang", "Bui", "Do", "Ngo"};
+
+    private static final String INSERT_SQL =
+            "INSERT INTO guests (first_name, last_name, email, phone, address, id_number, preferences, stay_history, " +
+            "loyalty_points, is_deleted, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+    private static final int BATCH_SIZE = 5_000;
+    private static final Duration INDEX_BUILD_TIMEOUT = Duration.ofMinutes(1);
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Starts the application with {@code args} as command-line arguments, which override the profile.
+     */
+    public static ConfigurableApplicationContext start(int rows, String... args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(HotelManagementApplication.class)
+                .profiles("bench")
+                .run(args);
+        GuestSearchIndex searchIndex = context.getBean(GuestSearchIndex.class);
+        // Let the startup build over the empty table finish before seeding behind its back
+        awaitIndex(context, searchIndex);
+        seed(context.getBean(JdbcTemplate.class), rows);
+        searchIndex.rebuild();
+        if (!searchIndex.isReady()) {
+            context.close();
+            throw new IllegalStateException("Search index rebuild over " + rows + " rows failed; see the log");
+        }
+        return context;
+    }
+
+    public static String email(long i) {
+        return "guest" + i + "@bench.example.com";
+    }
+
+    public static String phone(long i) {
+        return "09" + String.format("%08d", i);
+    }
+
+    // A failed build leaves the index not ready for good, so waiting must give up
+    private static void awaitIndex(ConfigurableApplicationContext context, GuestSearchIndex searchIndex) {
+        long deadline = System.nanoTime() + INDEX_BUILD_TIMEOUT.toNanos();
+        while (!searchIndex.isReady()) {
+            if (System.nanoTime() - deadline > 0) {
+                context.close();
+                throw new IllegalStateException("Search index not ready after " + INDEX_BUILD_TIMEOUT + "; see the log");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                context.close();
+                throw new IllegalStateException("Interrupted waiting for the search index", ex);
+            }
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 1; from <= rows; from += BATCH_SIZE) {
+            int to = Math.min(rows, from + BATCH_SIZE - 1);
+            jdbcTemplate.batchUpdate(INSERT_SQL, IntStream.rangeClosed(from, to).boxed().toList(), BATCH_SIZE,
+                    (PreparedStatement ps, Integer i) -> {
+                        ps.setString(1, FIRST_NAMES[i % FIRST_NAMES.length]);
+                        ps.setString(2, LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length]);
+                        ps.setString(3, email(i));
+                        ps.setString(4, phone(i));
+                        ps.setString(5, i + " Le Loi, District 1, Ho Chi Minh City");
+                        ps.setString(6, String.format("%012d", i));
+                        ps.setString(7, "Non-smoking, high floor, king bed");
+                        ps.setString(8, "2024-03-0" + (1 + i % 9) + ": Room " + (100 + i % 400));
+                        ps.setInt(9, (int) ((i * 7919L) % 25_000));
+                        // Every 20th guest is soft-deleted
+                        ps.setBoolean(10, i % 20 == 0);
+                        ps.setTimestamp(11, now);
+                        ps.setTimestamp(12, now);
+                    });
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.hotelmanagement.benchmark;
+
+import com.example.hotelmanagement.dto.DedupRunResponse;
+import com.example.hotelmanagement.service.GuestDedupService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full duplicate scan over the seeded table, where every 100th active guest has re-registered with a new
+ * email and the phone written in international form. Run with {@code -p rows=5000000} and a larger heap
+ * to check the 5M-row target; each {@code dedup-run} line shows what the scan found.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GuestDedupBenchmark {
+
+    private static final String DUPLICATE_SQL =
+            "INSERT INTO guests (first_name, last_name, email, phone, address, id_number, preferences, stay_history, " +
+            "loyalty_points, is_deleted, version, created_at, updated_at) " +
+            "SELECT first_name, last_name, CONCAT('dup', id, '@bench.example.com'), CONCAT('+84', SUBSTRING(phone, 2)), " +
+            "address, id_number, preferences, '', 0, false, 0, created_at, updated_at " +
+            "FROM guests WHERE MOD(id, 100) = 1 AND is_deleted = false";
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private GuestDedupService dedupService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(rows);
+        context.getBean(JdbcTemplate.class).update(DUPLICATE_SQL);
+        dedupService = context.getBean(GuestDedupService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DedupRunResponse scan() {
+        DedupRunResponse run = dedupService.scan();
+        System.out.printf("dedup-run rows=%d blocks=%d oversized=%d pairs=%d candidates=%d ms=%d%n",
+                run.getRowsScanned(), run.getBlocks(), run.getOversizedBlocks(), run.getPairsCompared(),
+                run.getCandidates(), run.getDurationMs());
+        return run;
+    }
+}
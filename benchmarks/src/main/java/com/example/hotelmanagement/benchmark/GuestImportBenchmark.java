@@ -0,0 +1,116 @@
+package com.example.hotelmanagement.benchmark;
+
+import com.example.hotelmanagement.dto.GuestRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guests imported per second over HTTP: one {@code POST /api/v1/guests/bulk} carrying
+ * {@value #ROWS_PER_INVOCATION} rows versus one {@code POST /api/v1/guests} per row, which was the only way to
+ * onboard a hotel chain before. Every invocation sends fresh emails on top of a seeded table, so both paths pay
+ * the duplicate-email check and publish the same CREATED events. The server runs in-process on a random port
+ * against the {@code bench} H2 database; a networked MySQL adds a round trip per row and widens the gap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GuestImportBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int ROWS_PER_INVOCATION = 1_000;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private ConfigurableApplicationContext context;
+    private URI guestsUri;
+    private URI bulkUri;
+    private long nextGuest = ROWS;
+    private List<String> rowBodies;
+    private String bulkBody;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(ROWS, "--spring.main.web-application-type=servlet", "--server.port=0");
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        guestsUri = URI.create(baseUrl + "/api/v1/guests");
+        bulkUri = URI.create(baseUrl + "/api/v1/guests/bulk");
+    }
+
+    @Setup(Level.Invocation)
+    public void nextRows() {
+        List<GuestRequest> requests = new ArrayList<>(ROWS_PER_INVOCATION);
+        rowBodies = new ArrayList<>(ROWS_PER_INVOCATION);
+        for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+            long guest = ++nextGuest;
+            GuestRequest request = new GuestRequest();
+            request.setFirstName(BenchmarkDatabase.FIRST_NAMES[(int) (guest % BenchmarkDatabase.FIRST_NAMES.length)]);
+            request.setLastName(BenchmarkDatabase.LAST_NAMES[(int) (guest % BenchmarkDatabase.LAST_NAMES.length)]);
+            request.setEmail(BenchmarkDatabase.email(guest));
+            request.setPhone(BenchmarkDatabase.phone(guest));
+            request.setAddress(guest + " Le Loi, District 1, Ho Chi Minh City");
+            request.setPreferences("Non-smoking, high floor, king bed");
+            requests.add(request);
+            rowBodies.add(jsonMapper.writeValueAsString(request));
+        }
+        bulkBody = jsonMapper.writeValueAsString(requests);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public int perRowEndpoint() throws IOException, InterruptedException {
+        int created = 0;
+        for (String body : rowBodies) {
+            created += post(guestsUri, body, 201).length();
+        }
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public String bulkEndpoint() throws IOException, InterruptedException {
+        return post(bulkUri, bulkBody, 200);
+    }
+
+    private String post(URI uri, String body, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(uri + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.hotelmanagement.benchmark;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of list responses as the controllers return them, in the full and summary views.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GuestJsonBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private Page<GuestResponse> fullPage;
+    private Page<GuestSummaryResponse> summaryPage;
+
+    @Setup
+    public void setUp() {
+        List<GuestResponse> full = new ArrayList<>(pageSize);
+        List<GuestSummaryResponse> summaries = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            String name = BenchmarkDatabase.FIRST_NAMES[(int) (i % 10)] + " " + BenchmarkDatabase.LAST_NAMES[(int) (i / 10 % 10)];
+            full.add(new GuestResponse(i, name, BenchmarkDatabase.email(i), BenchmarkDatabase.phone(i),
+                    "Non-smoking, high floor, king bed", "2024-03-01: Room 101, 2024-05-12: Room 204", (int) (i * 37), 0L));
+            summaries.add(new GuestSummaryResponse(i, name, BenchmarkDatabase.email(i), BenchmarkDatabase.phone(i), (int) (i * 37), 0L));
+        }
+        PageRequest pageable = PageRequest.of(0, pageSize);
+        fullPage = new PageImpl<>(full, pageable, 1_000_000);
+        summaryPage = new PageImpl<>(summaries, pageable, 1_000_000);
+    }
+
+    @Benchmark
+    public byte[] fullView() {
+        return jsonMapper.writeValueAsBytes(fullPage);
+    }
+
+    @Benchmark
+    public byte[] summaryView() {
+        return jsonMapper.writeValueAsBytes(summaryPage);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.hotelmanagement.benchmark;
+
+import com.example.hotelmanagement.cache.GuestCache;
+import com.example.hotelmanagement.dto.GuestMultiGetResponse;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.exception.GuestNotFoundException;
+import com.example.hotelmanagement.service.GuestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving an arrival day's guest list: one {@code getGuestById} per id, as the booking engine does today,
+ * versus one {@code getGuestsByIds}. A cold cache is cleared before every invocation so both paths hit the
+ * database; a warm cache is the steady state for repeat lookups. The HTTP round trip per id that the loop
+ * also costs in production is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GuestMultiGetBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"50", "500"})
+    public int ids;
+
+    @Param({"cold", "warm"})
+    public String cache;
+
+    private ConfigurableApplicationContext context;
+    private GuestService guestService;
+    private GuestCache guestCache;
+    private List<Long> guestIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(ROWS);
+        guestService = context.getBean(GuestService.class);
+        guestCache = context.getBean(GuestCache.class);
+
+        guestIds = new ArrayList<>(ids);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < ids; i++) {
+            guestIds.add(random.nextLong(1, ROWS + 1));
+        }
+        guestService.getGuestsByIds(guestIds);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCache() {
+        if (cache.equals("cold")) {
+            guestCache.clear();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<GuestResponse> perIdLoop() {
+        List<GuestResponse> guests = new ArrayList<>(guestIds.size());
+        for (Long id : guestIds) {
+            try {
+                guests.add(guestService.getGuestById(id));
+            } catch (GuestNotFoundException ex) {
+                // Counted as missing by the caller
+            }
+        }
+        return guests;
+    }
+
+    @Benchmark
+    public GuestMultiGetResponse multiGet() {
+        return guestService.getGuestsByIds(guestIds);
+    }
+}
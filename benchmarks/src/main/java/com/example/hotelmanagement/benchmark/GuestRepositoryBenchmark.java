@@ -0,0 +1,196 @@
+package com.example.hotelmanagement.benchmark;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.index.EmailEntry;
+import com.example.hotelmanagement.index.GuestSearchDocument;
+import com.example.hotelmanagement.index.GuestSearchIndex;
+import com.example.hotelmanagement.index.LoyaltyEntry;
+import com.example.hotelmanagement.repository.GuestProjectionRepository;
+import com.example.hotelmanagement.repository.GuestRepository;
+import com.example.hotelmanagement.service.GuestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Every read query of {@link GuestRepository} (plus the projection and search-index paths that replaced
+ * some of them) against an in-memory database seeded with {@code rows} guests. Point lookups pick a random
+ * row per invocation; page queries fetch the first page of 20 as the list endpoints do by default. The
+ * index-backed keyword search goes through {@code GuestService.searchGuests} with the search cache off, so it
+ * builds the same page of responses as the LIKE queries it replaced.
+ * <p>
+ * The 10M case needs about 20 GB for the seeded table and the search index together, so it only runs when
+ * asked for: {@code -p rows=10000000 -jvmArgsAppend -Xmx24g}. The index footprint is printed once per trial
+ * as a {@code search-index} line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class GuestRepositoryBenchmark {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private GuestRepository guestRepository;
+    private GuestProjectionRepository projectionRepository;
+    private GuestSearchIndex searchIndex;
+    private GuestService guestService;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Every keyword search must reach the index rather than a cached page
+        context = BenchmarkDatabase.start(rows, "--guest.search-cache.enabled=false");
+        guestRepository = context.getBean(GuestRepository.class);
+        projectionRepository = context.getBean(GuestProjectionRepository.class);
+        searchIndex = context.getBean(GuestSearchIndex.class);
+        guestService = context.getBean(GuestService.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        System.out.printf("search-index rows=%d documents=%d memoryBytes=%d%n",
+                rows, searchIndex.size(), searchIndex.memoryBytes());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+
+    // Point lookups
+
+    @Benchmark
+    public Optional<Guest> findById() {
+        return guestRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public boolean existsByEmail() {
+        return guestRepository.existsByEmail(BenchmarkDatabase.email(randomId()));
+    }
+
+    @Benchmark
+    public Optional<Guest> findByEmailAndIsDeletedFalse() {
+        return guestRepository.findByEmailAndIsDeletedFalse(BenchmarkDatabase.email(randomId()));
+    }
+
+    @Benchmark
+    public List<String> findExistingEmails() {
+        return guestRepository.findExistingEmails(List.of(BenchmarkDatabase.email(randomId()),
+                BenchmarkDatabase.email(randomId()), "missing@bench.example.com"));
+    }
+
+    @Benchmark
+    public List<Guest> findByEmailIn() {
+        return guestRepository.findByEmailIn(List.of(BenchmarkDatabase.email(randomId()), BenchmarkDatabase.email(randomId())));
+    }
+
+    // Offset pages
+
+    @Benchmark
+    public Page<Guest> findAllByIsDeletedFalse() {
+        return guestRepository.findAllByIsDeletedFalse(FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<GuestResponse> findAllResponses() {
+        return projectionRepository.findAllResponses(FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Guest> searchGuests() {
+        return guestRepository.searchGuests("minh", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<GuestResponse> searchResponses() {
+        return projectionRepository.searchResponses("minh", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<GuestResponse> searchIndexPage() {
+        // Unsorted, so the service answers from the index and loads the page with loadInOrder
+        return guestService.searchGuests("minh", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Guest> findByEmailContaining() {
+        return guestRepository.findByEmailContainingIgnoreCaseAndIsDeletedFalse("guest12", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Guest> findByPhoneContaining() {
+        return guestRepository.findByPhoneContainingAndIsDeletedFalse("0012", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Guest> findByLoyaltyPoints() {
+        return guestRepository.findByLoyaltyPointsGreaterThanEqualAndIsDeletedFalse(20_000, FIRST_PAGE);
+    }
+
+    // Keyset scans used by the in-memory index loaders and the legacy migration
+
+    @Benchmark
+    public List<GuestSearchDocument> findSearchDocumentsAfter() {
+        return guestRepository.findSearchDocumentsAfter(randomId(), Limit.of(1000));
+    }
+
+    @Benchmark
+    public List<LoyaltyEntry> findLoyaltyEntriesAfter() {
+        return guestRepository.findLoyaltyEntriesAfter(randomId(), Limit.of(1000));
+    }
+
+    @Benchmark
+    public List<EmailEntry> findEmailEntriesAfter() {
+        return guestRepository.findEmailEntriesAfter(randomId(), Limit.of(1000));
+    }
+
+    @Benchmark
+    public List<Guest> findWithLegacyStayHistoryAfter() {
+        return guestRepository.findWithLegacyStayHistoryAfter(randomId(), Limit.of(100));
+    }
+
+    @Benchmark
+    public long streamForExport() {
+        // First 1000 rows of an unfiltered export
+        return readOnlyTransaction.execute(status -> {
+            try (Stream<Guest> stream = guestRepository.streamForExport(null, null, null, null)) {
+                return stream.limit(1000).count();
+            }
+        });
+    }
+}
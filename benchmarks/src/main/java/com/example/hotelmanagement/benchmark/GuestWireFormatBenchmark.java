@@ -0,0 +1,93 @@
+package com.example.hotelmanagement.benchmark;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU per page and bytes on the wire for each response format the guest endpoints negotiate, with and
+ * without the gzip step that server.compression adds. Encoded sizes are printed once per trial as
+ * {@code wire-size} lines, since JMH itself only reports time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GuestWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"20", "500"})
+    public int pageSize;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper mapper;
+    private Page<GuestResponse> page;
+
+    @Setup
+    public void setUp() {
+        mapper = switch (format) {
+            case "json" -> JsonMapper.builder().build();
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+
+        List<GuestResponse> guests = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            String name = BenchmarkDatabase.FIRST_NAMES[(int) (i % 10)] + " " + BenchmarkDatabase.LAST_NAMES[(int) (i / 10 % 10)];
+            guests.add(new GuestResponse(i, name, BenchmarkDatabase.email(i), BenchmarkDatabase.phone(i),
+                    "Non-smoking, high floor, king bed",
+                    "2024-03-01: Room 101, 2024-05-12: Room 204, 2024-08-30: Room 1207, 2025-01-04: Room 315",
+                    (int) (i * 37), i % 5));
+        }
+        page = new PageImpl<>(guests, PageRequest.of(0, pageSize), 1_000_000);
+
+        System.out.printf("wire-size format=%s pageSize=%d gzip=%s bytes=%d%n", format, pageSize, gzip, encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        byte[] body = mapper.writeValueAsBytes(page);
+        return gzip ? gzip(body) : body;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+}
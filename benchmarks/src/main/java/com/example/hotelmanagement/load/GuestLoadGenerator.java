@@ -0,0 +1,310 @@
+package com.example.hotelmanagement.load;
+
+import com.example.hotelmanagement.HotelManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Closed-loop load generator for {@code /api/v1/guests}. A fixed number of workers each send one request
+ * at a time, choosing the operation from a weighted mix, and record per-operation latency and outcome.
+ * Without {@code --base-url} the application is started in-process on a random port with the
+ * {@code embedded} profile, so a run needs nothing but this JVM.
+ * <p>
+ * Options (all {@code --name=value}): base-url, profiles (embedded), threads (32), duration (PT60S),
+ * warmup (PT10S), mix (create=10,get=50,update=15,search=20,delete=5), seed-guests (1000), timeout (PT5S),
+ * output (target/load-result.json), and threading: {@code platform} or {@code virtual} to force the
+ * in-process server's request threads, or {@code compare} to run the workload once in each mode.
+ */
+public final class GuestLoadGenerator {
+
+    enum Operation { CREATE, GET, UPDATE, SEARCH, DELETE }
+
+    private static final String[] FIRST_NAMES = {"An", "Binh", "Chi", "Dung", "Hoa", "Khanh", "Linh", "Minh", "Nam", "Trang"};
+    private static final String[] LAST_NAMES = {"Nguyen", "Tran", "Le", "Pham", "Hoang", "Vu", "Dang", "Bui", "Do", "Ngo"};
+    private static final int ID_POOL_SIZE = 1 << 20;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final HttpClient client;
+    private final String guestsUrl;
+    private final Duration timeout;
+    private final Operation[] weightedOperations;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    // Ids of guests created by this run; deleted slots are zeroed
+    private final AtomicLongArray ids = new AtomicLongArray(ID_POOL_SIZE);
+    private final AtomicInteger idCount = new AtomicInteger();
+
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private GuestLoadGenerator(String baseUrl, Duration timeout, Map<Operation, Integer> mix) {
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(timeout).build();
+        this.guestsUrl = baseUrl + "/api/v1/guests";
+        this.timeout = timeout;
+        List<Operation> weighted = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("mix must give at least one operation a positive weight");
+        }
+        this.weightedOperations = weighted.toArray(new Operation[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        Path output = Path.of(options.getOrDefault("output", "target/load-result.json"));
+        String threading = options.get("threading");
+
+        if ("compare".equals(threading)) {
+            // Same workload against a fresh in-process application in each mode
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (String mode : List.of("platform", "virtual")) {
+                Map<String, Object> result = runOnce(options, mode);
+                printTable(mode + " threads", result);
+                results.put(mode, result);
+            }
+            write(results, output);
+        } else {
+            Map<String, Object> result = runOnce(options, threading);
+            printTable("results", result);
+            write(result, output);
+        }
+    }
+
+    private static Map<String, Object> runOnce(Map<String, String> options, String threading) throws InterruptedException {
+        int threads = Integer.parseInt(options.getOrDefault("threads", "32"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Duration timeout = Duration.parse(options.getOrDefault("timeout", "PT5S"));
+        int seedGuests = Integer.parseInt(options.getOrDefault("seed-guests", "1000"));
+        Map<Operation, Integer> mix = parseMix(options.getOrDefault("mix", "create=10,get=50,update=15,search=20,delete=5"));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            List<String> properties = new ArrayList<>(List.of("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN"));
+            if (threading != null) {
+                properties.add("spring.threads.virtual.enabled=" + threading.equals("virtual"));
+            }
+            context = new SpringApplicationBuilder(HotelManagementApplication.class)
+                    .profiles(options.getOrDefault("profiles", "embedded").split(","))
+                    .properties(properties.toArray(new String[0]))
+                    .run();
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            GuestLoadGenerator generator = new GuestLoadGenerator(baseUrl, timeout, mix);
+            Map<String, Object> result = generator.run(threads, seedGuests, warmup, duration);
+            result.put("baseUrl", baseUrl);
+            result.put("threading", threading == null ? "default" : threading);
+            result.put("mix", mix);
+            return result;
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private Map<String, Object> run(int threads, int seedGuests, Duration warmup, Duration duration) throws InterruptedException {
+        System.out.printf("Seeding %d guests at %s%n", seedGuests, guestsUrl);
+        EndpointStats seedStats = new EndpointStats();
+        for (int i = 0; i < seedGuests; i++) {
+            execute(Operation.CREATE, seedStats);
+        }
+
+        List<Map<Operation, EndpointStats>> perWorker = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                stats.put(operation, new EndpointStats());
+            }
+            perWorker.add(stats);
+            workers.add(Thread.ofPlatform().name("load-worker-" + i).start(() -> work(stats)));
+        }
+
+        System.out.printf("Warming up for %s with %d workers%n", warmup, threads);
+        Thread.sleep(warmup.toMillis());
+        recording = true;
+        long started = System.nanoTime();
+        System.out.printf("Measuring for %s%n", duration);
+        Thread.sleep(duration.toMillis());
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        EndpointStats total = new EndpointStats();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            EndpointStats merged = new EndpointStats();
+            perWorker.forEach(stats -> merged.merge(stats.get(operation)));
+            if (merged.count() > 0) {
+                endpoints.put(operation.name().toLowerCase(), merged.summarize(seconds));
+                total.merge(merged);
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", threads);
+        result.put("measuredSeconds", Math.round(seconds * 1000) / 1000.0);
+        result.put("total", total.summarize(seconds));
+        result.put("endpoints", endpoints);
+        return result;
+    }
+
+    private void work(Map<Operation, EndpointStats> stats) {
+        while (running) {
+            Operation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+            // Warmup requests go to a throwaway recorder
+            execute(operation, recording ? stats.get(operation) : new EndpointStats());
+        }
+    }
+
+    private void execute(Operation operation, EndpointStats stats) {
+        HttpRequest request;
+        long id = 0;
+        int slot = -1;
+        switch (operation) {
+            case CREATE -> request = json(HttpRequest.newBuilder(URI.create(guestsUrl)), "POST", newGuestBody());
+            case GET -> {
+                id = randomId();
+                request = HttpRequest.newBuilder(URI.create(guestsUrl + "/" + id)).timeout(timeout).GET().build();
+            }
+            case UPDATE -> {
+                id = randomId();
+                request = json(HttpRequest.newBuilder(URI.create(guestsUrl + "/" + id)), "PUT", newGuestBody());
+            }
+            case SEARCH -> {
+                String keyword = FIRST_NAMES[ThreadLocalRandom.current().nextInt(FIRST_NAMES.length)].toLowerCase();
+                request = HttpRequest.newBuilder(URI.create(guestsUrl + "/search?keyword=" + keyword + "&size=20"))
+                        .timeout(timeout).GET().build();
+            }
+            case DELETE -> {
+                slot = randomSlot();
+                id = slot < 0 ? 0 : ids.getAndSet(slot, 0);
+                request = HttpRequest.newBuilder(URI.create(guestsUrl + "/" + id)).timeout(timeout).DELETE().build();
+            }
+            default -> throw new IllegalStateException("Unexpected operation " + operation);
+        }
+
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            stats.record(System.nanoTime() - started, response.statusCode());
+            if (operation == Operation.CREATE && response.statusCode() == 201) {
+                remember(jsonMapper.readTree(response.body()).path("id").asLong());
+            }
+        } catch (IOException ex) {
+            stats.recordFailure(System.nanoTime() - started);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+        return builder.timeout(timeout)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String newGuestBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long sequence = emailSequence.incrementAndGet();
+        Map<String, Object> body = new HashMap<>();
+        body.put("firstName", FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        body.put("lastName", LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        body.put("email", "load-" + runId + "-" + sequence + "@load.example.com");
+        body.put("phone", "09" + String.format("%08d", sequence % 100_000_000));
+        body.put("address", sequence + " Le Loi, District 1, Ho Chi Minh City");
+        body.put("preferences", "Non-smoking, high floor");
+        return jsonMapper.writeValueAsString(body);
+    }
+
+    private void remember(long id) {
+        ids.set(Math.floorMod(idCount.getAndIncrement(), ID_POOL_SIZE), id);
+    }
+
+    private int randomSlot() {
+        int filled = Math.min(idCount.get(), ID_POOL_SIZE);
+        return filled == 0 ? -1 : ThreadLocalRandom.current().nextInt(filled);
+    }
+
+    // May hit a guest deleted since; the resulting 404 shows up as a client error
+    private long randomId() {
+        int slot = randomSlot();
+        return slot < 0 ? 0 : ids.get(slot);
+    }
+
+    private static void printTable(String title, Map<String, Object> result) {
+        System.out.printf("%n%s (%s workers)%n", title, result.get("threads"));
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) result.get("endpoints");
+        endpoints.forEach(GuestLoadGenerator::printRow);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> total = (Map<String, Object>) result.get("total");
+        printRow("total", total);
+    }
+
+    private static void printRow(String name, Map<String, Object> stats) {
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s%n", name, stats.get("requests"), stats.get("throughputPerSecond"),
+                stats.get("p50Ms"), stats.get("p99Ms"), stats.get("p999Ms"), stats.get("errorRate"));
+    }
+
+    private static void write(Map<String, Object> result, Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.writeString(output, JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValueAsString(result));
+        System.out.printf("%nResults written to %s%n", output.toAbsolutePath());
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split("=");
+            weights.put(Operation.valueOf(entry[0].trim().toUpperCase()), Integer.parseInt(entry[1].trim()));
+        }
+        return weights;
+    }
+}
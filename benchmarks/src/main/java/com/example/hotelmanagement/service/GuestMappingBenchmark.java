@@ -0,0 +1,48 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.entity.Guest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-response mapping used on every single-guest read and write.
+ * Lives in the service package because {@code mapToResponse} is package-private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GuestMappingBenchmark {
+
+    private GuestService guestService;
+    private Guest guest;
+
+    @Setup
+    public void setUp() {
+        // mapToResponse only reads the entity, so no collaborators are needed
+        guestService = new GuestService(null, null, null, null, null, null, null, null, 0, 0);
+        guest = new Guest(42L, "Dung", "Le Tien", "dung.le@example.com", "+84901234567",
+                "123 Le Loi, District 1", "079123456789", 1250, false, LocalDateTime.now(), LocalDateTime.now());
+        guest.setPreferences("Non-smoking, High floor, King bed");
+        guest.setStayHistory("2024-01-15: Room 101, 2024-03-02: Room 305, 2024-06-20: Room 1204");
+    }
+
+    @Benchmark
+    public GuestResponse mapToResponse() {
+        return guestService.mapToResponse(guest);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.benchmark.BenchmarkDatabase;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.repository.GuestProjectionRepository;
+import com.example.hotelmanagement.repository.GuestRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of the guest list the way {@code getAllGuests} builds it: managed entities mapped with
+ * {@code mapToResponse} inside the class-level read-write transaction (before the projection queries),
+ * the same inside a read-only transaction (no dirty-checking snapshots), and the {@code GuestResponse}
+ * constructor projection now used. Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm}, the
+ * bytes allocated per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GuestPageMappingBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private GuestRepository guestRepository;
+    private GuestProjectionRepository projectionRepository;
+    private GuestService mapper;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private Pageable page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(ROWS);
+        guestRepository = context.getBean(GuestRepository.class);
+        projectionRepository = context.getBean(GuestProjectionRepository.class);
+        // An unproxied instance, as the service calls mapToResponse on itself
+        mapper = new GuestService(null, null, null, null, null, null, null, null, 0, 0);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        page = PageRequest.of(10, pageSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<GuestResponse> entitiesReadWrite() {
+        return readWriteTransaction.execute(status ->
+                guestRepository.findAllByIsDeletedFalse(page).map(mapper::mapToResponse));
+    }
+
+    @Benchmark
+    public Page<GuestResponse> entitiesReadOnly() {
+        return readOnlyTransaction.execute(status ->
+                guestRepository.findAllByIsDeletedFalse(page).map(mapper::mapToResponse));
+    }
+
+    @Benchmark
+    public Page<GuestResponse> projection() {
+        return readOnlyTransaction.execute(status -> projectionRepository.findAllResponses(page));
+    }
+}
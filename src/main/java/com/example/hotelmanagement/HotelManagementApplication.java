@@ -2,12 +2,16 @@ package com.example.hotelmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class HotelManagementApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(HotelManagementApplication.class, args);
+		SpringApplication application = new SpringApplication(HotelManagementApplication.class);
+		// Records the duration of each startup step (bean creation, context refresh) for /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,216 @@
+package com.example.hotelmanagement.cache;
+
+import com.example.hotelmanagement.dto.CacheStatsResponse;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded read-through cache of {@link GuestResponse} keyed by guest id.
+ * <p>
+ * Entries are split across independently locked LRU segments so concurrent
+ * lookups for different guests rarely contend. Each entry expires after a fixed TTL.
+ * Only active (non-deleted) guests are ever stored. Values are copied on the way in and out, so a caller
+ * may change the response it got without changing what the next reader gets.
+ * <p>
+ * Every write and eviction is numbered. A value loaded from the database is stored only if its id was
+ * not written or evicted after the load started, so a load that read a guest just before it was
+ * updated or deleted cannot put the old row back.
+ */
+@Component
+public class GuestCache {
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final int RECENT_WRITES_PER_SEGMENT = 1024;
+
+    private final Segment[] segments;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public GuestCache(@Value("${guest.cache.max-size:10000}") int maxSize,
+                      @Value("${guest.cache.ttl:PT10M}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        int perSegment = Math.max(1, maxSize / SEGMENT_COUNT);
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    public GuestResponse get(Long id) {
+        GuestResponse response = segmentFor(id).get(id, System.nanoTime());
+        if (response == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(response);
+    }
+
+    /**
+     * Marks the start of a database load; pass the result to {@link #putIfAbsent(GuestResponse, long)}.
+     */
+    public long loadStamp() {
+        return writeSequence.get();
+    }
+
+    /**
+     * Stores a value loaded from the database, unless the guest was written or evicted since
+     * {@code loadStamp} or a newer value is already cached.
+     */
+    public void putIfAbsent(GuestResponse response, long loadStamp) {
+        segmentFor(response.getId()).putLoaded(copy(response), System.nanoTime() + ttlNanos, loadStamp);
+    }
+
+    public void put(GuestResponse response) {
+        segmentFor(response.getId()).put(copy(response), System.nanoTime() + ttlNanos);
+    }
+
+    public void evict(Long id) {
+        segmentFor(id).remove(id);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onGuestChanged(GuestChangedEvent event) {
+        if (event.type() == GuestChangedEvent.ChangeType.DELETED || event.response() == null) {
+            evict(event.guestId());
+        } else {
+            put(event.response());
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new CacheStatsResponse(size, maxSize, hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private static GuestResponse copy(GuestResponse response) {
+        return new GuestResponse(response.getId(), response.getFullName(), response.getEmail(), response.getPhone(),
+                response.getPreferences(), response.getStayHistory(), response.getLoyaltyPoints(), response.getVersion());
+    }
+
+    private Segment segmentFor(Long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return segments[(int) (h >>> 60) & (SEGMENT_COUNT - 1)];
+    }
+
+    private static final class Entry {
+        final GuestResponse response;
+        final long expiresAt;
+
+        Entry(GuestResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final class Segment {
+
+        private final LinkedHashMap<Long, Entry> map;
+        // Sequence of the last write or eviction of each recently touched id, oldest first
+        private final LinkedHashMap<Long, Long> recentWrites;
+        // Loads stamped before this may have missed a write that is no longer in recentWrites
+        private long forgottenThrough;
+
+        Segment(int capacity) {
+            this.recentWrites = new LinkedHashMap<>(RECENT_WRITES_PER_SEGMENT * 4 / 3 + 1) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    if (size() > RECENT_WRITES_PER_SEGMENT) {
+                        forgottenThrough = eldest.getValue();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+            this.map = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized GuestResponse get(Long id, long now) {
+            Entry entry = map.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - now <= 0) {
+                map.remove(id);
+                expirations.increment();
+                return null;
+            }
+            return entry.response;
+        }
+
+        synchronized void put(GuestResponse response, long expiresAt) {
+            recordWrite(response.getId());
+            map.put(response.getId(), new Entry(response, expiresAt));
+        }
+
+        synchronized void putLoaded(GuestResponse response, long expiresAt, long loadStamp) {
+            if (loadStamp < forgottenThrough) {
+                return;
+            }
+            Long written = recentWrites.get(response.getId());
+            if (written != null && written > loadStamp) {
+                return;
+            }
+            Entry existing = map.get(response.getId());
+            if (existing != null && existing.expiresAt - System.nanoTime() > 0) {
+                return;
+            }
+            map.put(response.getId(), new Entry(response, expiresAt));
+        }
+
+        synchronized void remove(Long id) {
+            recordWrite(id);
+            map.remove(id);
+        }
+
+        synchronized void clear() {
+            map.clear();
+            recentWrites.clear();
+            forgottenThrough = writeSequence.incrementAndGet();
+        }
+
+        // Re-inserted so the map stays ordered by sequence and the eldest entry is the oldest write
+        private void recordWrite(Long id) {
+            recentWrites.remove(id);
+            recentWrites.put(id, writeSequence.incrementAndGet());
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+}
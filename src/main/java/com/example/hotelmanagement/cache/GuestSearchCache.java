@@ -0,0 +1,325 @@
+package com.example.hotelmanagement.cache;
+
+import com.example.hotelmanagement.datasource.ReadRoutingContext;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import com.example.hotelmanagement.dto.GuestView;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
+import com.example.hotelmanagement.index.GuestSearchIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search result pages, keyed by query type, normalized parameter, page, sort and view.
+ * <p>
+ * A committed guest change evicts only the pages of queries the guest matched before or matches after the
+ * change, plus any page that shows the guest; every other cached search stays valid, as neither its rows
+ * nor its total can have moved. Matching is done on accent-folded lower case text, which is at least as
+ * broad as both the database LIKE and the search index, so a page is never kept when it may have changed.
+ * The changes of one transaction are collected and checked in a single pass after it commits; a transaction
+ * with more than {@value #CLEAR_ABOVE_CHANGES} changes, such as a bulk import or an accrual flush, clears
+ * the cache instead.
+ * <p>
+ * A search that loads while a change commits is not stored if the change affects it; recent changes are
+ * kept for that check, and a load older than all of them is not stored at all.
+ */
+@Component
+public class GuestSearchCache {
+
+    public enum QueryType {
+        KEYWORD,
+        EMAIL,
+        PHONE,
+        LOYALTY
+    }
+
+    private static final int RECENT_CHANGES = 1024;
+    private static final int CLEAR_ABOVE_CHANGES = 64;
+    private static final Change ALL = new Change(0, null, null, true);
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // All guarded by this
+    private final LinkedHashMap<Key, Entry> entries;
+    private final ArrayDeque<Change> recentChanges = new ArrayDeque<>();
+    private long sequence;
+
+    private final Map<QueryType, Counter> hits = new EnumMap<>(QueryType.class);
+    private final Map<QueryType, Counter> misses = new EnumMap<>(QueryType.class);
+    private final Counter invalidations;
+
+    public GuestSearchCache(MeterRegistry meterRegistry,
+                            @Value("${guest.search-cache.enabled:true}") boolean enabled,
+                            @Value("${guest.search-cache.max-entries:2000}") int maxEntries,
+                            @Value("${guest.search-cache.ttl:PT5M}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(maxEntries * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > GuestSearchCache.this.maxEntries;
+            }
+        };
+
+        for (QueryType type : QueryType.values()) {
+            String tag = type.name().toLowerCase(Locale.ROOT);
+            hits.put(type, Counter.builder("guest.search.cache.requests")
+                    .description("Search lookups by query type and whether the page was cached")
+                    .tag("type", tag).tag("result", "hit").register(meterRegistry));
+            misses.put(type, Counter.builder("guest.search.cache.requests")
+                    .description("Search lookups by query type and whether the page was cached")
+                    .tag("type", tag).tag("result", "miss").register(meterRegistry));
+        }
+        this.invalidations = Counter.builder("guest.search.cache.invalidations")
+                .description("Cached search pages evicted because a guest change could affect them")
+                .register(meterRegistry);
+        Gauge.builder("guest.search.cache.size", this, GuestSearchCache::size)
+                .description("Cached search pages")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached page for the query, or loads and caches it.
+     *
+     * @param text the text parameter, or {@code null} for {@link QueryType#LOYALTY}
+     * @param minPoints the threshold of a {@link QueryType#LOYALTY} query, ignored otherwise
+     */
+    public Page<? extends GuestSummaryResponse> get(QueryType type, String text, Integer minPoints, Pageable pageable,
+                                                    GuestView view, Supplier<Page<? extends GuestSummaryResponse>> loader) {
+        if (!enabled || (type == QueryType.LOYALTY ? minPoints == null : !isPlainText(text))) {
+            return loader.get();
+        }
+        Key key = new Key(type, normalizeKey(type, text), type == QueryType.LOYALTY ? minPoints : 0,
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString(), view);
+
+        long loadedAfter;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits.get(type).increment();
+                return entry.page;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            loadedAfter = sequence;
+        }
+        misses.get(type).increment();
+
+        Page<? extends GuestSummaryResponse> page = ReadRoutingContext.readForCache(loader);
+        String needle = type == QueryType.LOYALTY ? null : GuestSearchIndex.normalize(key.text());
+        store(key, new Entry(page, needle, System.nanoTime() + ttlNanos), loadedAfter);
+        return page;
+    }
+
+    // Collected in the publishing transaction and checked once it has committed, like the outbox batches its rows
+    @EventListener
+    public void onGuestChanged(GuestChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Guest guest = event.guest();
+        Fields before;
+        Fields after;
+        if (event.type() == ChangeType.DELETED) {
+            before = Fields.of(guest);
+            after = null;
+        } else {
+            before = event.previous() == null ? null : Fields.of(event.previous());
+            after = event.response() == null ? Fields.of(guest) : Fields.of(event.response());
+        }
+        // An update without the previous state may have moved the guest out of any result
+        boolean unknown = event.type() == ChangeType.UPDATED && event.previous() == null;
+        Change change = new Change(guest.getId(), before, after, unknown);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(List.of(change));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(change);
+    }
+
+    public void clear() {
+        invalidate(List.of(ALL));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Hits, misses and hit rate for each query type, plus the number of cached pages.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxSize", maxEntries);
+        stats.put("invalidations", (long) invalidations.count());
+        for (QueryType type : QueryType.values()) {
+            long hit = (long) hits.get(type).count();
+            long miss = (long) misses.get(type).count();
+            stats.put(type.name().toLowerCase(Locale.ROOT), Map.of(
+                    "hits", hit,
+                    "misses", miss,
+                    "hitRate", hit + miss == 0 ? 0.0 : (double) hit / (hit + miss)));
+        }
+        return stats;
+    }
+
+    private synchronized void store(Key key, Entry entry, long loadedAfter) {
+        long missed = sequence - loadedAfter;
+        if (missed > recentChanges.size()) {
+            return;
+        }
+        Iterator<Change> newest = recentChanges.descendingIterator();
+        for (long i = 0; i < missed; i++) {
+            if (newest.next().affects(key, entry)) {
+                return;
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    private synchronized void invalidate(List<Change> changes) {
+        if (changes.size() > CLEAR_ABOVE_CHANGES || changes.stream().anyMatch(Change::affectsAll)) {
+            changes = List.of(ALL);
+        }
+        for (Change change : changes) {
+            sequence++;
+            recentChanges.addLast(change);
+            if (recentChanges.size() > RECENT_CHANGES) {
+                recentChanges.removeFirst();
+            }
+        }
+        if (changes.get(0).affectsAll()) {
+            invalidations.increment(entries.size());
+            entries.clear();
+            return;
+        }
+        int evicted = 0;
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> cached = it.next();
+            for (Change change : changes) {
+                if (change.affects(cached.getKey(), cached.getValue())) {
+                    it.remove();
+                    evicted++;
+                    break;
+                }
+            }
+        }
+        invalidations.increment(evicted);
+    }
+
+    // LIKE wildcards in the text would match guests that a substring test does not see
+    private static boolean isPlainText(String text) {
+        return text != null && text.indexOf('%') < 0 && text.indexOf('_') < 0;
+    }
+
+    // The queries compare with LOWER() on both sides, so case never changes a result
+    private static String normalizeKey(QueryType type, String text) {
+        return switch (type) {
+            case LOYALTY -> "";
+            case PHONE -> text;
+            default -> text.toLowerCase(Locale.ROOT);
+        };
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<Change> changes = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            invalidate(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(GuestSearchCache.this);
+        }
+    }
+
+    private record Key(QueryType type, String text, int minPoints, int page, int size, String sort, GuestView view) {
+    }
+
+    private static final class Entry {
+        final Page<? extends GuestSummaryResponse> page;
+        final String needle;
+        final long expiresAt;
+        final long[] ids;
+
+        Entry(Page<? extends GuestSummaryResponse> page, String needle, long expiresAt) {
+            this.page = page;
+            this.needle = needle;
+            this.expiresAt = expiresAt;
+            this.ids = page.getContent().stream().mapToLong(GuestSummaryResponse::getId).sorted().toArray();
+        }
+
+        boolean shows(long guestId) {
+            return Arrays.binarySearch(ids, guestId) >= 0;
+        }
+    }
+
+    private record Fields(String name, String email, String phone, int loyaltyPoints) {
+
+        static Fields of(Guest guest) {
+            return new Fields(GuestSearchIndex.normalize(guest.getFirstName() + " " + guest.getLastName()),
+                    GuestSearchIndex.normalize(guest.getEmail()), GuestSearchIndex.normalize(guest.getPhone()),
+                    guest.getLoyaltyPoints() == null ? 0 : guest.getLoyaltyPoints());
+        }
+
+        static Fields of(GuestSummaryResponse response) {
+            return new Fields(GuestSearchIndex.normalize(response.getFullName()),
+                    GuestSearchIndex.normalize(response.getEmail()), GuestSearchIndex.normalize(response.getPhone()),
+                    response.getLoyaltyPoints() == null ? 0 : response.getLoyaltyPoints());
+        }
+
+        boolean matches(Key key, String needle) {
+            return switch (key.type()) {
+                case KEYWORD -> name.contains(needle) || email.contains(needle) || phone.contains(needle);
+                case EMAIL -> email.contains(needle);
+                case PHONE -> phone.contains(needle);
+                case LOYALTY -> loyaltyPoints >= key.minPoints();
+            };
+        }
+    }
+
+    private record Change(long guestId, Fields before, Fields after, boolean affectsAll) {
+
+        boolean affects(Key key, Entry entry) {
+            return affectsAll
+                    || entry.shows(guestId)
+                    || (before != null && before.matches(key, entry.needle))
+                    || (after != null && after.matches(key, entry.needle));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.hotelmanagement.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Refuses to baseline a database at V1 unless it already holds the V1 schema.
+ * <p>
+ * A database last run by the release before the versioned migrations only has the original {@code guests} table.
+ * Baselining it would skip V1 and leave Hibernate's validation to fail on the missing column and tables, so the
+ * operator is told to start the new release once without the prod profile ({@code ddl-auto=update}) first.
+ */
+@Component
+public class FlywayBaselineGuard implements Callback {
+
+    static final List<String> V1_TABLES = List.of(
+            "guests", "guests_archive", "stays", "loyalty_accrual_checkpoints", "guest_outbox", "guest_outbox_relay");
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_BASELINE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<String> missing;
+        try {
+            missing = missingV1Objects(context.getConnection());
+        } catch (SQLException e) {
+            throw new FlywayException("Could not inspect the schema before baselining it", e);
+        }
+        if (!missing.isEmpty()) {
+            throw new FlywayException("Refusing to baseline at V1: the database lacks " + String.join(", ", missing)
+                    + ". Start this release once without the prod profile, so ddl-auto=update upgrades the schema,"
+                    + " then start it again with the prod profile.");
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return getClass().getSimpleName();
+    }
+
+    static List<String> missingV1Objects(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Table names come back upper case on some databases, so match them case-insensitively
+        Map<String, String> tables = new HashMap<>();
+        try (ResultSet rs = metaData.getTables(connection.getCatalog(), connection.getSchema(), "%", new String[]{"TABLE"})) {
+            while (rs.next()) {
+                String name = rs.getString("TABLE_NAME");
+                tables.put(name.toLowerCase(Locale.ROOT), name);
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (String table : V1_TABLES) {
+            if (!tables.containsKey(table)) {
+                missing.add("table " + table);
+            }
+        }
+        String guests = tables.get("guests");
+        if (guests != null && !hasColumn(connection, guests, "version")) {
+            missing.add("column guests.version");
+        }
+        return missing;
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), connection.getSchema(), table, "%")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.hotelmanagement.config;
+
+import com.example.hotelmanagement.datasource.LocalReplicaSync;
+import com.example.hotelmanagement.datasource.ReadWriteRoutingDataSource;
+import com.example.hotelmanagement.datasource.ReplicaDataSources;
+import com.example.hotelmanagement.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the auto-configured pool with a primary and a replica pool behind a
+ * {@link ReadWriteRoutingDataSource}. The primary is configured through {@code spring.datasource.*} as
+ * before; the replica through {@code guest.datasource.replica.*} with the same keys
+ * ({@code url}, {@code username}, {@code password}, {@code driver-class-name}, {@code hikari.*}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "guest.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSources replicaDataSources(DataSourceProperties primaryProperties, Environment environment,
+                                                 MeterRegistry meterRegistry) throws Exception {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool(primaryProperties, binder, "spring.datasource.hikari", "primary", meterRegistry);
+
+        DataSourceProperties replicaProperties = binder.bind("guest.datasource.replica", DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException("guest.datasource.replica.url must be set"));
+        replicaProperties.setBeanClassLoader(getClass().getClassLoader());
+        replicaProperties.afterPropertiesSet();
+        HikariDataSource replica = pool(replicaProperties, binder, "guest.datasource.replica.hikari", "replica", meterRegistry);
+        // Read-only at the driver level too, so a mis-routed write fails instead of diverging the replica
+        replica.setReadOnly(true);
+
+        return new ReplicaDataSources(primary, replica);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaDataSources dataSources, MeterRegistry meterRegistry,
+                                               @Value("${guest.datasource.replica.max-lag:PT2S}") Duration maxLag) {
+        return new ReplicaLagMonitor(dataSources, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "guest.datasource.replica.simulate-replication", havingValue = "true")
+    public LocalReplicaSync localReplicaSync(ReplicaDataSources dataSources, ReplicaLagMonitor lagMonitor) {
+        return new LocalReplicaSync(dataSources, lagMonitor);
+    }
+
+    /**
+     * The lazy proxy defers choosing a target until the first statement, after the transaction manager
+     * has marked the transaction read-only; without it every connection would be taken from the primary.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaDataSources dataSources, ReplicaLagMonitor lagMonitor,
+                                 MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                dataSources.primary(), dataSources.replica(), lagMonitor, meterRegistry);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String hikariPrefix,
+                                         String poolName, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(hikariPrefix, Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        // The pools are not beans, so Boot's pool metrics do not see them
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
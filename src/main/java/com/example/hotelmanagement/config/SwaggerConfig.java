@@ -5,14 +5,31 @@ import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import java.util.List;
 
+// API docs are only needed once someone opens them, not for serving the first request
+@Lazy
 @Configuration
 public class SwaggerConfig {
 
+    // Registered by springdoc for Querydsl predicates, which no endpoint takes. It is compiled against the Spring
+    // Data 3 TypeInformation, so AOT processing fails when it introspects the class.
+    private static final String QUERYDSL_CUSTOMIZER = "queryDslQuerydslPredicateOperationCustomizer";
+
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor querydslCustomizerRemover() {
+        return registry -> {
+            if (registry.containsBeanDefinition(QUERYDSL_CUSTOMIZER)) {
+                registry.removeBeanDefinition(QUERYDSL_CUSTOMIZER);
+            }
+        };
+    }
+
     @Bean
     public OpenAPI customOpenAPI() {
         Server localServer = new Server();
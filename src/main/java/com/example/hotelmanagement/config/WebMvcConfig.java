@@ -0,0 +1,36 @@
+package com.example.hotelmanagement.config;
+
+import com.example.hotelmanagement.datasource.ReadYourWritesInterceptor;
+import com.example.hotelmanagement.limit.ConcurrencyLimitInterceptor;
+import com.example.hotelmanagement.metrics.RequestSqlMetricsInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final RequestSqlMetricsInterceptor requestSqlMetricsInterceptor;
+
+    private final ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
+
+    private final ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimitInterceptor;
+
+    public WebMvcConfig(RequestSqlMetricsInterceptor requestSqlMetricsInterceptor,
+                        ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor,
+                        ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimitInterceptor) {
+        this.requestSqlMetricsInterceptor = requestSqlMetricsInterceptor;
+        this.readYourWritesInterceptor = readYourWritesInterceptor;
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so rejected requests cost nothing further down
+        concurrencyLimitInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/v1/guests/**"));
+        registry.addInterceptor(requestSqlMetricsInterceptor).addPathPatterns("/api/**");
+        // Only present when reads are routed to a replica
+        readYourWritesInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+    }
+}
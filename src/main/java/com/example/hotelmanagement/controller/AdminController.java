@@ -0,0 +1,190 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.cache.GuestCache;
+import com.example.hotelmanagement.cache.GuestSearchCache;
+import com.example.hotelmanagement.dto.ArchiveRunResponse;
+import com.example.hotelmanagement.dto.CacheStatsResponse;
+import com.example.hotelmanagement.dto.EmailFilterStatsResponse;
+import com.example.hotelmanagement.index.EmailBloomFilter;
+import com.example.hotelmanagement.index.GuestSearchIndex;
+import com.example.hotelmanagement.index.LoyaltyRankIndex;
+import com.example.hotelmanagement.service.GuestArchiveService;
+import com.example.hotelmanagement.service.LoyaltyAccrualService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@Tag(name = "Administration", description = "Operational APIs for caches, indexes and archival")
+public class AdminController {
+
+    private final GuestCache guestCache;
+    private final GuestSearchCache searchCache;
+    private final GuestSearchIndex searchIndex;
+    private final LoyaltyRankIndex loyaltyRankIndex;
+    private final EmailBloomFilter emailFilter;
+    private final GuestArchiveService archiveService;
+    private final LoyaltyAccrualService loyaltyAccrualService;
+
+    public AdminController(GuestCache guestCache, GuestSearchCache searchCache, GuestSearchIndex searchIndex,
+                           LoyaltyRankIndex loyaltyRankIndex, EmailBloomFilter emailFilter,
+                           GuestArchiveService archiveService,
+                           LoyaltyAccrualService loyaltyAccrualService) {
+        this.guestCache = guestCache;
+        this.searchCache = searchCache;
+        this.searchIndex = searchIndex;
+        this.loyaltyRankIndex = loyaltyRankIndex;
+        this.emailFilter = emailFilter;
+        this.archiveService = archiveService;
+        this.loyaltyAccrualService = loyaltyAccrualService;
+    }
+
+    @GetMapping("/cache/guests")
+    @Operation(summary = "Guest cache statistics", description = "Returns hit, miss and eviction counters of the guest cache")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics")
+    })
+    public CacheStatsResponse guestCacheStats() {
+        return guestCache.stats();
+    }
+
+    @DeleteMapping("/cache/guests")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Clear guest cache", description = "Drops every cached guest entry")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Cache cleared")
+    })
+    public void clearGuestCache() {
+        guestCache.clear();
+    }
+
+    @GetMapping("/cache/searches")
+    @Operation(summary = "Search cache statistics", description = "Returns size, evictions by guest changes, and hit rate per query type of the search result cache")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics")
+    })
+    public Map<String, Object> searchCacheStats() {
+        return searchCache.stats();
+    }
+
+    @DeleteMapping("/cache/searches")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Clear search cache", description = "Drops every cached search result page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Cache cleared")
+    })
+    public void clearSearchCache() {
+        searchCache.clear();
+    }
+
+    @GetMapping("/search-index")
+    @Operation(summary = "Search index status", description = "Returns whether the guest search index is serving queries, how many guests it holds and its estimated memory footprint")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved index status")
+    })
+    public Map<String, Object> searchIndexStatus() {
+        return Map.of("ready", searchIndex.isReady(),
+                "documents", searchIndex.size(),
+                "memoryBytes", searchIndex.memoryBytes());
+    }
+
+    @PostMapping("/search-index/rebuild")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Rebuild search index", description = "Reloads the guest search index from the database in the background")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Rebuild started")
+    })
+    public void rebuildSearchIndex() {
+        searchIndex.rebuildInBackground();
+    }
+
+    @GetMapping("/loyalty-index")
+    @Operation(summary = "Loyalty index status", description = "Returns readiness, size and estimated memory footprint of the loyalty ranking")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved index status")
+    })
+    public Map<String, Object> loyaltyIndexStatus() {
+        return Map.of("ready", loyaltyRankIndex.isReady(),
+                "guests", loyaltyRankIndex.size(),
+                "memoryBytes", loyaltyRankIndex.memoryBytes());
+    }
+
+    @PostMapping("/loyalty-index/rebuild")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Rebuild loyalty index", description = "Reloads the loyalty ranking from the database in the background")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Rebuild started")
+    })
+    public void rebuildLoyaltyIndex() {
+        loyaltyRankIndex.rebuildInBackground();
+    }
+
+    @GetMapping("/loyalty-accruals")
+    @Operation(summary = "Loyalty accrual status", description = "Returns pending write-behind accruals, the applied journal sequence, journal segments and journal writes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved accrual status")
+    })
+    public Map<String, Object> loyaltyAccrualStatus() {
+        return loyaltyAccrualService.stats();
+    }
+
+    @PostMapping("/loyalty-accruals/flush")
+    @Operation(summary = "Flush loyalty accruals", description = "Writes all pending loyalty accruals to the database now")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Flush completed")
+    })
+    public Map<String, Object> flushLoyaltyAccruals() {
+        return Map.of("guestsUpdated", loyaltyAccrualService.flush());
+    }
+
+    @GetMapping("/email-filter")
+    @Operation(summary = "Email filter statistics", description = "Returns sizing, skipped existence checks and false-positive rates of the email filter")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved filter statistics")
+    })
+    public EmailFilterStatsResponse emailFilterStats() {
+        return emailFilter.stats();
+    }
+
+    @PostMapping("/email-filter/rebuild")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Rebuild email filter", description = "Re-sizes the email filter from the current row count and reloads it in the background")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Rebuild started")
+    })
+    public void rebuildEmailFilter() {
+        emailFilter.rebuildInBackground();
+    }
+
+    @GetMapping("/archive")
+    @Operation(summary = "Last archival run", description = "Returns the outcome of the most recent archival of soft-deleted guests")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the last run"),
+        @ApiResponse(responseCode = "204", description = "No run since startup")
+    })
+    public ResponseEntity<ArchiveRunResponse> lastArchiveRun() {
+        ArchiveRunResponse lastRun = archiveService.lastRun();
+        return lastRun == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(lastRun);
+    }
+
+    @PostMapping("/archive/run")
+    @Operation(summary = "Run archival", description = "Moves soft-deleted guests older than the retention window to the archive now")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archival run completed"),
+        @ApiResponse(responseCode = "409", description = "An archival run is already in progress")
+    })
+    public ResponseEntity<?> runArchive() {
+        ArchiveRunResponse run = archiveService.archive();
+        if (run == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Archival already in progress");
+        }
+        return ResponseEntity.ok(run);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.dto.ArchivedGuestResponse;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.service.GuestArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/archived-guests")
+@Tag(name = "Guest Archive", description = "APIs for browsing, restoring and purging archived guests")
+public class GuestArchiveController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final GuestArchiveService archiveService;
+
+    public GuestArchiveController(GuestArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get archived guests", description = "Retrieves a paginated list of archived guests, most recently archived first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved archived guests"),
+        @ApiResponse(responseCode = "400", description = "Page or size out of range")
+    })
+    public Page<ArchivedGuestResponse> getAll(
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size
+    ) {
+        return archiveService.getArchivedGuests(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "archivedAt")));
+    }
+
+    @PostMapping("/{id}/restore")
+    @Operation(summary = "Restore archived guest", description = "Moves an archived guest back to the active guests under its original ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Guest restored successfully",
+                content = @Content(schema = @Schema(implementation = GuestResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Archived guest not found"),
+        @ApiResponse(responseCode = "409", description = "Email already used by an active guest")
+    })
+    public GuestResponse restore(@Parameter(description = "Guest ID") @PathVariable Long id) {
+        return archiveService.restore(id);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Purge archived guest", description = "Permanently deletes an archived guest and their stays")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Guest purged"),
+        @ApiResponse(responseCode = "404", description = "Archived guest not found")
+    })
+    public void purge(@Parameter(description = "Guest ID") @PathVariable Long id) {
+        archiveService.purge(id);
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Purge archived guests", description = "Permanently deletes every guest archived before the given time, with their stays")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Guests purged")
+    })
+    public Map<String, Object> purgeArchivedBefore(
+            @Parameter(description = "Purge guests archived before this time, e.g. 2025-01-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime archivedBefore
+    ) {
+        return Map.of("purged", archiveService.purgeArchivedBefore(archivedBefore));
+    }
+}
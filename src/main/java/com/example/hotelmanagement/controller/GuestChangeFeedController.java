@@ -0,0 +1,70 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.dto.GuestChangeFeedResponse;
+import com.example.hotelmanagement.outbox.GuestChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/guest-changes")
+@Tag(name = "Guest Change Feed", description = "Ordered feed of guest creations, updates and deletions for downstream systems")
+public class GuestChangeFeedController {
+
+    private final GuestChangeFeed changeFeed;
+
+    public GuestChangeFeedController(GuestChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Poll guest changes",
+            description = "Returns changes after the offset, waiting up to the given time for the first one; pass nextOffset on the following call")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes after the offset, possibly none",
+                content = @Content(schema = @Schema(implementation = GuestChangeFeedResponse.class))),
+        @ApiResponse(responseCode = "410", description = "The offset is older than the retained feed")
+    })
+    public DeferredResult<GuestChangeFeedResponse> poll(
+            @Parameter(description = "Last position already processed; omit to start at the current head") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of changes") @RequestParam(defaultValue = "500") int limit,
+            @Parameter(description = "How long to wait when there are no changes yet, e.g. PT30S") @RequestParam(defaultValue = "PT30S") Duration wait
+    ) {
+        return changeFeed.poll(after, limit, wait);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream guest changes",
+            description = "Server-sent events of changes after the offset, then new ones as they commit; each event id is its position")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened"),
+        @ApiResponse(responseCode = "410", description = "The offset is older than the retained feed")
+    })
+    public SseEmitter stream(
+            @Parameter(description = "Sent by EventSource on reconnect; takes precedence over after") @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "Last position already processed; omit to start at the current head") @RequestParam(required = false) Long after
+    ) {
+        return changeFeed.subscribe(lastEventId != null ? lastEventId : after);
+    }
+
+    @GetMapping("/head")
+    @Operation(summary = "Current head of the feed",
+            description = "Returns the latest position; take it before a full read of the guests and resume the feed from it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the head position")
+    })
+    public Map<String, Object> head() {
+        return Map.of("offset", changeFeed.head());
+    }
+}
@@ -1,8 +1,19 @@
 package com.example.hotelmanagement.controller;
 
+import com.example.hotelmanagement.dto.BulkImportResponse;
+import com.example.hotelmanagement.dto.CursorPageResponse;
+import com.example.hotelmanagement.dto.GuestBatchPatchRequest;
+import com.example.hotelmanagement.dto.GuestBatchPatchResponse;
+import com.example.hotelmanagement.dto.GuestMultiGetResponse;
+import com.example.hotelmanagement.dto.GuestPatchRequest;
 import com.example.hotelmanagement.dto.GuestRequest;
 import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import com.example.hotelmanagement.dto.GuestView;
+import com.example.hotelmanagement.service.GuestExportService;
+import com.example.hotelmanagement.service.GuestImportService;
 import com.example.hotelmanagement.service.GuestService;
+import com.example.hotelmanagement.service.LoyaltyAccrualService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,21 +22,42 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/v1/guests")
 @Tag(name = "Guest Management", description = "APIs for managing hotel guests")
 public class GuestController {
 
+    // Largest page or scroll slice a client may ask for
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final GuestService guestService;
+    private final GuestImportService guestImportService;
+    private final GuestExportService guestExportService;
+    private final LoyaltyAccrualService loyaltyAccrualService;
     
-    public GuestController(GuestService guestService) {
+    public GuestController(GuestService guestService, GuestImportService guestImportService,
+                           GuestExportService guestExportService, LoyaltyAccrualService loyaltyAccrualService) {
         this.guestService = guestService;
+        this.guestImportService = guestImportService;
+        this.guestExportService = guestExportService;
+        this.loyaltyAccrualService = loyaltyAccrualService;
     }
 
     @PostMapping
@@ -37,20 +69,65 @@ public class GuestController {
         @ApiResponse(responseCode = "409", description = "Email already exists")
     })
     public ResponseEntity<GuestResponse> create(@Valid @RequestBody GuestRequest request) {
+        GuestResponse created = guestService.createGuest(request);
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(guestService.createGuest(request));
+                .eTag(GuestETags.of(created.getVersion()))
+                .body(created);
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Bulk import guests", description = "Imports a JSON array of guests using batched inserts and reports per-row failures")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished",
+                content = @Content(schema = @Schema(implementation = BulkImportResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Too many rows")
+    })
+    public BulkImportResponse bulkImport(@RequestBody List<GuestRequest> requests) {
+        return guestImportService.importGuests(requests);
+    }
+
+    @PostMapping(value = "/bulk/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Bulk import guests from CSV", description = "Imports guests from a CSV file whose header names the guest fields (firstName, lastName, email, phone, address, idNumber, preferences)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished",
+                content = @Content(schema = @Schema(implementation = BulkImportResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed CSV file or too many rows")
+    })
+    public BulkImportResponse bulkImportCsv(
+            @Parameter(description = "CSV file with a header row") @RequestParam("file") MultipartFile file) throws IOException {
+        return guestImportService.importCsv(file.getInputStream());
     }
 
     @GetMapping
     @Operation(summary = "Get all guests", description = "Retrieves a paginated list of all guests")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved guests")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved guests"),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag given in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid page or size")
     })
-    public Page<GuestResponse> getAll(
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size
+    public Page<? extends GuestSummaryResponse> getAll(
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @Parameter(description = "Field set: full, or summary to omit preferences and stay history") @RequestParam(defaultValue = "full") String view,
+            WebRequest webRequest
     ) {
-        return guestService.getAllGuests(PageRequest.of(page, size));
+        return notModifiedOrPage(webRequest, guestService.getAllGuests(PageRequest.of(page, size), GuestView.from(view)), view);
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get many guests by ID",
+            description = "Resolves up to guest.multi-get.max-ids guests in one call, in request order, and lists ids that are missing or deleted")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lookup finished",
+                content = @Content(schema = @Schema(implementation = GuestMultiGetResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Too many ids")
+    })
+    public GuestMultiGetResponse getByIds(
+            @Parameter(description = "Guest IDs, comma separated or repeated", example = "1,2,3") @RequestParam List<Long> ids) {
+        GuestMultiGetResponse result = guestService.getGuestsByIds(ids);
+        result.getGuests().replaceAll(guest ->
+                loyaltyAccrualService.withPendingPoints(guest, loyaltyAccrualService.pendingPoints(guest.getId())));
+        return result;
     }
 
     @GetMapping("/{id}")
@@ -58,10 +135,21 @@ public class GuestController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Guest found",
                 content = @Content(schema = @Schema(implementation = GuestResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Guest unchanged since the ETag given in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Guest not found")
     })
-    public GuestResponse getById(@Parameter(description = "Guest ID") @PathVariable Long id) {
-        return guestService.getGuestById(id);
+    public GuestResponse getById(@Parameter(description = "Guest ID") @PathVariable Long id, WebRequest webRequest) {
+        // Served from the cache when possible, so a 304 usually costs no query and no serialization
+        GuestResponse guest = guestService.getGuestById(id);
+        int pendingPoints = loyaltyAccrualService.pendingPoints(id);
+        if (pendingPoints != 0) {
+            // The version does not cover accruals that are not flushed yet, so this response carries no ETag
+            return loyaltyAccrualService.withPendingPoints(guest, pendingPoints);
+        }
+        if (webRequest.checkNotModified(GuestETags.of(guest.getVersion()))) {
+            return null;
+        }
+        return guest;
     }
 
     @PutMapping("/{id}")
@@ -71,12 +159,51 @@ public class GuestController {
                 content = @Content(schema = @Schema(implementation = GuestResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
         @ApiResponse(responseCode = "404", description = "Guest not found"),
-        @ApiResponse(responseCode = "409", description = "Email already exists")
+        @ApiResponse(responseCode = "409", description = "Email already exists or concurrent modification"),
+        @ApiResponse(responseCode = "412", description = "Guest version does not match If-Match")
     })
     public ResponseEntity<GuestResponse> update(
             @Parameter(description = "Guest ID") @PathVariable Long id,
+            @Parameter(description = "ETag of the version being replaced") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody GuestRequest request) {
-        return ResponseEntity.ok(guestService.updateGuest(id, request));
+        GuestResponse updated = guestService.updateGuest(id, request, GuestETags.acceptedVersions(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(GuestETags.of(updated.getVersion()))
+                .body(updated);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update guest",
+            description = "Changes only the fields present in the body (JSON merge patch); null clears address, idNumber or preferences. A patch that changes nothing writes nothing")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Guest patched, or already matched the patch",
+                content = @Content(schema = @Schema(implementation = GuestResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "404", description = "Guest not found"),
+        @ApiResponse(responseCode = "409", description = "Email already exists or concurrent modification"),
+        @ApiResponse(responseCode = "412", description = "Guest version does not match If-Match")
+    })
+    public ResponseEntity<GuestResponse> patch(
+            @Parameter(description = "Guest ID") @PathVariable Long id,
+            @Parameter(description = "ETag of the version being patched") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody GuestPatchRequest request) {
+        GuestResponse patched = guestService.patchGuest(id, request, GuestETags.acceptedVersions(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(GuestETags.of(patched.getVersion()))
+                .body(patched);
+    }
+
+    @PatchMapping
+    @Operation(summary = "Batch patch guests",
+            description = "Applies a partial update to each listed guest in one transaction and reports the outcome per entry")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed",
+                content = @Content(schema = @Schema(implementation = GuestBatchPatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Too many entries"),
+        @ApiResponse(responseCode = "409", description = "An email conflict surfaced on write; nothing was changed")
+    })
+    public GuestBatchPatchResponse batchPatch(@RequestBody List<GuestBatchPatchRequest> requests) {
+        return guestService.patchGuests(requests);
     }
 
     @DeleteMapping("/{id}")
@@ -84,61 +211,187 @@ public class GuestController {
     @Operation(summary = "Delete guest", description = "Deletes a guest from the system")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Guest deleted successfully"),
-        @ApiResponse(responseCode = "404", description = "Guest not found")
+        @ApiResponse(responseCode = "404", description = "Guest not found"),
+        @ApiResponse(responseCode = "412", description = "Guest version does not match If-Match")
     })
-    public void delete(@Parameter(description = "Guest ID") @PathVariable Long id) {
-        guestService.deleteGuest(id);
+    public void delete(
+            @Parameter(description = "Guest ID") @PathVariable Long id,
+            @Parameter(description = "ETag of the version being deleted") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        guestService.deleteGuest(id, GuestETags.acceptedVersions(ifMatch));
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search guests by keyword", description = "Search guests by name, email, or phone number")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results"),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag given in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid page or size")
     })
-    public Page<GuestResponse> search(
+    public Page<? extends GuestSummaryResponse> search(
             @Parameter(description = "Search keyword") @RequestParam String keyword,
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @Parameter(description = "Field set: full, or summary to omit preferences and stay history") @RequestParam(defaultValue = "full") String view,
+            WebRequest webRequest
     ) {
-        return guestService.searchGuests(keyword, PageRequest.of(page, size));
+        return notModifiedOrPage(webRequest, guestService.searchGuests(keyword, PageRequest.of(page, size), GuestView.from(view)), view);
     }
 
     @GetMapping("/search/email")
     @Operation(summary = "Search guests by email", description = "Search guests by email address")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results"),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag given in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid page or size")
     })
-    public Page<GuestResponse> searchByEmail(
+    public Page<? extends GuestSummaryResponse> searchByEmail(
             @Parameter(description = "Email to search") @RequestParam String email,
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @Parameter(description = "Field set: full, or summary to omit preferences and stay history") @RequestParam(defaultValue = "full") String view,
+            WebRequest webRequest
     ) {
-        return guestService.searchByEmail(email, PageRequest.of(page, size));
+        return notModifiedOrPage(webRequest, guestService.searchByEmail(email, PageRequest.of(page, size), GuestView.from(view)), view);
     }
 
     @GetMapping("/search/phone")
     @Operation(summary = "Search guests by phone", description = "Search guests by phone number")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results"),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag given in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid page or size")
     })
-    public Page<GuestResponse> searchByPhone(
+    public Page<? extends GuestSummaryResponse> searchByPhone(
             @Parameter(description = "Phone number to search") @RequestParam String phone,
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @Parameter(description = "Field set: full, or summary to omit preferences and stay history") @RequestParam(defaultValue = "full") String view,
+            WebRequest webRequest
     ) {
-        return guestService.searchByPhone(phone, PageRequest.of(page, size));
+        return notModifiedOrPage(webRequest, guestService.searchByPhone(phone, PageRequest.of(page, size), GuestView.from(view)), view);
     }
 
     @GetMapping("/search/loyalty-points")
     @Operation(summary = "Search guests by loyalty points", description = "Search guests with minimum loyalty points")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results"),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag given in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid page or size")
     })
-    public Page<GuestResponse> searchByLoyaltyPoints(
+    public Page<? extends GuestSummaryResponse> searchByLoyaltyPoints(
             @Parameter(description = "Minimum loyalty points") @RequestParam Integer minPoints,
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @Parameter(description = "Field set: full, or summary to omit preferences and stay history") @RequestParam(defaultValue = "full") String view,
+            WebRequest webRequest
     ) {
-        return guestService.searchByLoyaltyPoints(minPoints, PageRequest.of(page, size));
+        return notModifiedOrPage(webRequest, guestService.searchByLoyaltyPoints(minPoints, PageRequest.of(page, size), GuestView.from(view)), view);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll all guests", description = "Cursor-paginated list of all guests ordered by ID, without a total count")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved guests"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+    })
+    public CursorPageResponse<GuestResponse> scrollAll(
+            @Parameter(description = "Cursor returned as nextCursor by the previous call") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per slice") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size
+    ) {
+        return guestService.scrollAllGuests(after, size);
+    }
+
+    @GetMapping("/search/scroll")
+    @Operation(summary = "Scroll guests by keyword", description = "Cursor-paginated keyword search ordered by ID, without a total count")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+    })
+    public CursorPageResponse<GuestResponse> scrollSearch(
+            @Parameter(description = "Search keyword") @RequestParam String keyword,
+            @Parameter(description = "Cursor returned as nextCursor by the previous call") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per slice") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size
+    ) {
+        return guestService.scrollSearchGuests(keyword, after, size);
+    }
+
+    @GetMapping("/search/email/scroll")
+    @Operation(summary = "Scroll guests by email", description = "Cursor-paginated email search ordered by ID, without a total count")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+    })
+    public CursorPageResponse<GuestResponse> scrollByEmail(
+            @Parameter(description = "Email to search") @RequestParam String email,
+            @Parameter(description = "Cursor returned as nextCursor by the previous call") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per slice") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size
+    ) {
+        return guestService.scrollByEmail(email, after, size);
+    }
+
+    @GetMapping("/search/phone/scroll")
+    @Operation(summary = "Scroll guests by phone", description = "Cursor-paginated phone search ordered by ID, without a total count")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+    })
+    public CursorPageResponse<GuestResponse> scrollByPhone(
+            @Parameter(description = "Phone number to search") @RequestParam String phone,
+            @Parameter(description = "Cursor returned as nextCursor by the previous call") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per slice") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size
+    ) {
+        return guestService.scrollByPhone(phone, after, size);
+    }
+
+    @GetMapping("/search/loyalty-points/scroll")
+    @Operation(summary = "Scroll guests by loyalty points", description = "Cursor-paginated guests with minimum loyalty points, ordered by points then ID, without a total count")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved search results"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+    })
+    public CursorPageResponse<GuestResponse> scrollByLoyaltyPoints(
+            @Parameter(description = "Minimum loyalty points") @RequestParam Integer minPoints,
+            @Parameter(description = "Cursor returned as nextCursor by the previous call") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per slice") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size
+    ) {
+        return guestService.scrollByLoyaltyPoints(minPoints, after, size);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export guests", description = "Streams all matching guests as NDJSON or CSV; filters are optional and combine like the search endpoints")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export stream started"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format")
+    })
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Output format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Search keyword (name, email or phone)") @RequestParam(required = false) String keyword,
+            @Parameter(description = "Email to search") @RequestParam(required = false) String email,
+            @Parameter(description = "Phone number to search") @RequestParam(required = false) String phone,
+            @Parameter(description = "Minimum loyalty points") @RequestParam(required = false) Integer minPoints
+    ) {
+        GuestExportService.Format exportFormat;
+        try {
+            exportFormat = GuestExportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out ->
+                guestExportService.export(keyword, email, phone, minPoints, exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"guests." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    // The query still runs, but an unchanged page is answered with 304 and never serialized
+    private static Page<? extends GuestSummaryResponse> notModifiedOrPage(WebRequest webRequest,
+                                                                     Page<? extends GuestSummaryResponse> page,
+                                                                     String view) {
+        if (webRequest.checkNotModified(GuestETags.of(page, view))) {
+            return null;
+        }
+        return page;
     }
 }
@@ -0,0 +1,89 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.dto.DedupRunResponse;
+import com.example.hotelmanagement.dto.DuplicateCandidateResponse;
+import com.example.hotelmanagement.dto.GuestMergeRequest;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.service.GuestDedupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Lazy
+@RestController
+@RequestMapping("/api/v1/guest-duplicates")
+@Tag(name = "Guest Duplicates", description = "APIs for detecting guests registered more than once and merging them")
+public class GuestDedupController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final GuestDedupService dedupService;
+
+    public GuestDedupController(GuestDedupService dedupService) {
+        this.dedupService = dedupService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get merge candidates", description = "Retrieves pairs of probable duplicate guests found by the last completed scan, highest score first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved merge candidates"),
+        @ApiResponse(responseCode = "400", description = "Page or size out of range")
+    })
+    public Page<DuplicateCandidateResponse> getCandidates(
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size
+    ) {
+        return dedupService.getCandidates(PageRequest.of(page, size));
+    }
+
+    @PostMapping("/scan")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Start duplicate scan", description = "Scans all active guests for duplicates in the background; the report is replaced when it completes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Scan started"),
+        @ApiResponse(responseCode = "409", description = "A scan is already in progress")
+    })
+    public ResponseEntity<?> startScan() {
+        if (!dedupService.scanInBackground()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Duplicate scan already in progress");
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/scan")
+    @Operation(summary = "Scan status", description = "Returns the progress of the running scan or the outcome of the last one")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the scan status"),
+        @ApiResponse(responseCode = "204", description = "No scan since startup")
+    })
+    public ResponseEntity<DedupRunResponse> scanStatus() {
+        DedupRunResponse lastRun = dedupService.lastRun();
+        return lastRun == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(lastRun);
+    }
+
+    @PostMapping("/merge")
+    @Operation(summary = "Merge duplicate guest", description = "Adds the duplicate's loyalty points and stays to the surviving guest and deletes the duplicate")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Guests merged successfully",
+                content = @Content(schema = @Schema(implementation = GuestResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input or both IDs are the same guest"),
+        @ApiResponse(responseCode = "404", description = "Guest not found"),
+        @ApiResponse(responseCode = "409", description = "One of the guests was modified concurrently")
+    })
+    public GuestResponse merge(@Valid @RequestBody GuestMergeRequest request) {
+        return dedupService.merge(request.getSurvivorId(), request.getDuplicateId());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import org.springframework.data.domain.Page;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Strong entity tags for guest resources. A single guest is tagged with its version; a page is tagged
+ * with a hash over the page coordinates, the total and every (id, version) it contains, so it changes
+ * whenever any listed guest changes or the result set shifts.
+ */
+final class GuestETags {
+
+    private GuestETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(Page<? extends GuestSummaryResponse> page, String view) {
+        long hash = mix(view.hashCode());
+        hash = mix(hash ^ page.getNumber());
+        hash = mix(hash ^ page.getSize());
+        hash = mix(hash ^ page.getTotalElements());
+        for (GuestSummaryResponse guest : page.getContent()) {
+            hash = mix(hash ^ guest.getId());
+            hash = mix(hash ^ guest.getVersion());
+        }
+        return "\"p" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Versions accepted by an If-Match header, or {@code null} when there is no precondition
+     * (header absent or {@code *}). Weak tags never match, as If-Match requires strong comparison.
+     */
+    static Set<Long> acceptedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.length() > 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(trimmed.substring(1, trimmed.length() - 1)));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours, so it cannot match
+                }
+            }
+        }
+        return versions;
+    }
+
+    // murmur3 finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.dto.LeaderboardEntryResponse;
+import com.example.hotelmanagement.dto.LoyaltyAccrualRequest;
+import com.example.hotelmanagement.dto.LoyaltyAccrualResponse;
+import com.example.hotelmanagement.dto.LoyaltyTierResponse;
+import com.example.hotelmanagement.service.LoyaltyAccrualService;
+import com.example.hotelmanagement.service.LoyaltyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/loyalty")
+@Tag(name = "Loyalty", description = "APIs for loyalty leaderboards and tiers")
+public class LoyaltyController {
+
+    private final LoyaltyService loyaltyService;
+    private final LoyaltyAccrualService loyaltyAccrualService;
+
+    public LoyaltyController(LoyaltyService loyaltyService, LoyaltyAccrualService loyaltyAccrualService) {
+        this.loyaltyService = loyaltyService;
+        this.loyaltyAccrualService = loyaltyAccrualService;
+    }
+
+    @GetMapping("/leaderboard")
+    @Operation(summary = "Loyalty leaderboard", description = "Guests ranked by loyalty points, highest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved leaderboard"),
+        @ApiResponse(responseCode = "503", description = "Ranking is still loading")
+    })
+    public List<LeaderboardEntryResponse> leaderboard(
+            @Parameter(description = "Number of top guests to skip") @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Number of guests to return") @RequestParam(defaultValue = "100") int limit
+    ) {
+        return loyaltyService.leaderboard(offset, limit);
+    }
+
+    @GetMapping("/guests/{id}/rank")
+    @Operation(summary = "Guest loyalty rank", description = "Returns a guest's rank and tier on the loyalty leaderboard")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rank found"),
+        @ApiResponse(responseCode = "404", description = "Guest not found"),
+        @ApiResponse(responseCode = "503", description = "Ranking is still loading")
+    })
+    public LeaderboardEntryResponse rank(@Parameter(description = "Guest ID") @PathVariable Long id) {
+        return loyaltyService.rankOf(id);
+    }
+
+    @GetMapping("/tiers")
+    @Operation(summary = "Loyalty tier counts", description = "Number of guests in each configured loyalty tier")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved tier counts"),
+        @ApiResponse(responseCode = "503", description = "Ranking is still loading")
+    })
+    public List<LoyaltyTierResponse> tiers() {
+        return loyaltyService.tierCounts();
+    }
+
+    @PostMapping("/guests/{id}/accruals")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Award loyalty points",
+            description = "Journals the points and adds them to the balance returned by GET /guests/{id} and /guests/batch right away; "
+                    + "the database, and with it lists, searches, scrolls and exports, is updated in the background within about a second")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Points accepted"),
+        @ApiResponse(responseCode = "400", description = "Invalid number of points"),
+        @ApiResponse(responseCode = "404", description = "Guest not found")
+    })
+    public LoyaltyAccrualResponse accrue(@Parameter(description = "Guest ID") @PathVariable Long id,
+                                         @Valid @RequestBody LoyaltyAccrualRequest request) {
+        return loyaltyAccrualService.accrue(id, request.getPoints());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.dto.StayRequest;
+import com.example.hotelmanagement.dto.StayResponse;
+import com.example.hotelmanagement.service.StayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/guests/{guestId}/stays")
+@Tag(name = "Stay Management", description = "APIs for recording and browsing guest stays")
+public class StayController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final StayService stayService;
+
+    public StayController(StayService stayService) {
+        this.stayService = stayService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Record a check-out", description = "Appends a completed stay and accrues loyalty points for it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Stay recorded successfully",
+                content = @Content(schema = @Schema(implementation = StayResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "404", description = "Guest not found")
+    })
+    public ResponseEntity<StayResponse> checkOut(
+            @Parameter(description = "Guest ID") @PathVariable Long guestId,
+            @Valid @RequestBody StayRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(stayService.recordCheckOut(guestId, request));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get stay history", description = "Retrieves a guest's stays, most recent first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved stays"),
+        @ApiResponse(responseCode = "400", description = "Page or size out of range"),
+        @ApiResponse(responseCode = "404", description = "Guest not found")
+    })
+    public Page<StayResponse> getStays(
+            @Parameter(description = "Guest ID") @PathVariable Long guestId,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size
+    ) {
+        return stayService.getStays(guestId, PageRequest.of(page, size));
+    }
+}
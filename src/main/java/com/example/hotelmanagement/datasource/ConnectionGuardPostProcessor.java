@@ -0,0 +1,50 @@
+package com.example.hotelmanagement.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts a {@link ConnectionGuardDataSource} directly around the connection pool, beneath any other wrappers.
+ */
+@Component
+public class ConnectionGuardPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean enabled;
+    private final int maxConcurrency;
+    private final int maxWaiting;
+    private final Duration acquireTimeout;
+
+    public ConnectionGuardPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                        @Value("${guest.datasource.guard.enabled:true}") boolean enabled,
+                                        @Value("${guest.datasource.guard.max-concurrency:10}") int maxConcurrency,
+                                        @Value("${guest.datasource.guard.max-waiting:500}") int maxWaiting,
+                                        @Value("${guest.datasource.guard.acquire-timeout:PT2S}") Duration acquireTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxConcurrency = maxConcurrency;
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    // Ordered post-processors run before plain ones such as the metrics wrapper
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof ConnectionGuardDataSource)) {
+            return new ConnectionGuardDataSource(dataSource, maxConcurrency, maxWaiting, acquireTimeout, meterRegistry.getObject());
+        }
+        return bean;
+    }
+}
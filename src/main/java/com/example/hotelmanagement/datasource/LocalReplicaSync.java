@@ -0,0 +1,56 @@
+package com.example.hotelmanagement.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Stands in for replication between two embedded H2 databases: periodically dumps the primary with
+ * {@code SCRIPT} and reloads the replica from it. The interval is the simulated replication lag, which is
+ * what makes read-your-writes stickiness observable locally. H2 only; never enable against MySQL.
+ */
+public class LocalReplicaSync {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalReplicaSync.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaLagMonitor lagMonitor;
+
+    public LocalReplicaSync(ReplicaDataSources dataSources, ReplicaLagMonitor lagMonitor) {
+        this.primary = new JdbcTemplate(dataSources.primary());
+        this.replica = new JdbcTemplate(dataSources.replica());
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Scheduled(fixedDelayString = "${guest.datasource.replica.simulated-lag:PT2S}")
+    public void sync() {
+        List<String> script;
+        try {
+            script = primary.queryForList("SCRIPT NOPASSWORDS NOSETTINGS", String.class);
+        } catch (DataAccessException ex) {
+            log.warn("Could not dump the primary database: {}", ex.getMessage());
+            return;
+        }
+
+        // Tables disappear for a moment while reloading, so keep reads away from the replica meanwhile
+        lagMonitor.pause();
+        try {
+            replica.execute("DROP ALL OBJECTS");
+            for (String statement : script) {
+                if (!statement.startsWith("CREATE USER")) {
+                    replica.execute(statement);
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not reload the replica database: {}", ex.getMessage());
+        } finally {
+            lagMonitor.check();
+            lagMonitor.resume();
+        }
+    }
+}
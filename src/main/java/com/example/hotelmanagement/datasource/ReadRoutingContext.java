@@ -0,0 +1,63 @@
+package com.example.hotelmanagement.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-request routing hints, set by {@link ReadYourWritesInterceptor}: who the caller is and whether its reads
+ * must go to the primary because it wrote recently. Also marks loads whose results are cached, which always
+ * read from the primary.
+ */
+public final class ReadRoutingContext {
+
+    private static final ThreadLocal<String> CLIENT_ID = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> READING_FOR_CACHE = new ThreadLocal<>();
+
+    private ReadRoutingContext() {
+    }
+
+    static void begin(String clientId, boolean primaryOnly) {
+        CLIENT_ID.set(clientId);
+        PRIMARY_ONLY.set(primaryOnly);
+    }
+
+    static void clear() {
+        CLIENT_ID.remove();
+        PRIMARY_ONLY.remove();
+    }
+
+    static String clientId() {
+        return CLIENT_ID.get();
+    }
+
+    static boolean isPrimaryOnly() {
+        return Boolean.TRUE.equals(PRIMARY_ONLY.get());
+    }
+
+    // The rest of the current request also reads its own write
+    static void requirePrimary() {
+        PRIMARY_ONLY.set(true);
+    }
+
+    /**
+     * Runs {@code load} with its reads on the primary. Caches are invalidated when a write commits on the
+     * primary, so a lagging replica could hand back the row from before that write and the cache would serve
+     * it until the guest changes again. Only routes transactions that take their first connection inside
+     * {@code load}.
+     */
+    public static <T> T readForCache(Supplier<T> load) {
+        if (isReadingForCache()) {
+            return load.get();
+        }
+        READING_FOR_CACHE.set(true);
+        try {
+            return load.get();
+        } finally {
+            READING_FOR_CACHE.remove();
+        }
+    }
+
+    static boolean isReadingForCache() {
+        return Boolean.TRUE.equals(READING_FOR_CACHE.get());
+    }
+}
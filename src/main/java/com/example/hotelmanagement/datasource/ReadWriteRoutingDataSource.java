@@ -0,0 +1,67 @@
+package com.example.hotelmanagement.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary.
+ * Falls back to the primary when the caller wrote recently (read-your-writes), the result is about to be
+ * cached, or the replica lags.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the
+ * decision is made at the first statement, once the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter toPrimary;
+    private final Counter toReplica;
+    private final Counter stickyFallbacks;
+    private final Counter cacheFillFallbacks;
+    private final Counter lagFallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      MeterRegistry registry) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.toPrimary = Counter.builder("guest.db.routing").tag("target", "primary").register(registry);
+        this.toReplica = Counter.builder("guest.db.routing").tag("target", "replica").register(registry);
+        this.stickyFallbacks = Counter.builder("guest.db.routing.fallback").tag("reason", "recent-write").register(registry);
+        this.cacheFillFallbacks = Counter.builder("guest.db.routing.fallback").tag("reason", "cache-fill").register(registry);
+        this.lagFallbacks = Counter.builder("guest.db.routing.fallback").tag("reason", "replica-lag").register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            toPrimary.increment();
+            return Target.PRIMARY;
+        }
+        if (ReadRoutingContext.isPrimaryOnly()) {
+            stickyFallbacks.increment();
+            toPrimary.increment();
+            return Target.PRIMARY;
+        }
+        if (ReadRoutingContext.isReadingForCache()) {
+            cacheFillFallbacks.increment();
+            toPrimary.increment();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            lagFallbacks.increment();
+            toPrimary.increment();
+            return Target.PRIMARY;
+        }
+        toReplica.increment();
+        return Target.REPLICA;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.hotelmanagement.datasource;
+
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes for replica routing: once a caller changes a guest, its reads go to the primary for
+ * {@code sticky-window}, long enough for the replica to catch up. Callers are told apart by the
+ * {@value #CLIENT_ID_HEADER} header, falling back to the remote address. Stickiness is per instance, so
+ * behind a load balancer the same client id should reach the same instance.
+ */
+@Component
+@ConditionalOnProperty(name = "guest.datasource.replica.enabled", havingValue = "true")
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final int MAX_CLIENT_ID_LENGTH = 128;
+
+    private final ConcurrentHashMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesInterceptor(@Value("${guest.datasource.replica.sticky-window:PT5S}") Duration stickyWindow) {
+        this.windowNanos = stickyWindow.toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String clientId = clientId(request);
+        ReadRoutingContext.begin(clientId, isSticky(clientId));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadRoutingContext.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadRoutingContext.clear();
+    }
+
+    // Synchronous on purpose: runs on the writing request's thread, where the client id is known
+    @EventListener
+    public void onGuestChanged(GuestChangedEvent event) {
+        String clientId = ReadRoutingContext.clientId();
+        if (clientId != null) {
+            stickyUntil.put(clientId, System.nanoTime() + windowNanos);
+            ReadRoutingContext.requirePrimary();
+        }
+    }
+
+    public int stickyClients() {
+        return stickyUntil.size();
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    private boolean isSticky(String clientId) {
+        Long until = stickyUntil.get(clientId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(clientId, until);
+        return false;
+    }
+
+    private static String clientId(HttpServletRequest request) {
+        String header = request.getHeader(CLIENT_ID_HEADER);
+        if (header == null || header.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        return header.length() > MAX_CLIENT_ID_LENGTH ? header.substring(0, MAX_CLIENT_ID_LENGTH) : header;
+    }
+}
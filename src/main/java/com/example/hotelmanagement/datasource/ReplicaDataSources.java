@@ -0,0 +1,32 @@
+package com.example.hotelmanagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The two physical pools behind {@link ReadWriteRoutingDataSource}. Deliberately not {@code DataSource}
+ * beans themselves, so the guard and metrics wrappers apply once, around the routing data source.
+ */
+public class ReplicaDataSources implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    public ReplicaDataSources(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    public HikariDataSource primary() {
+        return primary;
+    }
+
+    public HikariDataSource replica() {
+        return replica;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
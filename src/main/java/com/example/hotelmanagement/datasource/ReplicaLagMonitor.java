@@ -0,0 +1,98 @@
+package com.example.hotelmanagement.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Measures replication lag with a heartbeat row: the primary stamps {@code replica_heartbeat} (created by the
+ * V2 migration, or by Hibernate from {@link com.example.hotelmanagement.entity.ReplicaHeartbeat}) with the
+ * current time, and the lag is how far behind that stamp the replica's copy of the row is. Works with any
+ * replication that copies tables (MySQL replicas, the simulated H2 replica) and needs no replication
+ * privileges. The replica is unusable until the first heartbeat arrives and whenever the lag exceeds the limit.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+
+    private volatile boolean paused;
+    private volatile boolean usable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(ReplicaDataSources dataSources, Duration maxLag, MeterRegistry registry) {
+        this.primary = new JdbcTemplate(dataSources.primary());
+        this.replica = new JdbcTemplate(dataSources.replica());
+        this.maxLag = maxLag;
+        registry.gauge("guest.db.replica.lag", this, monitor -> monitor.lagMillis / 1000.0);
+        registry.gauge("guest.db.replica.usable", this, monitor -> monitor.usable ? 1 : 0);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable && !paused;
+    }
+
+    /**
+     * Last measured lag in milliseconds, or -1 when the replica could not be read.
+     */
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${guest.datasource.replica.lag-check-interval:PT1S}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            beat(now);
+        } catch (DataAccessException ex) {
+            // Heartbeat writes fail only when the primary does, and then nothing else works either
+            log.warn("Could not write replica heartbeat: {}", ex.getMessage());
+        }
+
+        long lag;
+        try {
+            List<Long> beats = replica.queryForList("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+            lag = beats.isEmpty() ? -1 : Math.max(0, now - beats.get(0));
+        } catch (DataAccessException ex) {
+            lag = -1;
+        }
+
+        boolean nowUsable = lag >= 0 && lag <= maxLag.toMillis();
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                log.info("Replica caught up (lag {} ms), routing read-only transactions to it", lag);
+            } else {
+                log.warn("Replica {}, routing all reads to the primary",
+                        lag < 0 ? "unreachable or without heartbeat" : "lagging by " + lag + " ms");
+            }
+        }
+        lagMillis = lag;
+        usable = nowUsable;
+    }
+
+    /**
+     * Keeps reads on the primary until {@link #resume()}, e.g. while the replica is being reloaded.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    private void beat(long now) {
+        if (primary.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", now) == 0) {
+            primary.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", now);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.hotelmanagement.dedup;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Every (blocking key, guest id) pair of a scan, packed into one primitive {@code long} each: a 32-bit hash
+ * of the key in the high half and the id in the low half. Sorting the array groups guests that share a key,
+ * so blocks are found without a map of boxed keys; 5M guests with three keys each take about 120 MB.
+ * <p>
+ * Two different keys may hash alike; that only adds a block whose pairs then score below the threshold.
+ */
+public class BlockingKeyTable {
+
+    private static final long ID_MASK = 0xFFFF_FFFFL;
+
+    private long[] entries;
+    private int size;
+    private boolean sorted;
+
+    public BlockingKeyTable(int initialCapacity) {
+        this.entries = new long[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Packs a key and an id; ids must fit in 32 bits. The result is never 0, which callers use as "no key".
+     */
+    public static long pack(String key, long id) {
+        if (id <= 0 || id > ID_MASK) {
+            throw new IllegalArgumentException("Guest id " + id + " does not fit the blocking key table");
+        }
+        return ((long) hash(key) << 32) | id;
+    }
+
+    public void add(long packed) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size + (size >> 1));
+        }
+        entries[size++] = packed;
+        sorted = false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void sort() {
+        Arrays.parallelSort(entries, 0, size);
+        sorted = true;
+    }
+
+    /**
+     * Hands every block of at least two and at most {@code maxBlockSize} distinct guests to the consumer,
+     * as an ascending array of ids.
+     *
+     * @return number of blocks skipped for being larger than {@code maxBlockSize}
+     */
+    public int forEachBlock(int maxBlockSize, Consumer<long[]> consumer) {
+        if (!sorted) {
+            throw new IllegalStateException("Blocking key table must be sorted first");
+        }
+        int oversized = 0;
+        int start = 0;
+        while (start < size) {
+            long key = entries[start] >>> 32;
+            int end = start + 1;
+            while (end < size && entries[end] >>> 32 == key) {
+                end++;
+            }
+            if (end - start > maxBlockSize) {
+                oversized++;
+            } else if (end - start > 1) {
+                long[] ids = new long[end - start];
+                int distinct = 0;
+                for (int i = start; i < end; i++) {
+                    long id = entries[i] & ID_MASK;
+                    // The same guest twice under one hash when two of its keys collide
+                    if (distinct == 0 || ids[distinct - 1] != id) {
+                        ids[distinct++] = id;
+                    }
+                }
+                if (distinct > 1) {
+                    consumer.accept(distinct == ids.length ? ids : Arrays.copyOf(ids, distinct));
+                }
+            }
+            start = end;
+        }
+        return oversized;
+    }
+
+    // FNV-1a over the UTF-16 code units, folded to 32 bits
+    private static int hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.dedup;
+
+/**
+ * The guest columns compared by duplicate detection, as loaded by the scan.
+ */
+public record DedupRecord(Long id, String firstName, String lastName, String email, String phone, String idNumber) {
+}
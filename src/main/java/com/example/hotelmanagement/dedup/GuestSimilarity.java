@@ -0,0 +1,234 @@
+package com.example.hotelmanagement.dedup;
+
+import com.example.hotelmanagement.index.GuestSearchIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalization, blocking keys and pairwise scoring for duplicate guest detection.
+ * <p>
+ * Two guests are only compared when they share a blocking key: the same name tokens in any order,
+ * the same last nine phone digits, or the same identity document number. A compared pair is scored
+ * with Jaro-Winkler similarity per field, weighted and averaged over the fields both guests have.
+ */
+public final class GuestSimilarity {
+
+    public static final String NAME = "name";
+    public static final String PHONE = "phone";
+    public static final String ID_NUMBER = "idNumber";
+    public static final String EMAIL = "email";
+
+    private static final double NAME_WEIGHT = 0.40;
+    private static final double PHONE_WEIGHT = 0.25;
+    private static final double ID_NUMBER_WEIGHT = 0.25;
+    private static final double EMAIL_WEIGHT = 0.10;
+
+    // A field at or above this similarity is listed as a reason in the report
+    private static final double MATCHED_FIELD = 0.9;
+
+    // Long enough to tell subscribers apart, short enough to ignore +84 versus a leading 0
+    private static final int PHONE_DIGITS = 9;
+
+    /**
+     * Normalized form of one guest, computed once per scan chunk rather than once per compared pair.
+     */
+    public record Profile(long id, String name, String phone, String idNumber, String emailLocal) {
+    }
+
+    public record Match(long guestId, long duplicateId, double score, List<String> matchedOn) {
+    }
+
+    private GuestSimilarity() {
+    }
+
+    public static Profile profile(DedupRecord record) {
+        String email = record.email() == null ? "" : record.email().toLowerCase(Locale.ROOT);
+        int at = email.indexOf('@');
+        return new Profile(
+                record.id(),
+                name(record.firstName(), record.lastName()),
+                phone(record.phone()),
+                idNumber(record.idNumber()),
+                at < 0 ? email : email.substring(0, at)
+        );
+    }
+
+    /**
+     * Blocking keys of a guest; fields that are blank produce no key.
+     */
+    public static List<String> blockingKeys(DedupRecord record) {
+        List<String> keys = new ArrayList<>(3);
+        String name = name(record.firstName(), record.lastName());
+        if (!name.isEmpty()) {
+            keys.add("n|" + name);
+        }
+        String phone = phone(record.phone());
+        if (!phone.isEmpty()) {
+            keys.add("p|" + phone);
+        }
+        String idNumber = idNumber(record.idNumber());
+        if (!idNumber.isEmpty()) {
+            keys.add("i|" + idNumber);
+        }
+        return keys;
+    }
+
+    /**
+     * Scores a pair; returns {@code null} below {@code minScore}. The lower id is reported as the guest
+     * and the higher one as its duplicate.
+     */
+    public static Match score(Profile a, Profile b, double minScore) {
+        List<String> matchedOn = new ArrayList<>(4);
+        double weighted = 0;
+        double weights = 0;
+
+        double nameSimilarity = 0;
+        if (!a.name().isEmpty() && !b.name().isEmpty()) {
+            nameSimilarity = jaroWinkler(a.name(), b.name());
+            weighted += NAME_WEIGHT * nameSimilarity;
+            weights += NAME_WEIGHT;
+            if (nameSimilarity >= MATCHED_FIELD) {
+                matchedOn.add(NAME);
+            }
+        }
+        if (!a.phone().isEmpty() && !b.phone().isEmpty()) {
+            double similarity = jaroWinkler(a.phone(), b.phone());
+            weighted += PHONE_WEIGHT * similarity;
+            weights += PHONE_WEIGHT;
+            if (similarity >= MATCHED_FIELD) {
+                matchedOn.add(PHONE);
+            }
+        }
+        boolean sameDocument = false;
+        if (!a.idNumber().isEmpty() && !b.idNumber().isEmpty()) {
+            double similarity = jaroWinkler(a.idNumber(), b.idNumber());
+            weighted += ID_NUMBER_WEIGHT * similarity;
+            weights += ID_NUMBER_WEIGHT;
+            sameDocument = a.idNumber().equals(b.idNumber());
+            if (similarity >= MATCHED_FIELD) {
+                matchedOn.add(ID_NUMBER);
+            }
+        }
+        if (!a.emailLocal().isEmpty() && !b.emailLocal().isEmpty()) {
+            double similarity = jaroWinkler(a.emailLocal(), b.emailLocal());
+            weighted += EMAIL_WEIGHT * similarity;
+            weights += EMAIL_WEIGHT;
+            if (similarity >= MATCHED_FIELD) {
+                matchedOn.add(EMAIL);
+            }
+        }
+        if (weights == 0) {
+            return null;
+        }
+
+        double score = weighted / weights;
+        // The same identity document is decisive on its own as long as the names agree
+        if (sameDocument) {
+            score = Math.max(score, nameSimilarity);
+        }
+        if (score < minScore) {
+            return null;
+        }
+        long low = Math.min(a.id(), b.id());
+        long high = Math.max(a.id(), b.id());
+        return new Match(low, high, Math.round(score * 1000) / 1000.0, List.copyOf(matchedOn));
+    }
+
+    /**
+     * Jaro-Winkler similarity in [0, 1] with the usual prefix scale of 0.1 over at most four characters.
+     */
+    public static double jaroWinkler(String s, String t) {
+        if (s.equals(t)) {
+            return 1.0;
+        }
+        int sLength = s.length();
+        int tLength = t.length();
+        if (sLength == 0 || tLength == 0) {
+            return 0.0;
+        }
+
+        int window = Math.max(0, Math.max(sLength, tLength) / 2 - 1);
+        boolean[] sMatched = new boolean[sLength];
+        boolean[] tMatched = new boolean[tLength];
+        int matches = 0;
+        for (int i = 0; i < sLength; i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(tLength, i + window + 1);
+            for (int j = from; j < to; j++) {
+                if (!tMatched[j] && s.charAt(i) == t.charAt(j)) {
+                    sMatched[i] = true;
+                    tMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < sLength; i++) {
+            if (sMatched[i]) {
+                while (!tMatched[j]) {
+                    j++;
+                }
+                if (s.charAt(i) != t.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+
+        double m = matches;
+        double jaro = (m / sLength + m / tLength + (m - transpositions / 2.0) / m) / 3.0;
+        int prefix = 0;
+        int maxPrefix = Math.min(4, Math.min(sLength, tLength));
+        while (prefix < maxPrefix && s.charAt(prefix) == t.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1.0 - jaro);
+    }
+
+    // Accent-insensitive name tokens in sorted order, so "Nguyen Van An" and "An Nguyen Van" agree
+    private static String name(String firstName, String lastName) {
+        String joined = GuestSearchIndex.normalize(firstName) + " " + GuestSearchIndex.normalize(lastName);
+        String[] tokens = joined.replaceAll("[^\\p{L}\\p{Nd}]+", " ").trim().split(" ");
+        if (tokens.length == 1 && tokens[0].isEmpty()) {
+            return "";
+        }
+        Arrays.sort(tokens);
+        return String.join(" ", tokens);
+    }
+
+    private static String phone(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.length() <= PHONE_DIGITS ? digits.toString() : digits.substring(digits.length() - PHONE_DIGITS);
+    }
+
+    private static String idNumber(String idNumber) {
+        if (idNumber == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(idNumber.length());
+        for (int i = 0; i < idNumber.length(); i++) {
+            char c = idNumber.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toUpperCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Outcome of one archival run")
+public class ArchiveRunResponse {
+
+    @Schema(description = "When the run started", example = "2025-02-15T03:30:00")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Guests deleted before this instant were eligible", example = "2025-01-16T03:30:00")
+    private LocalDateTime cutoff;
+
+    @Schema(description = "Number of batches (transactions) executed", example = "12")
+    private int batches;
+
+    @Schema(description = "Guests moved to the archive", example = "5830")
+    private long rowsMoved;
+
+    @Schema(description = "Wall-clock duration of the run in milliseconds", example = "1840")
+    private long durationMs;
+
+    @Schema(description = "Whether the run stopped at the per-run batch limit with rows left over", example = "false")
+    private boolean truncated;
+
+    public ArchiveRunResponse(LocalDateTime startedAt, LocalDateTime cutoff, int batches, long rowsMoved,
+                              long durationMs, boolean truncated) {
+        this.startedAt = startedAt;
+        this.cutoff = cutoff;
+        this.batches = batches;
+        this.rowsMoved = rowsMoved;
+        this.durationMs = durationMs;
+        this.truncated = truncated;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getCutoff() {
+        return cutoff;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public long getRowsMoved() {
+        return rowsMoved;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Archived (soft-deleted and moved out of the active table) guest")
+public class ArchivedGuestResponse {
+
+    @Schema(description = "Guest's original identifier, reused on restore", example = "1")
+    private Long id;
+
+    @Schema(description = "Guest's full name", example = "John Doe")
+    private String fullName;
+
+    @Schema(description = "Guest's email address", example = "john.doe@example.com")
+    private String email;
+
+    @Schema(description = "Guest's phone number", example = "+84901234567")
+    private String phone;
+
+    @Schema(description = "Guest's loyalty points at deletion", example = "1200")
+    private Integer loyaltyPoints;
+
+    @Schema(description = "When the guest was deleted", example = "2025-01-15T10:30:00")
+    private LocalDateTime deletedAt;
+
+    @Schema(description = "When the guest was moved to the archive", example = "2025-02-15T03:30:00")
+    private LocalDateTime archivedAt;
+
+    public ArchivedGuestResponse(Long id, String fullName, String email, String phone, Integer loyaltyPoints,
+                                 LocalDateTime deletedAt, LocalDateTime archivedAt) {
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+        this.phone = phone;
+        this.loyaltyPoints = loyaltyPoints;
+        this.deletedAt = deletedAt;
+        this.archivedAt = archivedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public Integer getLoyaltyPoints() {
+        return loyaltyPoints;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
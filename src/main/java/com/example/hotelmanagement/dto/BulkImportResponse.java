@@ -0,0 +1,83 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk guest import")
+public class BulkImportResponse {
+
+    @Schema(description = "Number of rows received", example = "1000")
+    private int received;
+
+    @Schema(description = "Number of guests inserted", example = "997")
+    private int imported;
+
+    @Schema(description = "Number of rows rejected", example = "3")
+    private int failed;
+
+    @Schema(description = "Time spent importing in milliseconds", example = "850")
+    private long elapsedMillis;
+
+    @Schema(description = "Per-row failures")
+    private List<RowError> errors;
+
+    public BulkImportResponse(int received, int imported, List<RowError> errors, long elapsedMillis) {
+        this.received = received;
+        this.imported = imported;
+        this.failed = errors.size();
+        this.errors = errors;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    @Schema(description = "A rejected import row")
+    public static class RowError {
+
+        @Schema(description = "1-based row number in the submitted array or CSV body", example = "42")
+        private int row;
+
+        @Schema(description = "Email of the rejected row", example = "john.doe@example.com")
+        private String email;
+
+        @Schema(description = "Reason the row was rejected", example = "Email already exists")
+        private String message;
+
+        public RowError(int row, String email, String message) {
+            this.row = row;
+            this.email = email;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Guest cache statistics")
+public class CacheStatsResponse {
+
+    @Schema(description = "Number of cached entries", example = "1250")
+    private long size;
+
+    @Schema(description = "Maximum number of cached entries", example = "10000")
+    private long maxSize;
+
+    @Schema(description = "Lookups served from the cache", example = "98000")
+    private long hits;
+
+    @Schema(description = "Lookups that had to go to the database", example = "2000")
+    private long misses;
+
+    @Schema(description = "Entries dropped because the cache was full", example = "0")
+    private long evictions;
+
+    @Schema(description = "Entries dropped because their TTL elapsed", example = "150")
+    private long expirations;
+
+    @Schema(description = "Ratio of hits to total lookups", example = "0.98")
+    private double hitRate;
+
+    public CacheStatsResponse(long size, long maxSize, long hits, long misses, long evictions, long expirations) {
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        long lookups = hits + misses;
+        this.hitRate = lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+}
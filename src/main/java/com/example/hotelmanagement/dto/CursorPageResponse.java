@@ -0,0 +1,44 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One slice of a cursor-paginated result, without a total count")
+public class CursorPageResponse<T> {
+
+    @Schema(description = "Items in this slice")
+    private List<T> content;
+
+    @Schema(description = "Requested slice size", example = "10")
+    private int size;
+
+    @Schema(description = "Whether more items follow this slice", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque token to pass as 'after' to fetch the next slice; null on the last slice", example = "aWQ6NDI")
+    private String nextCursor;
+
+    public CursorPageResponse(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
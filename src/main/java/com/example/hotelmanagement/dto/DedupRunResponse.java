@@ -0,0 +1,89 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Progress or outcome of one duplicate guest scan")
+public class DedupRunResponse {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Schema(description = "State of the scan", example = "COMPLETED")
+    private Status status;
+
+    @Schema(description = "When the scan started", example = "2025-02-15T02:00:00")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Active guests read", example = "5000000")
+    private long rowsScanned;
+
+    @Schema(description = "Groups of guests sharing a name, phone or ID number key", example = "41822")
+    private long blocks;
+
+    @Schema(description = "Blocks skipped because they exceed guest.dedup.max-block-size", example = "37")
+    private long oversizedBlocks;
+
+    @Schema(description = "Guest pairs scored", example = "96310")
+    private long pairsCompared;
+
+    @Schema(description = "Pairs at or above guest.dedup.min-score", example = "18254")
+    private long candidates;
+
+    @Schema(description = "Wall-clock duration so far in milliseconds", example = "142000")
+    private long durationMs;
+
+    @Schema(description = "Whether the report keeps only the best guest.dedup.max-report-size candidates", example = "false")
+    private boolean truncated;
+
+    public DedupRunResponse(Status status, LocalDateTime startedAt, long rowsScanned, long blocks, long oversizedBlocks,
+                            long pairsCompared, long candidates, long durationMs, boolean truncated) {
+        this.status = status;
+        this.startedAt = startedAt;
+        this.rowsScanned = rowsScanned;
+        this.blocks = blocks;
+        this.oversizedBlocks = oversizedBlocks;
+        this.pairsCompared = pairsCompared;
+        this.candidates = candidates;
+        this.durationMs = durationMs;
+        this.truncated = truncated;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    public long getBlocks() {
+        return blocks;
+    }
+
+    public long getOversizedBlocks() {
+        return oversizedBlocks;
+    }
+
+    public long getPairsCompared() {
+        return pairsCompared;
+    }
+
+    public long getCandidates() {
+        return candidates;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Two active guests that are probably the same person")
+public class DuplicateCandidateResponse {
+
+    @Schema(description = "ID of the older guest record", example = "1042")
+    private long guestId;
+
+    @Schema(description = "ID of the newer guest record", example = "88310")
+    private long duplicateId;
+
+    @Schema(description = "Similarity between 0 and 1", example = "0.934")
+    private double score;
+
+    @Schema(description = "Fields that are equal or nearly equal", example = "[\"name\", \"phone\"]")
+    private List<String> matchedOn;
+
+    public DuplicateCandidateResponse(long guestId, long duplicateId, double score, List<String> matchedOn) {
+        this.guestId = guestId;
+        this.duplicateId = duplicateId;
+        this.score = score;
+        this.matchedOn = matchedOn;
+    }
+
+    public long getGuestId() {
+        return guestId;
+    }
+
+    public long getDuplicateId() {
+        return duplicateId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public List<String> getMatchedOn() {
+        return matchedOn;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Email existence filter statistics")
+public class EmailFilterStatsResponse {
+
+    @Schema(description = "Whether the filter has been built and is answering lookups", example = "true")
+    private boolean ready;
+
+    @Schema(description = "Number of emails the filter was sized for", example = "2000000")
+    private long expectedInsertions;
+
+    @Schema(description = "Number of emails added so far", example = "1000000")
+    private long insertions;
+
+    @Schema(description = "Size of the bit array", example = "19170176")
+    private long bits;
+
+    @Schema(description = "Number of hash functions", example = "7")
+    private int hashFunctions;
+
+    @Schema(description = "False-positive rate the filter was sized for", example = "0.01")
+    private double targetFalsePositiveRate;
+
+    @Schema(description = "Estimated false-positive rate at the current fill level", example = "0.0007")
+    private double estimatedFalsePositiveRate;
+
+    @Schema(description = "Existence queries skipped because the email was definitely new", example = "5000")
+    private long skippedChecks;
+
+    @Schema(description = "Positive answers the database confirmed", example = "40")
+    private long confirmedPresent;
+
+    @Schema(description = "Positive answers the database refuted", example = "3")
+    private long falsePositives;
+
+    @Schema(description = "Observed share of lookups for new emails that were still reported as present", example = "0.0006")
+    private double observedFalsePositiveRate;
+
+    public EmailFilterStatsResponse(boolean ready, long expectedInsertions, long insertions, long bits, int hashFunctions,
+                                    double targetFalsePositiveRate, double estimatedFalsePositiveRate,
+                                    long skippedChecks, long confirmedPresent, long falsePositives) {
+        this.ready = ready;
+        this.expectedInsertions = expectedInsertions;
+        this.insertions = insertions;
+        this.bits = bits;
+        this.hashFunctions = hashFunctions;
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+        this.estimatedFalsePositiveRate = estimatedFalsePositiveRate;
+        this.skippedChecks = skippedChecks;
+        this.confirmedPresent = confirmedPresent;
+        this.falsePositives = falsePositives;
+        long newEmails = skippedChecks + falsePositives;
+        this.observedFalsePositiveRate = newEmails == 0 ? 0.0 : (double) falsePositives / newEmails;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long getInsertions() {
+        return insertions;
+    }
+
+    public long getBits() {
+        return bits;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    public double getTargetFalsePositiveRate() {
+        return targetFalsePositiveRate;
+    }
+
+    public double getEstimatedFalsePositiveRate() {
+        return estimatedFalsePositiveRate;
+    }
+
+    public long getSkippedChecks() {
+        return skippedChecks;
+    }
+
+    public long getConfirmedPresent() {
+        return confirmedPresent;
+    }
+
+    public long getFalsePositives() {
+        return falsePositives;
+    }
+
+    public double getObservedFalsePositiveRate() {
+        return observedFalsePositiveRate;
+    }
+}
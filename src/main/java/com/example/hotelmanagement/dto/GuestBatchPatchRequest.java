@@ -0,0 +1,31 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "One entry of a batch patch: the guest to change and the fields to change on it")
+public class GuestBatchPatchRequest extends GuestPatchRequest {
+
+    @Schema(description = "Guest's unique identifier", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    private Long id;
+
+    @Schema(description = "Version the guest is expected to have, like If-Match on a single patch", example = "3")
+    private Long version;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a batch guest patch")
+public class GuestBatchPatchResponse {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        FAILED
+    }
+
+    @Schema(description = "Number of entries received", example = "100")
+    private int received;
+
+    @Schema(description = "Number of guests changed", example = "60")
+    private int updated;
+
+    @Schema(description = "Number of entries that matched the stored values and wrote nothing", example = "38")
+    private int unchanged;
+
+    @Schema(description = "Number of entries rejected", example = "2")
+    private int failed;
+
+    @Schema(description = "Time spent patching in milliseconds", example = "120")
+    private long elapsedMillis;
+
+    @Schema(description = "Per-entry outcome, in request order")
+    private List<ItemResult> results;
+
+    public GuestBatchPatchResponse(List<ItemResult> results, long elapsedMillis) {
+        this.received = results.size();
+        for (ItemResult result : results) {
+            switch (result.getOutcome()) {
+                case UPDATED -> updated++;
+                case UNCHANGED -> unchanged++;
+                case FAILED -> failed++;
+            }
+        }
+        this.results = results;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<ItemResult> getResults() {
+        return results;
+    }
+
+    @Schema(description = "Outcome of one batch patch entry")
+    public static class ItemResult {
+
+        @Schema(description = "1-based position in the submitted array", example = "7")
+        private int item;
+
+        @Schema(description = "Guest's unique identifier", example = "42")
+        private Long id;
+
+        @Schema(description = "What happened to the entry", example = "UPDATED")
+        private Outcome outcome;
+
+        @Schema(description = "Guest version after the patch, for use as If-Match", example = "4")
+        private Long version;
+
+        @Schema(description = "Reason the entry was rejected", example = "Email already exists")
+        private String message;
+
+        public ItemResult(int item, Long id, Outcome outcome, Long version, String message) {
+            this.item = item;
+            this.id = id;
+            this.outcome = outcome;
+            this.version = version;
+            this.message = message;
+        }
+
+        public int getItem() {
+            return item;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
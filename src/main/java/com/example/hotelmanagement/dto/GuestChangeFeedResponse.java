@@ -0,0 +1,28 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of the guest change feed")
+public class GuestChangeFeedResponse {
+
+    @Schema(description = "Changes after the requested offset, oldest first")
+    private List<GuestChangeResponse> changes;
+
+    @Schema(description = "Offset to pass on the next call", example = "184467")
+    private long nextOffset;
+
+    public GuestChangeFeedResponse(List<GuestChangeResponse> changes, long nextOffset) {
+        this.changes = changes;
+        this.nextOffset = nextOffset;
+    }
+
+    public List<GuestChangeResponse> getChanges() {
+        return changes;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.hotelmanagement.dto;
+
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "One guest mutation in the change feed")
+@JsonPropertyOrder({"position", "guestId", "type", "guestVersion", "occurredAt", "guest"})
+public class GuestChangeResponse {
+
+    @Schema(description = "Position in the feed; pass it as the offset to resume after this change", example = "184467")
+    private long position;
+
+    @Schema(description = "ID of the changed guest", example = "1042")
+    private long guestId;
+
+    @Schema(description = "Kind of mutation", example = "UPDATED")
+    private ChangeType type;
+
+    @Schema(description = "Guest version after the change", example = "7")
+    private Long guestVersion;
+
+    @Schema(description = "When the change was made", example = "2025-02-15T10:21:04")
+    private LocalDateTime occurredAt;
+
+    // Stored as JSON when the change is written and passed through unparsed
+    @Schema(description = "The guest after the change; absent for deletions", implementation = GuestResponse.class)
+    @JsonRawValue
+    private String guest;
+
+    public GuestChangeResponse(long position, long guestId, ChangeType type, Long guestVersion,
+                               LocalDateTime occurredAt, String guest) {
+        this.position = position;
+        this.guestId = guestId;
+        this.type = type;
+        this.guestVersion = guestVersion;
+        this.occurredAt = occurredAt;
+        this.guest = guest;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getGuestId() {
+        return guestId;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Long getGuestVersion() {
+        return guestVersion;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getGuest() {
+        return guest;
+    }
+}
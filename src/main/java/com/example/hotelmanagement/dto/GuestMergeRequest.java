@@ -0,0 +1,32 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Merge of a duplicate guest into the guest record that is kept")
+public class GuestMergeRequest {
+
+    @Schema(description = "ID of the guest that is kept", example = "1042", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    private Long survivorId;
+
+    @Schema(description = "ID of the guest that is merged and then deleted", example = "88310", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    private Long duplicateId;
+
+    public Long getSurvivorId() {
+        return survivorId;
+    }
+
+    public void setSurvivorId(Long survivorId) {
+        this.survivorId = survivorId;
+    }
+
+    public Long getDuplicateId() {
+        return duplicateId;
+    }
+
+    public void setDuplicateId(Long duplicateId) {
+        this.duplicateId = duplicateId;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Guests resolved by a multi-get, in request order, plus the ids that could not be resolved")
+public class GuestMultiGetResponse {
+
+    @Schema(description = "Active guests in the order their ids were requested; repeated ids appear once")
+    private List<GuestResponse> guests;
+
+    @Schema(description = "Requested ids that never existed", example = "[991, 992]")
+    private List<Long> missing;
+
+    @Schema(description = "Requested ids of deleted or archived guests", example = "[17]")
+    private List<Long> deleted;
+
+    public GuestMultiGetResponse(List<GuestResponse> guests, List<Long> missing, List<Long> deleted) {
+        this.guests = guests;
+        this.missing = missing;
+        this.deleted = deleted;
+    }
+
+    public List<GuestResponse> getGuests() {
+        return guests;
+    }
+
+    public List<Long> getMissing() {
+        return missing;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Partial guest update with JSON merge patch semantics: fields missing from the body stay as they are,
+ * fields set to {@code null} are cleared. Setters record which fields the body contained.
+ */
+@Schema(description = "Partial guest update: only fields present in the body are changed; null clears optional fields")
+public class GuestPatchRequest {
+
+    private static final String NOT_BLANK = ".*\\S.*";
+
+    @Schema(description = "Guest's first name", example = "John")
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    private String firstName;
+
+    @Schema(description = "Guest's last name", example = "Doe")
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    private String lastName;
+
+    @Schema(description = "Guest's email address", example = "john.doe@example.com")
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    @Email
+    private String email;
+
+    @Schema(description = "Guest's phone number", example = "+84901234567")
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    private String phone;
+
+    @Schema(description = "Guest's address", example = "123 Main St, Ho Chi Minh City")
+    private String address;
+
+    @Schema(description = "Guest's ID number (passport or national ID)", example = "123456789")
+    private String idNumber;
+
+    @Schema(description = "Guest's preferences (room type, floor preference, etc.)", example = "Non-smoking, High floor, King bed")
+    private String preferences;
+
+    private final Set<String> present = new HashSet<>();
+
+    /**
+     * A patch that replaces every field, which is what a PUT amounts to.
+     */
+    public static GuestPatchRequest of(GuestRequest request) {
+        GuestPatchRequest patch = new GuestPatchRequest();
+        patch.setFirstName(request.getFirstName());
+        patch.setLastName(request.getLastName());
+        patch.setEmail(request.getEmail());
+        patch.setPhone(request.getPhone());
+        patch.setAddress(request.getAddress());
+        patch.setIdNumber(request.getIdNumber());
+        patch.setPreferences(request.getPreferences());
+        return patch;
+    }
+
+    public boolean has(String field) {
+        return present.contains(field);
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+        present.add("firstName");
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+        present.add("lastName");
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        present.add("email");
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+        present.add("phone");
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+        present.add("address");
+    }
+
+    public String getIdNumber() {
+        return idNumber;
+    }
+
+    public void setIdNumber(String idNumber) {
+        this.idNumber = idNumber;
+        present.add("idNumber");
+    }
+
+    public String getPreferences() {
+        return preferences;
+    }
+
+    public void setPreferences(String preferences) {
+        this.preferences = preferences;
+        present.add("preferences");
+    }
+}
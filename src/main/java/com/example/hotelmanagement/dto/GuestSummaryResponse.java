@@ -0,0 +1,82 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Guest summary data (without preferences and stay history)")
+public class GuestSummaryResponse {
+
+    @Schema(description = "Guest's unique identifier", example = "1")
+    private Long id;
+
+    @Schema(description = "Guest's full name", example = "John Doe")
+    private String fullName;
+
+    @Schema(description = "Guest's email address", example = "john.doe@example.com")
+    private String email;
+
+    @Schema(description = "Guest's phone number", example = "+84901234567")
+    private String phone;
+
+    @Schema(description = "Guest's loyalty points", example = "0")
+    private Integer loyaltyPoints;
+
+    @Schema(description = "Record version, incremented on every change; also sent as the ETag", example = "0")
+    private Long version;
+
+    public GuestSummaryResponse(Long id, String fullName, String email, String phone, Integer loyaltyPoints, Long version) {
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+        this.phone = phone;
+        this.loyaltyPoints = loyaltyPoints;
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public Integer getLoyaltyPoints() {
+        return loyaltyPoints;
+    }
+
+    public void setLoyaltyPoints(Integer loyaltyPoints) {
+        this.loyaltyPoints = loyaltyPoints;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.hotelmanagement.dto;
+
+import java.util.Locale;
+
+/**
+ * Field set returned by list and search endpoints.
+ */
+public enum GuestView {
+    FULL,
+    SUMMARY;
+
+    public static GuestView from(String value) {
+        return value != null && value.trim().toLowerCase(Locale.ROOT).equals("summary") ? SUMMARY : FULL;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A guest's position on the loyalty leaderboard")
+public class LeaderboardEntryResponse {
+
+    @Schema(description = "1-based rank, highest points first", example = "1")
+    private int rank;
+
+    @Schema(description = "Guest's unique identifier", example = "42")
+    private Long guestId;
+
+    @Schema(description = "Guest's full name", example = "John Doe")
+    private String fullName;
+
+    @Schema(description = "Guest's loyalty points", example = "25000")
+    private Integer loyaltyPoints;
+
+    @Schema(description = "Loyalty tier reached, if any", example = "PLATINUM")
+    private String tier;
+
+    public LeaderboardEntryResponse(int rank, Long guestId, String fullName, Integer loyaltyPoints, String tier) {
+        this.rank = rank;
+        this.guestId = guestId;
+        this.fullName = fullName;
+        this.loyaltyPoints = loyaltyPoints;
+        this.tier = tier;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public Long getGuestId() {
+        return guestId;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public Integer getLoyaltyPoints() {
+        return loyaltyPoints;
+    }
+
+    public String getTier() {
+        return tier;
+    }
+}
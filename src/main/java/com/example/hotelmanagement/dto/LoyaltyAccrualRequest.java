@@ -0,0 +1,24 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Loyalty points awarded to a guest")
+public class LoyaltyAccrualRequest {
+
+    @Schema(description = "Points to add", example = "150", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    @Min(1)
+    @Max(1_000_000)
+    private Integer points;
+
+    public Integer getPoints() {
+        return points;
+    }
+
+    public void setPoints(Integer points) {
+        this.points = points;
+    }
+}
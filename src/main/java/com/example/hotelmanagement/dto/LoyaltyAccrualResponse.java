@@ -0,0 +1,50 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of a loyalty accrual; the points are journaled and applied to the guest shortly")
+public class LoyaltyAccrualResponse {
+
+    @Schema(description = "Guest's unique identifier", example = "42")
+    private Long guestId;
+
+    @Schema(description = "Points added by this accrual", example = "150")
+    private Integer points;
+
+    @Schema(description = "Guest's balance including accruals not yet written to the database", example = "2150")
+    private Integer loyaltyPoints;
+
+    @Schema(description = "Accrued points not yet written to the database", example = "450")
+    private Integer pendingPoints;
+
+    @Schema(description = "Journal sequence number of this accrual", example = "918273")
+    private Long sequence;
+
+    public LoyaltyAccrualResponse(Long guestId, Integer points, Integer loyaltyPoints, Integer pendingPoints, Long sequence) {
+        this.guestId = guestId;
+        this.points = points;
+        this.loyaltyPoints = loyaltyPoints;
+        this.pendingPoints = pendingPoints;
+        this.sequence = sequence;
+    }
+
+    public Long getGuestId() {
+        return guestId;
+    }
+
+    public Integer getPoints() {
+        return points;
+    }
+
+    public Integer getLoyaltyPoints() {
+        return loyaltyPoints;
+    }
+
+    public Integer getPendingPoints() {
+        return pendingPoints;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Number of guests in a loyalty tier")
+public class LoyaltyTierResponse {
+
+    @Schema(description = "Tier name", example = "GOLD")
+    private String tier;
+
+    @Schema(description = "Minimum points for the tier", example = "5000")
+    private int minPoints;
+
+    @Schema(description = "Guests whose points fall in this tier (below the next tier's minimum)", example = "1200")
+    private int guests;
+
+    public LoyaltyTierResponse(String tier, int minPoints, int guests) {
+        this.tier = tier;
+        this.minPoints = minPoints;
+        this.guests = guests;
+    }
+
+    public String getTier() {
+        return tier;
+    }
+
+    public int getMinPoints() {
+        return minPoints;
+    }
+
+    public int getGuests() {
+        return guests;
+    }
+}
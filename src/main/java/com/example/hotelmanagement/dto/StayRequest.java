@@ -0,0 +1,49 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+@Schema(description = "Completed stay recorded at check-out")
+public class StayRequest {
+
+    @Schema(description = "Room the guest stayed in", example = "205", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank
+    @Size(max = 20)
+    private String roomNumber;
+
+    @Schema(description = "Check-in date", example = "2023-06-20", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    private LocalDate checkInDate;
+
+    @Schema(description = "Check-out date", example = "2023-06-23", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    private LocalDate checkOutDate;
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public void setCheckInDate(LocalDate checkInDate) {
+        this.checkInDate = checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public void setCheckOutDate(LocalDate checkOutDate) {
+        this.checkOutDate = checkOutDate;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.hotelmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Stay record")
+public class StayResponse {
+
+    @Schema(description = "Stay's unique identifier", example = "1")
+    private Long id;
+
+    @Schema(description = "Guest's unique identifier", example = "1")
+    private Long guestId;
+
+    @Schema(description = "Room the guest stayed in", example = "205")
+    private String roomNumber;
+
+    @Schema(description = "Check-in date", example = "2023-06-20")
+    private LocalDate checkInDate;
+
+    @Schema(description = "Check-out date", example = "2023-06-23")
+    private LocalDate checkOutDate;
+
+    @Schema(description = "Loyalty points earned for this stay", example = "30")
+    private Integer pointsEarned;
+
+    public StayResponse(Long id, Long guestId, String roomNumber, LocalDate checkInDate, LocalDate checkOutDate, Integer pointsEarned) {
+        this.id = id;
+        this.guestId = guestId;
+        this.roomNumber = roomNumber;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.pointsEarned = pointsEarned;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGuestId() {
+        return guestId;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public Integer getPointsEarned() {
+        return pointsEarned;
+    }
+}
@@ -2,14 +2,18 @@ package com.example.hotelmanagement.entity;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
+// UPDATEs name only the changed columns, so a patch of one field does not rewrite the TEXT columns
 @Entity
+@DynamicUpdate
 @Table(
     name = "guests",
-    uniqueConstraints = @UniqueConstraint(columnNames = "email")
+    uniqueConstraints = @UniqueConstraint(columnNames = "email"),
+    indexes = @Index(name = "idx_guests_deleted_updated", columnList = "is_deleted, updated_at")
 )
 public class Guest {
 
@@ -42,6 +46,11 @@ public class Guest {
 
     private Boolean isDeleted = false;
 
+    // Optimistic-locking version, also served as the guest's ETag
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version = 0L;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -163,6 +172,14 @@ public class Guest {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
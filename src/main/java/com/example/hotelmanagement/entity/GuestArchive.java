@@ -0,0 +1,116 @@
+package com.example.hotelmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A soft-deleted guest moved out of the {@code guests} table by the archival job. Keeps the original id
+ * so stays still resolve and a restore puts the guest back unchanged. Rows are written and removed with
+ * set-based SQL only, hence no setters.
+ */
+@Entity
+@Table(
+    name = "guests_archive",
+    indexes = @Index(name = "idx_guests_archive_archived_at", columnList = "archived_at")
+)
+public class GuestArchive {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String firstName;
+
+    @Column(nullable = false, length = 100)
+    private String lastName;
+
+    @Column(nullable = false, length = 150)
+    private String email;
+
+    @Column(nullable = false, length = 20)
+    private String phone;
+
+    private String address;
+
+    private String idNumber;
+
+    @Column(columnDefinition = "TEXT")
+    private String preferences;
+
+    @Column(columnDefinition = "TEXT")
+    private String stayHistory;
+
+    private Integer loyaltyPoints;
+
+    @Column(nullable = false)
+    private Long version;
+
+    private LocalDateTime createdAt;
+
+    // When the guest was soft-deleted, i.e. its last update in the hot table
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    protected GuestArchive() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getIdNumber() {
+        return idNumber;
+    }
+
+    public String getPreferences() {
+        return preferences;
+    }
+
+    public String getStayHistory() {
+        return stayHistory;
+    }
+
+    public Integer getLoyaltyPoints() {
+        return loyaltyPoints;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.hotelmanagement.entity;
+
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed guest mutation in the change feed. Rows are inserted in the same transaction as the
+ * mutation without a position; the relay numbers them in the order they become visible, so a consumer
+ * reading by position never skips a row that committed late.
+ */
+@Entity
+@Table(
+    name = "guest_outbox",
+    indexes = @Index(name = "idx_guest_outbox_position", columnList = "feed_position", unique = true)
+)
+public class GuestOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "feed_position")
+    private Long position;
+
+    @Column(name = "guest_id", nullable = false)
+    private Long guestId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private ChangeType changeType;
+
+    @Column(name = "guest_version")
+    private Long guestVersion;
+
+    // The guest as returned by the API, as JSON; null for deletions
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    protected GuestOutboxEvent() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public Long getGuestId() {
+        return guestId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getGuestVersion() {
+        return guestVersion;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
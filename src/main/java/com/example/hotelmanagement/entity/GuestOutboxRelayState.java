@@ -0,0 +1,64 @@
+package com.example.hotelmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The single row that serializes the outbox relay across instances: the last position handed out and
+ * the position up to which old events have been purged.
+ */
+@Entity
+@Table(name = "guest_outbox_relay")
+public class GuestOutboxRelayState {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_position", nullable = false)
+    private Long lastPosition;
+
+    @Column(name = "purged_through", nullable = false)
+    private Long purgedThrough;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected GuestOutboxRelayState() {
+    }
+
+    public GuestOutboxRelayState(long lastPosition) {
+        this.id = ID;
+        this.lastPosition = lastPosition;
+        this.purgedThrough = 0L;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getLastPosition() {
+        return lastPosition;
+    }
+
+    public Long getPurgedThrough() {
+        return purgedThrough;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void advanceTo(long position) {
+        this.lastPosition = position;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void purgeThrough(long position) {
+        this.purgedThrough = position;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
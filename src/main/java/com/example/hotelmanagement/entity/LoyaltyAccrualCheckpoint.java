@@ -0,0 +1,50 @@
+package com.example.hotelmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Highest journal sequence of an instance whose loyalty accruals are applied to {@code guests}. Updated in
+ * the same transaction as the points, so replaying the journal after a crash never applies an accrual twice.
+ */
+@Entity
+@Table(name = "loyalty_accrual_checkpoints")
+public class LoyaltyAccrualCheckpoint {
+
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Column(name = "applied_sequence", nullable = false)
+    private Long appliedSequence;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected LoyaltyAccrualCheckpoint() {
+    }
+
+    public LoyaltyAccrualCheckpoint(String nodeId) {
+        this.nodeId = nodeId;
+        this.appliedSequence = 0L;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void advanceTo(long sequence) {
+        this.appliedSequence = sequence;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
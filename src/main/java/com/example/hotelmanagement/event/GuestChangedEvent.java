@@ -0,0 +1,32 @@
+package com.example.hotelmanagement.event;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import com.example.hotelmanagement.entity.Guest;
+
+/**
+ * Published by the service layer whenever a guest row is created, updated or deleted.
+ * Listeners that keep derived state (caches, indexes) should react after commit.
+ *
+ * @param type     kind of mutation
+ * @param guest    the guest entity after the mutation
+ * @param response the mapped response, or {@code null} when the guest was deleted
+ * @param previous the searchable fields before an update, or {@code null} when not known; listeners that
+ *                 must tell which results a guest dropped out of treat an unknown previous state as "anything"
+ */
+public record GuestChangedEvent(ChangeType type, Guest guest, GuestResponse response, GuestSummaryResponse previous) {
+
+    public GuestChangedEvent(ChangeType type, Guest guest, GuestResponse response) {
+        this(type, guest, response, null);
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public Long guestId() {
+        return guest.getId();
+    }
+}
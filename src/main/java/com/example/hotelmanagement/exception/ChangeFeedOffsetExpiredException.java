@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.exception;
+
+public class ChangeFeedOffsetExpiredException extends RuntimeException {
+    public ChangeFeedOffsetExpiredException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.hotelmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitExceededException(String msg, HttpStatus status, long retryAfterSeconds) {
+        super(msg);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.exception;
+
+public class IndexNotReadyException extends RuntimeException {
+    public IndexNotReadyException(String msg) {
+        super(msg);
+    }
+}
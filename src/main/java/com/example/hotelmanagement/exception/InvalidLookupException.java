@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.exception;
+
+public class InvalidLookupException extends RuntimeException {
+    public InvalidLookupException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.exception;
+
+public class InvalidMergeException extends RuntimeException {
+    public InvalidMergeException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.exception;
+
+public class InvalidPatchException extends RuntimeException {
+    public InvalidPatchException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.exception;
+
+public class InvalidStayException extends RuntimeException {
+    public InvalidStayException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String msg) {
+        super(msg);
+    }
+}
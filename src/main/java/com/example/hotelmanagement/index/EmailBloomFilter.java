@@ -0,0 +1,223 @@
+package com.example.hotelmanagement.index;
+
+import com.example.hotelmanagement.dto.EmailFilterStatsResponse;
+import com.example.hotelmanagement.repository.GuestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over every email stored in the guests table, including soft-deleted rows
+ * (they still hold the unique constraint).
+ * <p>
+ * A negative answer is definite, so writes with a brand-new email skip the {@code existsByEmail}
+ * round-trip and rely on the unique constraint alone. A positive answer may be false and is
+ * confirmed against the database. Until the startup build completes every email is reported as
+ * possibly present, which keeps the old behaviour.
+ */
+@Component
+public class EmailBloomFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailBloomFilter.class);
+
+    private final GuestRepository guestRepository;
+    private final boolean enabled;
+    private final double targetFalsePositiveRate;
+    private final double growthFactor;
+    private final long minExpectedInsertions;
+    private final int rebuildBatchSize;
+
+    private volatile Bits current;
+    private volatile Bits building;
+
+    private final LongAdder skippedChecks = new LongAdder();
+    private final LongAdder confirmedPresent = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public EmailBloomFilter(GuestRepository guestRepository,
+                            @Value("${guest.email-filter.enabled:true}") boolean enabled,
+                            @Value("${guest.email-filter.false-positive-rate:0.01}") double targetFalsePositiveRate,
+                            @Value("${guest.email-filter.growth-factor:2.0}") double growthFactor,
+                            @Value("${guest.email-filter.min-expected-insertions:100000}") long minExpectedInsertions,
+                            @Value("${guest.email-filter.rebuild-batch-size:50000}") int rebuildBatchSize) {
+        this.guestRepository = guestRepository;
+        this.enabled = enabled;
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+        this.growthFactor = growthFactor;
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * @return {@code false} only if the email is definitely not stored
+     */
+    public boolean mightContain(String email) {
+        Bits bits = current;
+        if (bits == null) {
+            return true;
+        }
+        boolean result = bits.mightContain(normalize(email));
+        if (!result) {
+            skippedChecks.increment();
+        }
+        return result;
+    }
+
+    public void put(String email) {
+        String normalized = normalize(email);
+        // Read the filter under construction first: rebuild() publishes it as current before clearing it
+        Bits next = building;
+        Bits bits = current;
+        if (next != null && next != bits) {
+            next.put(normalized);
+        }
+        if (bits != null) {
+            bits.put(normalized);
+        }
+    }
+
+    /**
+     * Records the database's verdict after {@link #mightContain} answered {@code true}.
+     */
+    public void recordVerified(boolean present) {
+        if (present) {
+            confirmedPresent.increment();
+        } else {
+            falsePositives.increment();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofPlatform().name("email-filter-rebuild").daemon().start(this::rebuild);
+    }
+
+    /**
+     * Builds a filter sized from the current row count and swaps it in.
+     * Emails written while the build runs are added to both filters.
+     */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        try {
+            long rows = guestRepository.count();
+            long expected = Math.max(minExpectedInsertions, (long) (rows * growthFactor));
+            Bits next = new Bits(expected, targetFalsePositiveRate);
+            building = next;
+
+            long afterId = 0;
+            List<EmailEntry> batch;
+            do {
+                batch = guestRepository.findEmailEntriesAfter(afterId, Limit.of(rebuildBatchSize));
+                for (EmailEntry entry : batch) {
+                    next.put(normalize(entry.email()));
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == rebuildBatchSize);
+
+            current = next;
+            building = null;
+            skippedChecks.reset();
+            confirmedPresent.reset();
+            falsePositives.reset();
+            log.info("Email filter built for {} rows: {} bits, {} hashes, {} KB in {} ms",
+                    rows, next.bitCount, next.hashCount, next.bitCount / 8 / 1024, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            building = null;
+            log.error("Email filter build failed, email checks will keep using the database", ex);
+        }
+    }
+
+    public EmailFilterStatsResponse stats() {
+        Bits bits = current;
+        if (bits == null) {
+            return new EmailFilterStatsResponse(false, 0, 0, 0, 0, targetFalsePositiveRate, 0.0,
+                    skippedChecks.sum(), confirmedPresent.sum(), falsePositives.sum());
+        }
+        long inserted = bits.insertions.sum();
+        // Standard estimate (1 - e^(-kn/m))^k for the current fill level
+        double estimated = Math.pow(1 - Math.exp(-(double) bits.hashCount * inserted / bits.bitCount), bits.hashCount);
+        return new EmailFilterStatsResponse(true, bits.expectedInsertions, inserted, bits.bitCount, bits.hashCount,
+                targetFalsePositiveRate, estimated, skippedChecks.sum(), confirmedPresent.sum(), falsePositives.sum());
+    }
+
+    // MySQL's default collation compares emails case-insensitively
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Bits {
+        final long expectedInsertions;
+        final long bitCount;
+        final int hashCount;
+        final AtomicLongArray words;
+        final LongAdder insertions = new LongAdder();
+
+        Bits(long expectedInsertions, double falsePositiveRate) {
+            this.expectedInsertions = expectedInsertions;
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+            this.bitCount = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+            this.words = new AtomicLongArray(words);
+        }
+
+        boolean mightContain(String value) {
+            long h1 = hash(value, 0x9E3779B97F4A7C15L);
+            long h2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(String value) {
+            long h1 = hash(value, 0x9E3779B97F4A7C15L);
+            long h2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(index);
+                    if ((word & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(index, word, word | mask));
+            }
+            insertions.increment();
+        }
+
+        // FNV-1a over UTF-16 code units followed by the murmur3 finalizer for good bit spread
+        private static long hash(String value, long seed) {
+            long h = 0xCBF29CE484222325L ^ seed;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001B3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
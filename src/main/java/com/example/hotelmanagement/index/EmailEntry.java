@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.index;
+
+/**
+ * Id and email of a guest row, as loaded by the email filter build.
+ */
+public record EmailEntry(Long id, String email) {
+}
@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.index;
+
+/**
+ * The subset of guest columns covered by keyword search.
+ */
+public record GuestSearchDocument(Long id, String firstName, String lastName, String email, String phone) {
+}
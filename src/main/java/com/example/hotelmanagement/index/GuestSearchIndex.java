@@ -0,0 +1,334 @@
+package com.example.hotelmanagement.index;
+
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.repository.GuestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram inverted index over first name, last name, email and phone of active guests.
+ * <p>
+ * A substring query is answered by intersecting the posting lists of the keyword's trigrams and
+ * verifying each candidate against the stored field values, so results match the
+ * {@code LOWER(col) LIKE '%kw%'} semantics of {@code GuestRepository.searchGuests} without a table scan.
+ * Keywords shorter than three characters cannot be served and the caller falls back to the database.
+ */
+@Component
+public class GuestSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(GuestSearchIndex.class);
+
+    private static final int GRAM = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    // HashMap node, boxed Long key and table slot, with compressed oops
+    private static final long MAP_ENTRY_BYTES = 56;
+    // String[4] of a document
+    private static final long FIELDS_ARRAY_BYTES = 32;
+    // String object plus its byte[] header; the Latin-1 bytes are added per field
+    private static final long STRING_BYTES = 40;
+    private static final long POSTING_LIST_BYTES = 24;
+
+    private final GuestRepository guestRepository;
+    private final boolean enabled;
+    private final int rebuildBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    // Guards the rebuild against overwriting fresher data applied from change events
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public GuestSearchIndex(GuestRepository guestRepository,
+                            @Value("${guest.search.index.enabled:true}") boolean enabled,
+                            @Value("${guest.search.index.rebuild-batch-size:10000}") int rebuildBatchSize) {
+        this.guestRepository = guestRepository;
+        this.enabled = enabled;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the ids of all active guests matching the keyword in ascending id order,
+     * or {@code null} when the index cannot answer the query.
+     */
+    public long[] search(String keyword) {
+        if (!ready || keyword == null) {
+            return null;
+        }
+        String needle = normalize(keyword);
+        if (needle.length() < GRAM || needle.indexOf('%') >= 0 || needle.indexOf('_') >= 0) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = postingListsFor(needle);
+            if (lists == null) {
+                return new long[0];
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+            return intersectAndVerify(lists, needle);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onGuestChanged(GuestChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Guest guest = event.guest();
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                touchedDuringRebuild.add(guest.getId());
+            }
+            if (event.type() == GuestChangedEvent.ChangeType.DELETED || Boolean.TRUE.equals(guest.getIsDeleted())) {
+                removeDocument(guest.getId());
+            } else {
+                putDocument(new GuestSearchDocument(guest.getId(), guest.getFirstName(), guest.getLastName(),
+                        guest.getEmail(), guest.getPhone()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofPlatform().name("guest-search-index-rebuild").daemon().start(this::rebuild);
+    }
+
+    /**
+     * Reloads the whole index from the database in id order, batch by batch.
+     * Searches fall back to the database until the rebuild completes.
+     */
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuilding = true;
+            touchedDuringRebuild.clear();
+            documents.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long afterId = 0;
+            List<GuestSearchDocument> batch;
+            do {
+                batch = guestRepository.findSearchDocumentsAfter(afterId, Limit.of(rebuildBatchSize));
+                lock.writeLock().lock();
+                try {
+                    for (GuestSearchDocument document : batch) {
+                        if (!touchedDuringRebuild.contains(document.id())) {
+                            putDocument(document);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == rebuildBatchSize);
+
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                touchedDuringRebuild.clear();
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Guest search index rebuilt: {} documents, {} trigrams, ~{} MB in {} ms",
+                    documents.size(), postings.size(), memoryBytes() / (1024 * 1024),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            rebuilding = false;
+            log.error("Guest search index rebuild failed, searches will use the database", ex);
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimated heap held by the index in bytes. Walks every document and posting list, so it is meant for
+     * status pages and logs, not for hot paths.
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (String[] fields : documents.values()) {
+                bytes += MAP_ENTRY_BYTES + FIELDS_ARRAY_BYTES;
+                for (String field : fields) {
+                    bytes += STRING_BYTES + (field.length() + 7L & ~7L);
+                }
+            }
+            for (PostingList list : postings.values()) {
+                bytes += MAP_ENTRY_BYTES + POSTING_LIST_BYTES + list.memoryBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PostingList[] postingListsFor(String needle) {
+        long[] grams = distinctGrams(needle);
+        PostingList[] lists = new PostingList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            PostingList list = postings.get(grams[i]);
+            if (list == null || list.size() == 0) {
+                return null;
+            }
+            lists[i] = list;
+        }
+        return lists;
+    }
+
+    private long[] intersectAndVerify(PostingList[] lists, String needle) {
+        PostingList smallest = lists[0];
+        int[] cursors = new int[lists.length];
+        long[] result = new long[Math.min(smallest.size(), 1024)];
+        int count = 0;
+
+        outer:
+        for (int i = 0; i < smallest.size(); i++) {
+            long id = smallest.get(i);
+            for (int l = 1; l < lists.length; l++) {
+                int pos = lists[l].seek(id, cursors[l]);
+                cursors[l] = pos;
+                if (pos == lists[l].size()) {
+                    break outer;
+                }
+                if (lists[l].get(pos) != id) {
+                    continue outer;
+                }
+            }
+            if (matches(documents.get(id), needle)) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, Math.min(smallest.size(), result.length * 2));
+                }
+                result[count++] = id;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static boolean matches(String[] fields, String needle) {
+        if (fields == null) {
+            return false;
+        }
+        for (String field : fields) {
+            if (field.contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void putDocument(GuestSearchDocument document) {
+        removeDocument(document.id());
+        String[] fields = {
+                normalize(document.firstName()),
+                normalize(document.lastName()),
+                normalize(document.email()),
+                normalize(document.phone())
+        };
+        documents.put(document.id(), fields);
+        for (long gram : gramsOf(fields)) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(document.id());
+        }
+    }
+
+    private void removeDocument(Long id) {
+        String[] fields = documents.remove(id);
+        if (fields == null) {
+            return;
+        }
+        for (long gram : gramsOf(fields)) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static long[] gramsOf(String[] fields) {
+        List<Long> grams = new ArrayList<>();
+        for (String field : fields) {
+            for (long gram : distinctGrams(field)) {
+                grams.add(gram);
+            }
+        }
+        return grams.stream().mapToLong(Long::longValue).distinct().toArray();
+    }
+
+    private static long[] distinctGrams(String text) {
+        if (text.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    /**
+     * Lower-cases and strips diacritics so matching follows MySQL's accent-insensitive collation.
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("")
+                .replace('\u0111', 'd')
+                .replace('\u0110', 'D')
+                .toLowerCase(Locale.ROOT);
+    }
+}
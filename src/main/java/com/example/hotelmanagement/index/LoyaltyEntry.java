@@ -0,0 +1,7 @@
+package com.example.hotelmanagement.index;
+
+/**
+ * Id and loyalty points of an active guest, as loaded by the loyalty index rebuild.
+ */
+public record LoyaltyEntry(Long id, Integer loyaltyPoints) {
+}
@@ -0,0 +1,218 @@
+package com.example.hotelmanagement.index;
+
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.repository.GuestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranking of active guests by loyalty points (highest first, ties broken by id).
+ * <p>
+ * Backed by an order-statistic treap, so top-N costs O(log n + N) and rank-of-guest and
+ * "guests with at least X points" cost O(log n). Kept in sync from {@link GuestChangedEvent}
+ * after commit and rebuilt from the repository on startup.
+ */
+@Component
+public class LoyaltyRankIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyRankIndex.class);
+
+    // HashMap entry plus boxed Long key and Integer value
+    private static final long POINTS_ENTRY_BYTES = 32 + 16 + 16;
+
+    public record RankedGuest(long id, int loyaltyPoints, int rank) {
+    }
+
+    private final GuestRepository guestRepository;
+    private final boolean enabled;
+    private final int rebuildBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OrderStatisticTreap tree = new OrderStatisticTreap();
+    private final Map<Long, Integer> pointsById = new HashMap<>();
+
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public LoyaltyRankIndex(GuestRepository guestRepository,
+                            @Value("${guest.loyalty.index.enabled:true}") boolean enabled,
+                            @Value("${guest.loyalty.index.rebuild-batch-size:50000}") int rebuildBatchSize) {
+        this.guestRepository = guestRepository;
+        this.enabled = enabled;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<RankedGuest> top(int offset, int limit) {
+        List<RankedGuest> result = new ArrayList<>(Math.min(limit, 1024));
+        lock.readLock().lock();
+        try {
+            int[] rank = {offset};
+            tree.visitFrom(offset, (id, points) -> {
+                result.add(new RankedGuest(id, points, ++rank[0]));
+                return result.size() < limit;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the 1-based rank of a guest, or {@code null} when the guest is not ranked.
+     */
+    public RankedGuest rankOf(long id) {
+        lock.readLock().lock();
+        try {
+            Integer points = pointsById.get(id);
+            if (points == null) {
+                return null;
+            }
+            return new RankedGuest(id, points, tree.countBefore(points, id) + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countAtLeast(int minPoints) {
+        lock.readLock().lock();
+        try {
+            return tree.countBefore((long) minPoints - 1, Long.MIN_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimated heap held by the index in bytes.
+     */
+    public long memoryBytes() {
+        return (long) size() * (OrderStatisticTreap.NODE_BYTES + POINTS_ENTRY_BYTES);
+    }
+
+    @TransactionalEventListener
+    public void onGuestChanged(GuestChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Guest guest = event.guest();
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                touchedDuringRebuild.add(guest.getId());
+            }
+            if (event.type() == GuestChangedEvent.ChangeType.DELETED || Boolean.TRUE.equals(guest.getIsDeleted())) {
+                remove(guest.getId());
+            } else {
+                upsert(guest.getId(), guest.getLoyaltyPoints());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofPlatform().name("loyalty-index-rebuild").daemon().start(this::rebuild);
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuilding = true;
+            touchedDuringRebuild.clear();
+            tree.clear();
+            pointsById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long afterId = 0;
+            List<LoyaltyEntry> batch;
+            do {
+                batch = guestRepository.findLoyaltyEntriesAfter(afterId, Limit.of(rebuildBatchSize));
+                lock.writeLock().lock();
+                try {
+                    for (LoyaltyEntry entry : batch) {
+                        if (!touchedDuringRebuild.contains(entry.id())) {
+                            upsert(entry.id(), entry.loyaltyPoints());
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == rebuildBatchSize);
+
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                touchedDuringRebuild.clear();
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Loyalty rank index rebuilt: {} guests, ~{} KB in {} ms",
+                    size(), memoryBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            rebuilding = false;
+            log.error("Loyalty rank index rebuild failed", ex);
+        }
+    }
+
+    private void upsert(long id, Integer loyaltyPoints) {
+        int points = loyaltyPoints == null ? 0 : loyaltyPoints;
+        Integer previous = pointsById.put(id, points);
+        if (previous != null) {
+            if (previous == points) {
+                return;
+            }
+            tree.remove(id, previous);
+        }
+        tree.insert(id, points);
+    }
+
+    private void remove(long id) {
+        Integer previous = pointsById.remove(id);
+        if (previous != null) {
+            tree.remove(id, previous);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.hotelmanagement.index;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Randomized balanced search tree over {@code (points, id)} pairs ordered by points descending,
+ * then id ascending, where every node also knows the size of its subtree. That makes rank and
+ * "how many rank above this key" queries O(log n) in addition to insert and delete.
+ * Not thread-safe; callers synchronize.
+ */
+final class OrderStatisticTreap {
+
+    // Rough per-node heap cost with compressed oops: header, long, three ints, two references
+    static final long NODE_BYTES = 48;
+
+    private static final class Node {
+        final long id;
+        final int points;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(long id, int points) {
+            this.id = id;
+            this.points = points;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        /**
+         * @return {@code false} to stop the traversal
+         */
+        boolean visit(long id, int points);
+    }
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    void insert(long id, int points) {
+        Node node = new Node(id, points);
+        Node[] parts = split(root, points, id);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    void remove(long id, int points) {
+        root = remove(root, id, points);
+    }
+
+    /**
+     * Number of entries ordered strictly before {@code (points, id)}.
+     */
+    int countBefore(long points, long id) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(node.points, node.id, points, id) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Visits entries in rank order, starting at the 0-based position {@code offset}.
+     */
+    void visitFrom(int offset, Visitor visitor) {
+        visitFrom(root, offset, visitor);
+    }
+
+    private boolean visitFrom(Node node, int offset, Visitor visitor) {
+        if (node == null) {
+            return true;
+        }
+        int leftSize = size(node.left);
+        if (offset < leftSize && !visitFrom(node.left, offset, visitor)) {
+            return false;
+        }
+        if (offset <= leftSize && !visitor.visit(node.id, node.points)) {
+            return false;
+        }
+        return visitFrom(node.right, Math.max(0, offset - leftSize - 1), visitor);
+    }
+
+    private Node remove(Node node, long id, int points) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(points, id, node.points, node.id);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, id, points);
+        } else {
+            node.right = remove(node.right, id, points);
+        }
+        update(node);
+        return node;
+    }
+
+    // Splits into (keys before (points, id), keys at or after it)
+    private Node[] split(Node node, int points, long id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node.points, node.id, points, id) < 0) {
+            Node[] parts = split(node.right, points, id);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, points, id);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int compare(long pointsA, long idA, long pointsB, long idB) {
+        if (pointsA != pointsB) {
+            return pointsA > pointsB ? -1 : 1;
+        }
+        return Long.compare(idA, idB);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
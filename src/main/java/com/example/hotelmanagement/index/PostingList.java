@@ -0,0 +1,76 @@
+package com.example.hotelmanagement.index;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable array of guest ids. Ids are mostly appended in increasing order,
+ * so inserts usually hit the fast path at the end of the array.
+ */
+final class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    void add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    boolean remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the position of the first id that is {@code >= id}, searching from {@code from}.
+     * Uses galloping so intersecting a short list with a long one stays cheap.
+     */
+    int seek(long id, int from) {
+        if (from >= size) {
+            return size;
+        }
+        int bound = 1;
+        while (from + bound < size && ids[from + bound] < id) {
+            bound <<= 1;
+        }
+        int lo = from + (bound >> 1);
+        int hi = Math.min(from + bound + 1, size);
+        int pos = Arrays.binarySearch(ids, lo, hi, id);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    long memoryBytes() {
+        return 16L + 8L * ids.length;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+        }
+    }
+}
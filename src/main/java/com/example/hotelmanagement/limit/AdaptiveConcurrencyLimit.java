@@ -0,0 +1,109 @@
+package com.example.hotelmanagement.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that follows latency, in the manner of TCP Vegas. The fastest latency seen is taken
+ * as the no-load baseline; {@code limit * (1 - baseline / latency)} then estimates how many requests are
+ * queueing somewhere below us (pool, database). While that queue stays short the limit grows, when it
+ * builds up the limit shrinks, and a failed or overloaded request cuts it multiplicatively.
+ * <p>
+ * The baseline is re-measured every {@code probeInterval} limits' worth of samples, so it can rise when the
+ * data grows instead of pinning the limit to a latency the endpoint can no longer reach.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int probeInterval;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private long noLoadNanos = Long.MAX_VALUE;
+    private long samplesUntilProbe;
+    private double smoothedNanos;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, int probeInterval) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeInterval = probeInterval;
+        this.estimatedLimit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+        this.samplesUntilProbe = (long) probeInterval * limit;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit taken by {@link #tryAcquire()} and feeds the request's latency into the limit.
+     *
+     * @param dropped whether the request failed in a way that signals overload, such as a 503
+     */
+    void release(long latencyNanos, boolean dropped) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        update(latencyNanos, inFlightAtEnd, dropped);
+    }
+
+    /**
+     * Returns a permit without a latency sample, for a request that was admitted here but refused further on.
+     */
+    void abandon() {
+        inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    synchronized long smoothedLatencyNanos() {
+        return (long) smoothedNanos;
+    }
+
+    private synchronized void update(long latencyNanos, int inFlightAtEnd, boolean dropped) {
+        smoothedNanos = smoothedNanos == 0 ? latencyNanos : smoothedNanos * 0.9 + latencyNanos * 0.1;
+        if (--samplesUntilProbe <= 0) {
+            noLoadNanos = latencyNanos;
+            samplesUntilProbe = (long) probeInterval * limit;
+        } else if (latencyNanos < noLoadNanos) {
+            noLoadNanos = latencyNanos;
+        }
+
+        double current = estimatedLimit;
+        double step = Math.max(1, Math.log10(current));
+        if (dropped) {
+            current *= BACKOFF_RATIO;
+        } else if (inFlightAtEnd * 2 < current) {
+            // Not using the limit we have, so latency says nothing about whether a higher one would hold
+            return;
+        } else {
+            double queue = current * (1 - (double) noLoadNanos / Math.max(latencyNanos, 1));
+            if (queue <= step) {
+                current += 6 * step;
+            } else if (queue < 3 * step) {
+                current += step;
+            } else if (queue > 6 * step) {
+                current -= step;
+            }
+        }
+        estimatedLimit = Math.clamp(current, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+}
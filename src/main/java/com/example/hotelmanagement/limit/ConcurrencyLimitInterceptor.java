@@ -0,0 +1,52 @@
+package com.example.hotelmanagement.limit;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Admits guest API requests through {@link EndpointBulkheads}. A rejection is thrown from
+ * {@code preHandle}, before the controller runs or a connection is taken, and reported by the API as
+ * 429 or 503 with Retry-After.
+ * <p>
+ * Async requests such as streamed exports keep their permit until the async dispatch completes, since
+ * they keep using the database after the servlet thread is released.
+ */
+@Component
+@ConditionalOnProperty(name = "guest.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final EndpointBulkheads bulkheads;
+
+    public ConcurrencyLimitInterceptor(EndpointBulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC && request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return true;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, bulkheads.acquire(request.getMethod(), pattern.toString()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof EndpointBulkheads.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            // 503s from the connection guard and timeouts are what the limit has to back off from
+            permit.release(ex != null || response.getStatus() >= 500);
+        }
+    }
+}
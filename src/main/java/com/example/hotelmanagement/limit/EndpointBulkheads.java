@@ -0,0 +1,155 @@
+package com.example.hotelmanagement.limit;
+
+import com.example.hotelmanagement.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * One bulkhead per endpoint, each with its own {@link AdaptiveConcurrencyLimit}, so a burst on one endpoint
+ * only ever fills its own bulkhead.
+ * <p>
+ * Writes and the endpoints listed in {@code priority-endpoints} are limited by their bulkhead alone. All
+ * other endpoints (searches, listings, exports) additionally share {@code low-priority-max-in-flight} slots,
+ * which keeps them from taking more than that many pooled connections between them and leaves the rest
+ * of the pool to the front desk.
+ * <p>
+ * A request over its endpoint's limit gets 429; a low-priority request refused a shared slot gets 503.
+ * Both carry Retry-After.
+ */
+@Component
+public class EndpointBulkheads {
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> priorityEndpoints;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int probeInterval;
+    private final Semaphore lowPrioritySlots;
+
+    private final ConcurrentHashMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public EndpointBulkheads(MeterRegistry meterRegistry,
+                             @Value("${guest.concurrency.priority-endpoints:GET /api/v1/guests/{id},GET /api/v1/guests/batch}") List<String> priorityEndpoints,
+                             @Value("${guest.concurrency.initial-limit:20}") int initialLimit,
+                             @Value("${guest.concurrency.min-limit:2}") int minLimit,
+                             @Value("${guest.concurrency.max-limit:200}") int maxLimit,
+                             @Value("${guest.concurrency.probe-interval:100}") int probeInterval,
+                             @Value("${guest.concurrency.low-priority-max-in-flight:10}") int lowPriorityMaxInFlight) {
+        this.meterRegistry = meterRegistry;
+        this.priorityEndpoints = Set.copyOf(priorityEndpoints.stream().map(String::trim).toList());
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeInterval = probeInterval;
+        this.lowPrioritySlots = new Semaphore(lowPriorityMaxInFlight);
+
+        Gauge.builder("guest.concurrency.low-priority.in-flight", lowPrioritySlots,
+                        slots -> lowPriorityMaxInFlight - slots.availablePermits())
+                .description("Low-priority requests holding a shared slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a request to the endpoint or throws {@link ConcurrencyLimitExceededException}.
+     *
+     * @param method HTTP method of the request
+     * @param pattern the matched request mapping, e.g. {@code /api/v1/guests/{id}}
+     */
+    public Permit acquire(String method, String pattern) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(method + " " + pattern, this::newBulkhead);
+        if (!bulkhead.limit.tryAcquire()) {
+            bulkhead.rejectedByLimit.increment();
+            throw new ConcurrencyLimitExceededException("Too many concurrent requests to " + bulkhead.name + ", please retry",
+                    HttpStatus.TOO_MANY_REQUESTS, bulkhead.retryAfterSeconds());
+        }
+        if (!bulkhead.priority && !lowPrioritySlots.tryAcquire()) {
+            bulkhead.limit.abandon();
+            bulkhead.rejectedByPriority.increment();
+            throw new ConcurrencyLimitExceededException("Server is busy with priority requests, please retry",
+                    HttpStatus.SERVICE_UNAVAILABLE, bulkhead.retryAfterSeconds());
+        }
+        bulkhead.admitted.increment();
+        return new Permit(bulkhead, System.nanoTime());
+    }
+
+    private Bulkhead newBulkhead(String name) {
+        boolean priority = !name.startsWith("GET ") || priorityEndpoints.contains(name);
+        return new Bulkhead(name, priority,
+                new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, probeInterval), meterRegistry);
+    }
+
+    public final class Permit {
+        private final Bulkhead bulkhead;
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(Bulkhead bulkhead, long startNanos) {
+            this.bulkhead = bulkhead;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * @param dropped whether the request ended in a way that signals overload, such as a 5xx status
+         */
+        public synchronized void release(boolean dropped) {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (!bulkhead.priority) {
+                lowPrioritySlots.release();
+            }
+            bulkhead.limit.release(System.nanoTime() - startNanos, dropped);
+        }
+    }
+
+    private static final class Bulkhead {
+        private final String name;
+        private final boolean priority;
+        private final AdaptiveConcurrencyLimit limit;
+        private final Counter admitted;
+        private final Counter rejectedByLimit;
+        private final Counter rejectedByPriority;
+
+        private Bulkhead(String name, boolean priority, AdaptiveConcurrencyLimit limit, MeterRegistry registry) {
+            this.name = name;
+            this.priority = priority;
+            this.limit = limit;
+            this.admitted = counter(registry, "admitted");
+            this.rejectedByLimit = counter(registry, "rejected_limit");
+            this.rejectedByPriority = counter(registry, "rejected_priority");
+            Gauge.builder("guest.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                    .description("Current adaptive concurrency limit of the endpoint")
+                    .tag("endpoint", name)
+                    .register(registry);
+            Gauge.builder("guest.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                    .description("Requests currently admitted to the endpoint")
+                    .tag("endpoint", name)
+                    .register(registry);
+        }
+
+        private Counter counter(MeterRegistry registry, String outcome) {
+            return Counter.builder("guest.concurrency.requests")
+                    .description("Requests admitted to or rejected by the endpoint bulkheads")
+                    .tag("endpoint", name)
+                    .tag("priority", priority ? "high" : "low")
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+
+        // About one typical request time, so a retry lands after the current requests have drained
+        private long retryAfterSeconds() {
+            return Math.max(1, (limit.smoothedLatencyNanos() + 999_999_999) / 1_000_000_000);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.hotelmanagement.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application {@link DataSource} in a {@link MeteredDataSource}. {@link SqlMetrics} is
+ * resolved lazily because post-processors are created before regular beans.
+ */
+@Component
+public class DataSourceMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlMetrics> sqlMetrics;
+
+    public DataSourceMetricsPostProcessor(ObjectProvider<SqlMetrics> sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof MeteredDataSource)) {
+            return new MeteredDataSource(dataSource, sqlMetrics.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.hotelmanagement.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the pool so every statement it hands out reports its execution time to {@link SqlMetrics}.
+ * Only the execute calls are timed; result-set iteration is not. Extending
+ * {@link DelegatingDataSource} keeps the pool reachable for Hikari's own metrics.
+ */
+public class MeteredDataSource extends DelegatingDataSource {
+
+    private final SqlMetrics sqlMetrics;
+
+    public MeteredDataSource(DataSource target, SqlMetrics sqlMetrics) {
+        super(target);
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            if (result instanceof CallableStatement statement) {
+                return proxy(statement, CallableStatement.class, sql);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(statement, PreparedStatement.class, sql);
+            }
+            if (result instanceof Statement statement) {
+                return proxy(statement, Statement.class, null);
+            }
+            return result;
+        }
+
+        private Object proxy(Statement statement, Class<? extends Statement> type, String sql) {
+            return Proxy.newProxyInstance(MeteredDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private int batched;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batched++;
+            }
+            if (!name.startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                sql = "[batch of " + batched + "] " + sql;
+                batched = 0;
+            }
+            long started = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invokeTarget(target, method, args);
+                failed = false;
+                return result;
+            } finally {
+                sqlMetrics.record(sql, System.nanoTime() - started, failed);
+            }
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
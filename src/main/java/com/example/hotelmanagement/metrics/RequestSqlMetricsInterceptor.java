@@ -0,0 +1,43 @@
+package com.example.hotelmanagement.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Collects JDBC statement counts and database time for each request and publishes them per endpoint.
+ * Work done on other threads, such as streamed exports, is only visible in the global statement timer.
+ */
+@Component
+public class RequestSqlMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final SqlMetrics sqlMetrics;
+
+    public RequestSqlMetricsInterceptor(SqlMetrics sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        sqlMetrics.begin();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlMetrics.RequestStats stats = sqlMetrics.end();
+        if (stats == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        sqlMetrics.recordRequest(request.getMethod(), pattern == null ? "UNKNOWN" : pattern.toString(), stats);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The servlet thread is released here and afterCompletion will not run on it
+        sqlMetrics.end();
+    }
+}
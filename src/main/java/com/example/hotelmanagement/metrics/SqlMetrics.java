@@ -0,0 +1,115 @@
+package com.example.hotelmanagement.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every JDBC statement executed through {@link MeteredDataSource}: a global timer, per-request
+ * statement counts and database time, and a sampled structured log line for statements slower than
+ * {@code guest.sql.slow-threshold}. Replaces {@code spring.jpa.show-sql}, which printed every statement.
+ */
+@Component
+public class SqlMetrics {
+
+    // Dedicated logger so slow queries can be routed or silenced independently
+    private static final Logger slowLog = LoggerFactory.getLogger("sql.slow");
+
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+    private final Timer statementTimer;
+    private final long slowThresholdNanos;
+    private final double slowSampleRate;
+    private final int maxLoggedSqlLength;
+
+    public SqlMetrics(MeterRegistry registry,
+                      @Value("${guest.sql.slow-threshold:PT0.2S}") Duration slowThreshold,
+                      @Value("${guest.sql.slow-sample-rate:1.0}") double slowSampleRate,
+                      @Value("${guest.sql.max-logged-length:500}") int maxLoggedSqlLength) {
+        this.registry = registry;
+        this.statementTimer = Timer.builder("guest.db.statement")
+                .description("JDBC statement execution time")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowSampleRate = slowSampleRate;
+        this.maxLoggedSqlLength = maxLoggedSqlLength;
+    }
+
+    /**
+     * Statement count and database time accumulated by the current thread since {@link #begin()}.
+     */
+    public static final class RequestStats {
+        private int statements;
+        private long nanos;
+
+        public int statements() {
+            return statements;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+    }
+
+    public void begin() {
+        CURRENT.set(new RequestStats());
+    }
+
+    /**
+     * Stops collecting for the current thread and returns what was collected, or {@code null}.
+     */
+    public RequestStats end() {
+        RequestStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void record(String sql, long nanos, boolean failed) {
+        statementTimer.record(nanos, TimeUnit.NANOSECONDS);
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += nanos;
+        }
+        if (nanos >= slowThresholdNanos && (slowSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < slowSampleRate)) {
+            slowLog.warn("slow_query duration_ms={} failed={} statement_index={} sql=\"{}\"",
+                    nanos / 1_000_000, failed, stats == null ? -1 : stats.statements, abbreviate(sql));
+        }
+    }
+
+    /**
+     * Publishes per-request database usage tagged with the matched URI pattern.
+     */
+    public void recordRequest(String method, String uri, RequestStats stats) {
+        DistributionSummary.builder("guest.db.request.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.statements);
+        Timer.builder("guest.db.request.time")
+                .description("Total JDBC execution time per HTTP request")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String abbreviate(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String flat = sql.replaceAll("\\s+", " ").replace("\"", "'").trim();
+        return flat.length() <= maxLoggedSqlLength ? flat : flat.substring(0, maxLoggedSqlLength) + "...";
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.hotelmanagement.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+/**
+ * Startup phases measured from JVM start, published as {@code guest.startup.time{phase}} and logged once
+ * the first API request has been answered:
+ * <ul>
+ *   <li>{@code started}: context refreshed, before runners</li>
+ *   <li>{@code ready}: runners done, accepting traffic</li>
+ *   <li>{@code first-request}: the first {@code /api} request completed, i.e. time-to-first-request</li>
+ * </ul>
+ * The steps inside the refresh are listed by {@code /actuator/startup}.
+ */
+@Component
+public class StartupMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupMetrics.class);
+
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+    private volatile long startedMillis = -1;
+    private volatile long readyMillis = -1;
+    private volatile long firstRequestMillis = -1;
+
+    public StartupMetrics(MeterRegistry meterRegistry) {
+        register(meterRegistry, "started", metrics -> metrics.startedMillis);
+        register(meterRegistry, "ready", metrics -> metrics.readyMillis);
+        register(meterRegistry, "first-request", metrics -> metrics.firstRequestMillis);
+    }
+
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) {
+        startedMillis = uptimeMillis();
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        readyMillis = uptimeMillis();
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestSeen.get() || !event.getRequestUrl().startsWith("/api/")
+                || !firstRequestSeen.compareAndSet(false, true)) {
+            return;
+        }
+        firstRequestMillis = uptimeMillis();
+        log.info("Startup: context started after {} ms, ready after {} ms, first request served after {} ms",
+                startedMillis, readyMillis, firstRequestMillis);
+    }
+
+    private void register(MeterRegistry registry, String phase, ToLongFunction<StartupMetrics> value) {
+        Gauge.builder("guest.startup.time", this, metrics -> {
+                    long millis = value.applyAsLong(metrics);
+                    return millis < 0 ? Double.NaN : millis / 1000.0;
+                })
+                .description("Seconds from JVM start until the startup phase was reached")
+                .baseUnit("seconds")
+                .tag("phase", phase)
+                .register(registry);
+    }
+
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.hotelmanagement.outbox;
+
+import com.example.hotelmanagement.dto.GuestChangeFeedResponse;
+import com.example.hotelmanagement.dto.GuestChangeResponse;
+import com.example.hotelmanagement.entity.GuestOutboxEvent;
+import com.example.hotelmanagement.exception.ChangeFeedOffsetExpiredException;
+import com.example.hotelmanagement.repository.GuestOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves the outbox as a change feed, by long-poll or server-sent events, resuming after any position.
+ * <p>
+ * Every {@code relay-interval} the feed numbers newly committed events and then looks up the head position,
+ * which also picks up events numbered by other instances. Long-polls waiting behind the head are answered,
+ * and each stream that is behind gets its missing events sent from a virtual thread, so one slow client
+ * never holds up the others or the relay.
+ */
+@Component
+public class GuestChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(GuestChangeFeed.class);
+
+    private final GuestOutboxRepository outboxRepository;
+    private final GuestOutboxRelay relay;
+    private final boolean enabled;
+    private final int pageSize;
+    private final Duration maxWait;
+    private final Duration streamTimeout;
+    private final Duration heartbeatInterval;
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private volatile long head;
+    private volatile long purgedThrough;
+
+    public GuestChangeFeed(GuestOutboxRepository outboxRepository,
+                           GuestOutboxRelay relay,
+                           MeterRegistry meterRegistry,
+                           @Value("${guest.outbox.enabled:true}") boolean enabled,
+                           @Value("${guest.outbox.page-size:500}") int pageSize,
+                           @Value("${guest.outbox.max-wait:PT30S}") Duration maxWait,
+                           @Value("${guest.outbox.stream-timeout:PT30M}") Duration streamTimeout,
+                           @Value("${guest.outbox.heartbeat-interval:PT15S}") Duration heartbeatInterval) {
+        this.outboxRepository = outboxRepository;
+        this.relay = relay;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.maxWait = maxWait;
+        this.streamTimeout = streamTimeout;
+        this.heartbeatInterval = heartbeatInterval;
+
+        meterRegistry.gauge("guest.outbox.subscribers", subscribers, List::size);
+        meterRegistry.gauge("guest.outbox.waiters", waiters, Queue::size);
+        meterRegistry.gauge("guest.outbox.head", this, feed -> feed.head);
+    }
+
+    @PostConstruct
+    public void init() {
+        Long max = outboxRepository.findMaxPosition();
+        head = max == null ? 0 : max;
+        purgedThrough = relay.purgedThrough();
+    }
+
+    public long head() {
+        return head;
+    }
+
+    /**
+     * Changes after the offset, or after the current head when it is {@code null}. When there are none yet,
+     * the result completes as soon as one is relayed or after {@code wait} with an empty page.
+     */
+    public DeferredResult<GuestChangeFeedResponse> poll(Long after, int limit, Duration wait) {
+        long offset = resolve(after);
+        int size = Math.max(1, Math.min(limit, pageSize));
+        Duration timeout = wait.isNegative() ? Duration.ZERO : (wait.compareTo(maxWait) > 0 ? maxWait : wait);
+
+        DeferredResult<GuestChangeFeedResponse> result = new DeferredResult<>(timeout.toMillis() + 1,
+                () -> new GuestChangeFeedResponse(List.of(), offset));
+        if (offset < head || timeout.isZero()) {
+            result.setResult(read(offset, size));
+            return result;
+        }
+        Waiter waiter = new Waiter(result, offset, size);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        return result;
+    }
+
+    /**
+     * Opens a stream that first replays the changes after the offset, or starts at the current head when it
+     * is {@code null}, then follows new ones. Each event carries its position as SSE id, so a reconnecting
+     * EventSource resumes by itself through Last-Event-ID.
+     */
+    public SseEmitter subscribe(Long after) {
+        long offset = resolve(after);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, offset);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        if (offset < head) {
+            deliver(subscriber);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${guest.outbox.relay-interval:PT0.2S}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            relay.positionPending();
+            Long max = outboxRepository.findMaxPosition();
+            head = max == null ? 0 : max;
+            purgedThrough = relay.purgedThrough();
+        } catch (RuntimeException ex) {
+            log.warn("Guest outbox relay failed, will retry: {}", ex.getMessage());
+            return;
+        }
+
+        long current = head;
+        for (Waiter waiter : waiters) {
+            if (waiter.after < current && waiters.remove(waiter)) {
+                senders.execute(() -> {
+                    try {
+                        waiter.result.setResult(read(waiter.after, waiter.limit));
+                    } catch (RuntimeException ex) {
+                        waiter.result.setErrorResult(ex);
+                    }
+                });
+            }
+        }
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.lastSent < current) {
+                deliver(subscriber);
+            } else if (now - subscriber.lastWriteNanos > heartbeatInterval.toNanos()) {
+                heartbeat(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    private long resolve(Long after) {
+        if (after == null) {
+            return head;
+        }
+        if (after < purgedThrough) {
+            throw new ChangeFeedOffsetExpiredException("Changes after offset " + after + " are no longer retained; " +
+                    "re-read the guests and resume from offset " + head);
+        }
+        return after;
+    }
+
+    private GuestChangeFeedResponse read(long after, int limit) {
+        List<GuestChangeResponse> changes = outboxRepository.findAfter(after, Limit.of(limit)).stream()
+                .map(GuestChangeFeed::toResponse)
+                .toList();
+        long next = changes.isEmpty() ? after : changes.get(changes.size() - 1).getPosition();
+        return new GuestChangeFeedResponse(changes, next);
+    }
+
+    private void deliver(Subscriber subscriber) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        senders.execute(() -> {
+            try {
+                List<GuestOutboxEvent> batch;
+                do {
+                    batch = outboxRepository.findAfter(subscriber.lastSent, Limit.of(pageSize));
+                    for (GuestOutboxEvent event : batch) {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.getPosition()))
+                                .name(event.getChangeType().name())
+                                .data(toResponse(event), MediaType.APPLICATION_JSON));
+                        subscriber.lastSent = event.getPosition();
+                    }
+                    subscriber.lastWriteNanos = System.nanoTime();
+                } while (batch.size() == pageSize);
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(ex);
+            } catch (RuntimeException ex) {
+                log.warn("Cannot send guest changes to a stream, will retry: {}", ex.getMessage());
+            } finally {
+                subscriber.sending.set(false);
+            }
+        });
+    }
+
+    private void heartbeat(Subscriber subscriber) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        senders.execute(() -> {
+            try {
+                // A comment line keeps proxies from closing an idle stream
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                subscriber.lastWriteNanos = System.nanoTime();
+            } catch (IOException | IllegalStateException ex) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(ex);
+            } finally {
+                subscriber.sending.set(false);
+            }
+        });
+    }
+
+    private static GuestChangeResponse toResponse(GuestOutboxEvent event) {
+        return new GuestChangeResponse(event.getPosition(), event.getGuestId(), event.getChangeType(),
+                event.getGuestVersion(), event.getOccurredAt(), event.getPayload());
+    }
+
+    private record Waiter(DeferredResult<GuestChangeFeedResponse> result, long after, int limit) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long lastSent;
+        private volatile long lastWriteNanos = System.nanoTime();
+
+        private Subscriber(SseEmitter emitter, long lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+    }
+}
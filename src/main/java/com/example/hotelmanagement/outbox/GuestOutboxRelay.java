@@ -0,0 +1,144 @@
+package com.example.hotelmanagement.outbox;
+
+import com.example.hotelmanagement.entity.GuestOutboxRelayState;
+import com.example.hotelmanagement.repository.GuestOutboxRelayStateRepository;
+import com.example.hotelmanagement.repository.GuestOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Numbers committed outbox events and purges old ones.
+ * <p>
+ * Positions are handed out under a row lock on {@code guest_outbox_relay}, so with several instances only
+ * one numbers events at a time, each batch continues where the previous one stopped, and a batch becomes
+ * visible to readers all at once when its transaction commits.
+ */
+@Component
+public class GuestOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(GuestOutboxRelay.class);
+
+    private static final String POSITION_SQL = "UPDATE guest_outbox SET feed_position = ? WHERE id = ?";
+
+    private final GuestOutboxRepository outboxRepository;
+    private final GuestOutboxRelayStateRepository stateRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    private final Counter positioned;
+    private final Counter purged;
+
+    public GuestOutboxRelay(GuestOutboxRepository outboxRepository,
+                            GuestOutboxRelayStateRepository stateRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${guest.outbox.relay-batch-size:1000}") int batchSize,
+                            @Value("${guest.outbox.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.stateRepository = stateRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+
+        this.positioned = Counter.builder("guest.outbox.events.positioned")
+                .description("Outbox events numbered for the change feed").register(meterRegistry);
+        this.purged = Counter.builder("guest.outbox.events.purged")
+                .description("Outbox events deleted after the retention period").register(meterRegistry);
+    }
+
+    /**
+     * Numbers every committed event that has no position yet.
+     *
+     * @return the highest position handed out so far
+     */
+    public long positionPending() {
+        while (true) {
+            long[] result = transactionTemplate.execute(status -> positionBatch());
+            if (result == null || result[1] < batchSize) {
+                return result == null ? 0 : result[0];
+            }
+        }
+    }
+
+    /**
+     * Position below which events may have been purged; consumers behind it have to re-read the guests.
+     */
+    public long purgedThrough() {
+        return stateRepository.findById(GuestOutboxRelayState.ID)
+                .map(GuestOutboxRelayState::getPurgedThrough)
+                .orElse(0L);
+    }
+
+    @Scheduled(cron = "${guest.outbox.purge-cron:0 0 4 * * *}")
+    public void purge() {
+        Long through = outboxRepository.findMaxPositionBefore(LocalDateTime.now().minus(retention));
+        if (through == null) {
+            return;
+        }
+        // Recorded first, so a consumer resuming from a purged offset is told so instead of silently missing events
+        Long from = transactionTemplate.execute(status -> {
+            GuestOutboxRelayState state = lockState();
+            long previous = state.getPurgedThrough();
+            if (through > previous) {
+                state.purgeThrough(through);
+            }
+            return previous;
+        });
+        long deleted = 0;
+        for (long lower = from == null ? 0 : from; lower < through; lower += batchSize) {
+            long upper = Math.min(lower + batchSize, through);
+            long start = lower;
+            Integer count = transactionTemplate.execute(status -> outboxRepository.deletePositionRange(start, upper));
+            deleted += count == null ? 0 : count;
+        }
+        purged.increment(deleted);
+        if (deleted > 0) {
+            log.info("Purged {} guest outbox events up to position {}", deleted, through);
+        }
+    }
+
+    // Returns {last position handed out, events numbered in this batch}
+    private long[] positionBatch() {
+        GuestOutboxRelayState state = lockState();
+        List<Long> ids = outboxRepository.findUnpositionedIds(Limit.of(batchSize));
+        long next = state.getLastPosition();
+        if (ids.isEmpty()) {
+            return new long[]{next, 0};
+        }
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            args.add(new Object[]{++next, id});
+        }
+        jdbcTemplate.batchUpdate(POSITION_SQL, args);
+        state.advanceTo(next);
+        positioned.increment(ids.size());
+        return new long[]{next, ids.size()};
+    }
+
+    private GuestOutboxRelayState lockState() {
+        return stateRepository.lockById(GuestOutboxRelayState.ID).orElseGet(() -> {
+            // First run against this database; an instance creating the row concurrently fails this attempt and retries
+            Long last = outboxRepository.findMaxPosition();
+            stateRepository.saveAndFlush(new GuestOutboxRelayState(last == null ? 0 : last));
+            return stateRepository.lockById(GuestOutboxRelayState.ID).orElseThrow();
+        });
+    }
+}
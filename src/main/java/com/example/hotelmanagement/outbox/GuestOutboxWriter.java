@@ -0,0 +1,89 @@
+package com.example.hotelmanagement.outbox;
+
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes every {@link GuestChangedEvent} to the {@code guest_outbox} table in the transaction that made the
+ * change, so a change is in the feed if and only if it committed. Events are collected per transaction and
+ * inserted with one JDBC batch just before commit, which keeps bulk imports and batch patches from paying a
+ * round trip per guest.
+ */
+@Component
+public class GuestOutboxWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO guest_outbox (guest_id, change_type, guest_version, payload, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final Counter written;
+
+    public GuestOutboxWriter(JdbcTemplate jdbcTemplate,
+                             JsonMapper jsonMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${guest.outbox.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        this.written = Counter.builder("guest.outbox.events.written")
+                .description("Guest changes written to the outbox").register(meterRegistry);
+    }
+
+    // Runs synchronously inside the publishing transaction, unlike the after-commit listeners of caches and indexes
+    @EventListener
+    public void onGuestChanged(GuestChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Object[] row = toRow(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INSERT_SQL, row);
+            written.increment();
+            return;
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.rows.add(row);
+    }
+
+    private Object[] toRow(GuestChangedEvent event) {
+        // Serialized now, while the response still describes this change
+        String payload = event.response() == null ? null : jsonMapper.writeValueAsString(event.response());
+        Long version = event.response() != null ? event.response().getVersion() : event.guest().getVersion();
+        return new Object[]{event.guestId(), event.type().name(), version, payload, Timestamp.valueOf(LocalDateTime.now())};
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+        private final List<Object[]> rows = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            written.increment(rows.size());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(GuestOutboxWriter.this);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.hotelmanagement.repository;
+
+import com.example.hotelmanagement.entity.GuestArchive;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GuestArchiveRepository extends JpaRepository<GuestArchive, Long> {
+
+    @Query("SELECT a.id FROM GuestArchive a WHERE a.archivedAt < :before ORDER BY a.id")
+    List<Long> findIdsArchivedBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM GuestArchive a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,20 @@
+package com.example.hotelmanagement.repository;
+
+import com.example.hotelmanagement.entity.GuestOutboxRelayState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface GuestOutboxRelayStateRepository extends JpaRepository<GuestOutboxRelayState, Integer> {
+
+    // Held for the whole relay transaction so only one instance numbers events at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM GuestOutboxRelayState s WHERE s.id = :id")
+    Optional<GuestOutboxRelayState> lockById(@Param("id") Integer id);
+}
@@ -0,0 +1,33 @@
+package com.example.hotelmanagement.repository;
+
+import com.example.hotelmanagement.entity.GuestOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface GuestOutboxRepository extends JpaRepository<GuestOutboxEvent, Long> {
+
+    // Committed events the relay has not numbered yet, in insertion order
+    @Query("SELECT e.id FROM GuestOutboxEvent e WHERE e.position IS NULL ORDER BY e.id")
+    List<Long> findUnpositionedIds(Limit limit);
+
+    @Query("SELECT e FROM GuestOutboxEvent e WHERE e.position > :after ORDER BY e.position")
+    List<GuestOutboxEvent> findAfter(@Param("after") long after, Limit limit);
+
+    @Query("SELECT MAX(e.position) FROM GuestOutboxEvent e")
+    Long findMaxPosition();
+
+    @Query("SELECT MAX(e.position) FROM GuestOutboxEvent e WHERE e.occurredAt < :cutoff")
+    Long findMaxPositionBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM GuestOutboxEvent e WHERE e.position > :from AND e.position <= :to")
+    int deletePositionRange(@Param("from") long from, @Param("to") long to);
+}
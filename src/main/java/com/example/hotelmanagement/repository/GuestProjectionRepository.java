@@ -0,0 +1,100 @@
+package com.example.hotelmanagement.repository;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import com.example.hotelmanagement.entity.Guest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only queries that select exactly the response columns instead of managed {@link Guest} entities,
+ * so list and search endpoints skip entity hydration and dirty-checking snapshots.
+ */
+@Repository
+public interface GuestProjectionRepository extends org.springframework.data.repository.Repository<Guest, Long> {
+
+    String FULL = "SELECT new com.example.hotelmanagement.dto.GuestResponse(g.id, CONCAT(g.firstName, ' ', g.lastName), " +
+                  "g.email, g.phone, g.preferences, g.stayHistory, g.loyaltyPoints, g.version)";
+    String SUMMARY = "SELECT new com.example.hotelmanagement.dto.GuestSummaryResponse(g.id, CONCAT(g.firstName, ' ', g.lastName), " +
+                     "g.email, g.phone, g.loyaltyPoints, g.version)";
+    String COUNT = "SELECT COUNT(g)";
+
+    String ACTIVE = " FROM Guest g WHERE g.isDeleted = false";
+    String BY_KEYWORD = ACTIVE + " AND " +
+                        "(LOWER(g.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                        "LOWER(g.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                        "LOWER(g.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                        "LOWER(g.phone) LIKE LOWER(CONCAT('%', :keyword, '%')))";
+    String BY_EMAIL = ACTIVE + " AND LOWER(g.email) LIKE LOWER(CONCAT('%', :email, '%'))";
+    String BY_PHONE = ACTIVE + " AND g.phone LIKE CONCAT('%', :phone, '%')";
+    String BY_LOYALTY = ACTIVE + " AND g.loyaltyPoints >= :minPoints";
+    String BY_IDS = ACTIVE + " AND g.id IN :ids";
+
+    // Offset pages
+
+    @Query(value = FULL + ACTIVE, countQuery = COUNT + ACTIVE)
+    Page<GuestResponse> findAllResponses(Pageable pageable);
+
+    @Query(value = SUMMARY + ACTIVE, countQuery = COUNT + ACTIVE)
+    Page<GuestSummaryResponse> findAllSummaries(Pageable pageable);
+
+    @Query(value = FULL + BY_KEYWORD, countQuery = COUNT + BY_KEYWORD)
+    Page<GuestResponse> searchResponses(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(value = SUMMARY + BY_KEYWORD, countQuery = COUNT + BY_KEYWORD)
+    Page<GuestSummaryResponse> searchSummaries(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(value = FULL + BY_EMAIL, countQuery = COUNT + BY_EMAIL)
+    Page<GuestResponse> findResponsesByEmail(@Param("email") String email, Pageable pageable);
+
+    @Query(value = SUMMARY + BY_EMAIL, countQuery = COUNT + BY_EMAIL)
+    Page<GuestSummaryResponse> findSummariesByEmail(@Param("email") String email, Pageable pageable);
+
+    @Query(value = FULL + BY_PHONE, countQuery = COUNT + BY_PHONE)
+    Page<GuestResponse> findResponsesByPhone(@Param("phone") String phone, Pageable pageable);
+
+    @Query(value = SUMMARY + BY_PHONE, countQuery = COUNT + BY_PHONE)
+    Page<GuestSummaryResponse> findSummariesByPhone(@Param("phone") String phone, Pageable pageable);
+
+    @Query(value = FULL + BY_LOYALTY, countQuery = COUNT + BY_LOYALTY)
+    Page<GuestResponse> findResponsesByLoyaltyPoints(@Param("minPoints") Integer minPoints, Pageable pageable);
+
+    @Query(value = SUMMARY + BY_LOYALTY, countQuery = COUNT + BY_LOYALTY)
+    Page<GuestSummaryResponse> findSummariesByLoyaltyPoints(@Param("minPoints") Integer minPoints, Pageable pageable);
+
+    // Lookups by id, e.g. for a page of ids resolved by the search index (order is not preserved)
+
+    @Query(FULL + BY_IDS)
+    List<GuestResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY + BY_IDS)
+    List<GuestSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset slices; callers pass size + 1 as the limit to detect a following slice
+
+    @Query(FULL + ACTIVE + " AND g.id > :afterId ORDER BY g.id")
+    List<GuestResponse> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(FULL + BY_KEYWORD + " AND g.id > :afterId ORDER BY g.id")
+    List<GuestResponse> searchResponsesAfter(@Param("keyword") String keyword, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(FULL + BY_EMAIL + " AND g.id > :afterId ORDER BY g.id")
+    List<GuestResponse> findResponsesByEmailAfter(@Param("email") String email, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(FULL + BY_PHONE + " AND g.id > :afterId ORDER BY g.id")
+    List<GuestResponse> findResponsesByPhoneAfter(@Param("phone") String phone, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(FULL + BY_LOYALTY + " AND (g.loyaltyPoints > :afterPoints OR (g.loyaltyPoints = :afterPoints AND g.id > :afterId)) " +
+           "ORDER BY g.loyaltyPoints, g.id")
+    List<GuestResponse> findResponsesByLoyaltyPointsAfter(@Param("minPoints") Integer minPoints,
+                                                          @Param("afterPoints") Integer afterPoints,
+                                                          @Param("afterId") Long afterId,
+                                                          Limit limit);
+}
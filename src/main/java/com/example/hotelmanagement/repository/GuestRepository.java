@@ -1,20 +1,45 @@
 package com.example.hotelmanagement.repository;
 
+import com.example.hotelmanagement.dedup.DedupRecord;
 import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.index.EmailEntry;
+import com.example.hotelmanagement.index.GuestSearchDocument;
+import com.example.hotelmanagement.index.LoyaltyEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GuestRepository extends JpaRepository<Guest, Long> {
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT g.email FROM Guest g WHERE g.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    List<Guest> findByEmailIn(Collection<String> emails);
+
+    // Keyset-paged scan of every stored email (deleted rows included) for the email filter
+    @Query("SELECT new com.example.hotelmanagement.index.EmailEntry(g.id, g.email) " +
+           "FROM Guest g WHERE g.id > :afterId ORDER BY g.id")
+    List<EmailEntry> findEmailEntriesAfter(@Param("afterId") Long afterId, Limit limit);
+
     Optional<Guest> findByEmailAndIsDeletedFalse(String email);
 
     Page<Guest> findAllByIsDeletedFalse(Pageable pageable);
@@ -26,6 +51,25 @@ public interface GuestRepository extends JpaRepository<Guest, Long> {
            "LOWER(g.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(g.phone) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<Guest> searchGuests(@Param("keyword") String keyword, Pageable pageable);
+
+    // Keyset-paged scan used to (re)build the in-memory search index
+    @Query("SELECT new com.example.hotelmanagement.index.GuestSearchDocument(g.id, g.firstName, g.lastName, g.email, g.phone) " +
+           "FROM Guest g WHERE g.isDeleted = false AND g.id > :afterId ORDER BY g.id")
+    List<GuestSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Keyset-paged scan used to (re)build the in-memory loyalty ranking
+    @Query("SELECT new com.example.hotelmanagement.index.LoyaltyEntry(g.id, g.loyaltyPoints) " +
+           "FROM Guest g WHERE g.isDeleted = false AND g.id > :afterId ORDER BY g.id")
+    List<LoyaltyEntry> findLoyaltyEntriesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Keyset-paged scan that collects blocking keys for duplicate detection
+    @Query("SELECT new com.example.hotelmanagement.dedup.DedupRecord(g.id, g.firstName, g.lastName, g.email, g.phone, g.idNumber) " +
+           "FROM Guest g WHERE g.isDeleted = false AND g.id > :afterId ORDER BY g.id")
+    List<DedupRecord> findDedupRecordsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT new com.example.hotelmanagement.dedup.DedupRecord(g.id, g.firstName, g.lastName, g.email, g.phone, g.idNumber) " +
+           "FROM Guest g WHERE g.isDeleted = false AND g.id IN :ids")
+    List<DedupRecord> findDedupRecordsByIdIn(@Param("ids") Collection<Long> ids);
     
     // Find by email
     Page<Guest> findByEmailContainingIgnoreCaseAndIsDeletedFalse(String email, Pageable pageable);
@@ -35,4 +79,45 @@ public interface GuestRepository extends JpaRepository<Guest, Long> {
     
     // Find by loyalty points greater than or equal
     Page<Guest> findByLoyaltyPointsGreaterThanEqualAndIsDeletedFalse(Integer points, Pageable pageable);
+
+    // Forward-only cursor for exports; every filter is optional and they combine with AND
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT g FROM Guest g WHERE g.isDeleted = false AND " +
+           "(:keyword IS NULL OR " +
+           "LOWER(g.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(g.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(g.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(g.phone) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+           "(:email IS NULL OR LOWER(g.email) LIKE LOWER(CONCAT('%', :email, '%'))) AND " +
+           "(:phone IS NULL OR g.phone LIKE CONCAT('%', :phone, '%')) AND " +
+           "(:minPoints IS NULL OR g.loyaltyPoints >= :minPoints) " +
+           "ORDER BY g.id")
+    Stream<Guest> streamForExport(@Param("keyword") String keyword,
+                                  @Param("email") String email,
+                                  @Param("phone") String phone,
+                                  @Param("minPoints") Integer minPoints);
+
+    // Locks the batch so a concurrent update cannot interleave with moving it to the archive
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g.id FROM Guest g WHERE g.isDeleted = true AND g.updatedAt < :cutoff ORDER BY g.id")
+    List<Long> lockArchivableIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Atomic accrual so concurrent check-outs never lose points to read-modify-write races; the stay summary
+    // goes in the same statement, so a check-out is one UPDATE and one version. A null summary keeps the column.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Guest g SET g.loyaltyPoints = COALESCE(g.loyaltyPoints, 0) + :points, " +
+           "g.stayHistory = COALESCE(:summary, g.stayHistory), g.version = g.version + 1 WHERE g.id = :id")
+    int recordStay(@Param("id") Long id, @Param("points") int points, @Param("summary") String summary);
+
+    // Ids among the given ones that belong to soft-deleted or already archived guests
+    @Query(value = "SELECT id FROM guests WHERE id IN (:ids) AND is_deleted = true " +
+                   "UNION ALL SELECT id FROM guests_archive WHERE id IN (:ids)", nativeQuery = true)
+    List<Long> findDeletedIdsIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT g FROM Guest g WHERE g.id > :afterId AND g.stayHistory IS NOT NULL AND g.stayHistory <> '' ORDER BY g.id")
+    List<Guest> findWithLegacyStayHistoryAfter(@Param("afterId") Long afterId, Limit limit);
 }
@@ -0,0 +1,9 @@
+package com.example.hotelmanagement.repository;
+
+import com.example.hotelmanagement.entity.LoyaltyAccrualCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LoyaltyAccrualCheckpointRepository extends JpaRepository<LoyaltyAccrualCheckpoint, String> {
+}
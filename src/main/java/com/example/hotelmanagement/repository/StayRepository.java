@@ -0,0 +1,35 @@
+package com.example.hotelmanagement.repository;
+
+import com.example.hotelmanagement.entity.Stay;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StayRepository extends JpaRepository<Stay, Long> {
+
+    boolean existsByGuestId(Long guestId);
+
+    Page<Stay> findByGuestIdOrderByCheckOutDateDescIdDesc(Long guestId, Pageable pageable);
+
+    // Most recent stays, used to rebuild the bounded summary kept on the guest row
+    List<Stay> findByGuestIdOrderByCheckOutDateDescIdDesc(Long guestId, Limit limit);
+
+    // Moves the stays of a merged duplicate to the guest that is kept
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Stay s SET s.guestId = :toGuestId WHERE s.guestId = :fromGuestId")
+    int reassignGuest(@Param("fromGuestId") Long fromGuestId, @Param("toGuestId") Long toGuestId);
+
+    // Used when archived guests are purged for good
+    @Modifying
+    @Query("DELETE FROM Stay s WHERE s.guestId IN :guestIds")
+    int deleteByGuestIdIn(@Param("guestIds") Collection<Long> guestIds);
+}
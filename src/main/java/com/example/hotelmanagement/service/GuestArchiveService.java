@@ -0,0 +1,290 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.ArchiveRunResponse;
+import com.example.hotelmanagement.dto.ArchivedGuestResponse;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.entity.GuestArchive;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
+import com.example.hotelmanagement.exception.EmailAlreadyExistsException;
+import com.example.hotelmanagement.exception.GuestNotFoundException;
+import com.example.hotelmanagement.index.EmailBloomFilter;
+import com.example.hotelmanagement.repository.GuestArchiveRepository;
+import com.example.hotelmanagement.repository.GuestRepository;
+import com.example.hotelmanagement.repository.StayRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves soft-deleted guests older than the retention window from {@code guests} to {@code guests_archive}
+ * so the active table and its indexes only hold live rows. Each batch is its own short transaction that
+ * locks at most {@code batch-size} rows by primary key, copies them with one INSERT ... SELECT and deletes
+ * them with one DELETE; a pause between batches leaves room for regular traffic.
+ */
+@Service
+@Transactional
+public class GuestArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(GuestArchiveService.class);
+
+    private static final String ARCHIVE_SQL =
+            "INSERT INTO guests_archive (id, first_name, last_name, email, phone, address, id_number, preferences, " +
+            "stay_history, loyalty_points, version, created_at, deleted_at, archived_at) " +
+            "SELECT id, first_name, last_name, email, phone, address, id_number, preferences, stay_history, " +
+            "loyalty_points, version, created_at, updated_at, :archivedAt FROM guests WHERE id IN (:ids) AND is_deleted = true";
+    private static final String DELETE_ARCHIVED_SQL = "DELETE FROM guests WHERE id IN (:ids) AND is_deleted = true";
+    private static final String RESTORE_SQL =
+            "INSERT INTO guests (id, first_name, last_name, email, phone, address, id_number, preferences, stay_history, " +
+            "loyalty_points, is_deleted, version, created_at, updated_at) " +
+            "SELECT id, first_name, last_name, email, phone, address, id_number, preferences, stay_history, " +
+            "loyalty_points, false, version + 1, created_at, :restoredAt FROM guests_archive WHERE id = :id";
+
+    private final GuestRepository guestRepository;
+    private final GuestArchiveRepository archiveRepository;
+    private final StayRepository stayRepository;
+    private final GuestService guestService;
+    private final EmailBloomFilter emailFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final int maxBatchesPerRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ArchiveRunResponse lastRun;
+
+    private final Counter rowsMoved;
+    private final Counter rowsRestored;
+    private final Counter rowsPurged;
+    private final DistributionSummary rowsPerRun;
+    private final Timer runTimer;
+    private final AtomicLong lastRunRows = new AtomicLong();
+
+    public GuestArchiveService(GuestRepository guestRepository,
+                               GuestArchiveRepository archiveRepository,
+                               StayRepository stayRepository,
+                               GuestService guestService,
+                               EmailBloomFilter emailFilter,
+                               ApplicationEventPublisher eventPublisher,
+                               NamedParameterJdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${guest.archive.enabled:true}") boolean enabled,
+                               @Value("${guest.archive.retention:P30D}") Duration retention,
+                               @Value("${guest.archive.batch-size:500}") int batchSize,
+                               @Value("${guest.archive.batch-pause:PT0.1S}") Duration batchPause,
+                               @Value("${guest.archive.max-batches-per-run:2000}") int maxBatchesPerRun) {
+        this.guestRepository = guestRepository;
+        this.archiveRepository = archiveRepository;
+        this.stayRepository = stayRepository;
+        this.guestService = guestService;
+        this.emailFilter = emailFilter;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        this.rowsMoved = Counter.builder("guest.archive.rows.moved")
+                .description("Soft-deleted guests moved to the archive").register(meterRegistry);
+        this.rowsRestored = Counter.builder("guest.archive.rows.restored")
+                .description("Archived guests restored to the active table").register(meterRegistry);
+        this.rowsPurged = Counter.builder("guest.archive.rows.purged")
+                .description("Archived guests deleted permanently").register(meterRegistry);
+        this.rowsPerRun = DistributionSummary.builder("guest.archive.run.rows")
+                .description("Guests moved per archival run").register(meterRegistry);
+        this.runTimer = Timer.builder("guest.archive.run.duration")
+                .description("Duration of archival runs").register(meterRegistry);
+        meterRegistry.gauge("guest.archive.last-run.rows", lastRunRows);
+    }
+
+    @Scheduled(cron = "${guest.archive.cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void scheduledRun() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Runs one archival pass; returns {@code null} when another pass is already in progress.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ArchiveRunResponse archive() {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            long started = System.nanoTime();
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime cutoff = startedAt.minus(retention);
+            int batches = 0;
+            long moved = 0;
+            boolean truncated = false;
+            while (true) {
+                if (batches == maxBatchesPerRun) {
+                    truncated = true;
+                    break;
+                }
+                Integer count = transactionTemplate.execute(status -> moveBatch(cutoff));
+                if (count == null || count == 0) {
+                    break;
+                }
+                batches++;
+                moved += count;
+                rowsMoved.increment(count);
+                if (count < batchSize || !pause()) {
+                    break;
+                }
+            }
+            long durationNanos = System.nanoTime() - started;
+            runTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+            rowsPerRun.record(moved);
+            lastRunRows.set(moved);
+            lastRun = new ArchiveRunResponse(startedAt, cutoff, batches, moved, durationNanos / 1_000_000, truncated);
+            log.info("Archived {} soft-deleted guests deleted before {} in {} batches ({} ms{})",
+                    moved, cutoff, batches, durationNanos / 1_000_000, truncated ? ", batch limit reached" : "");
+            return lastRun;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public ArchiveRunResponse lastRun() {
+        return lastRun;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ArchivedGuestResponse> getArchivedGuests(Pageable pageable) {
+        return archiveRepository.findAll(pageable).map(this::mapToResponse);
+    }
+
+    /**
+     * Moves an archived guest back into the active table under its original id.
+     */
+    public GuestResponse restore(Long id) {
+        GuestArchive archived = archiveRepository.findById(id)
+                .orElseThrow(() -> new GuestNotFoundException("Archived guest not found"));
+        // The email may have been taken by a new guest since the deletion
+        if (guestRepository.existsByEmail(archived.getEmail())) {
+            throw new EmailAlreadyExistsException("Email already exists");
+        }
+
+        jdbcTemplate.update(RESTORE_SQL, new MapSqlParameterSource("id", id).addValue("restoredAt", LocalDateTime.now()));
+        jdbcTemplate.update("DELETE FROM guests_archive WHERE id = :id", new MapSqlParameterSource("id", id));
+
+        Guest restored = guestRepository.findById(id)
+                .orElseThrow(() -> new GuestNotFoundException("Guest not found"));
+        emailFilter.put(restored.getEmail());
+        rowsRestored.increment();
+
+        GuestResponse response = guestService.mapToResponse(restored);
+        eventPublisher.publishEvent(new GuestChangedEvent(ChangeType.CREATED, restored, response));
+        return response;
+    }
+
+    public void purge(Long id) {
+        if (!archiveRepository.existsById(id)) {
+            throw new GuestNotFoundException("Archived guest not found");
+        }
+        stayRepository.deleteByGuestIdIn(List.of(id));
+        archiveRepository.deleteByIdIn(List.of(id));
+        rowsPurged.increment();
+    }
+
+    /**
+     * Permanently deletes guests archived before the given instant, with their stays, in bounded batches.
+     *
+     * @return number of guests purged
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long purgeArchivedBefore(LocalDateTime before) {
+        long purged = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = archiveRepository.findIdsArchivedBefore(before, Limit.of(batchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                stayRepository.deleteByGuestIdIn(ids);
+                return archiveRepository.deleteByIdIn(ids);
+            });
+            if (count == null || count == 0) {
+                break;
+            }
+            purged += count;
+            rowsPurged.increment(count);
+            if (count < batchSize || !pause()) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = guestRepository.lockArchivableIds(cutoff, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids).addValue("archivedAt", LocalDateTime.now());
+        jdbcTemplate.update(ARCHIVE_SQL, params);
+        return jdbcTemplate.update(DELETE_ARCHIVED_SQL, params);
+    }
+
+    // Returns false when interrupted, i.e. on shutdown
+    private boolean pause() {
+        if (batchPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private ArchivedGuestResponse mapToResponse(GuestArchive archived) {
+        return new ArchivedGuestResponse(
+                archived.getId(),
+                archived.getFirstName() + " " + archived.getLastName(),
+                archived.getEmail(),
+                archived.getPhone(),
+                archived.getLoyaltyPoints(),
+                archived.getDeletedAt(),
+                archived.getArchivedAt()
+        );
+    }
+}
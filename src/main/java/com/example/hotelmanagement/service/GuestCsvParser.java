@@ -0,0 +1,133 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.GuestRequest;
+import com.example.hotelmanagement.exception.InvalidImportFileException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimal RFC 4180 reader turning a CSV body into {@link GuestRequest} rows.
+ * <p>
+ * The first record is a header naming the {@code GuestRequest} properties, either in
+ * camelCase ({@code firstName}) or snake_case ({@code first_name}); unknown columns are ignored.
+ */
+class GuestCsvParser {
+
+    private static final List<String> COLUMNS =
+            List.of("firstname", "lastname", "email", "phone", "address", "idnumber", "preferences");
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder(64);
+    private int pushback = -2;
+
+    GuestCsvParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    List<GuestRequest> parse() throws IOException {
+        List<String> header = nextRecord();
+        if (header == null) {
+            throw new InvalidImportFileException("CSV file is empty");
+        }
+
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+            if (COLUMNS.contains(name)) {
+                positions.put(name, i);
+            }
+        }
+        if (!positions.containsKey("email")) {
+            throw new InvalidImportFileException("CSV header must contain an email column");
+        }
+
+        List<GuestRequest> rows = new ArrayList<>();
+        List<String> record;
+        while ((record = nextRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            GuestRequest request = new GuestRequest();
+            request.setFirstName(column(record, positions, "firstname"));
+            request.setLastName(column(record, positions, "lastname"));
+            request.setEmail(column(record, positions, "email"));
+            request.setPhone(column(record, positions, "phone"));
+            request.setAddress(column(record, positions, "address"));
+            request.setIdNumber(column(record, positions, "idnumber"));
+            request.setPreferences(column(record, positions, "preferences"));
+            rows.add(request);
+        }
+        return rows;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> positions, String name) {
+        Integer position = positions.get(name);
+        if (position == null || position >= record.size()) {
+            return null;
+        }
+        String value = record.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> nextRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new InvalidImportFileException("Unterminated quoted field in CSV file");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushback = next;
+                    }
+                }
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
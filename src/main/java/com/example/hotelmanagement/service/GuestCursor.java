@@ -0,0 +1,56 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-ordered guest listing, encoded as an opaque URL-safe token.
+ * Listings ordered by id only use {@code id}; the loyalty listing orders by
+ * {@code (loyaltyPoints, id)} and also carries the points of the last row.
+ */
+public record GuestCursor(Integer loyaltyPoints, long id) {
+
+    private static final String ID_PREFIX = "id:";
+    private static final String LOYALTY_PREFIX = "lp:";
+
+    public static final GuestCursor START = new GuestCursor(null, 0L);
+
+    public static GuestCursor afterId(long id) {
+        return new GuestCursor(null, id);
+    }
+
+    public static GuestCursor afterLoyalty(int loyaltyPoints, long id) {
+        return new GuestCursor(loyaltyPoints, id);
+    }
+
+    public String encode() {
+        String raw = loyaltyPoints == null
+                ? ID_PREFIX + id
+                : LOYALTY_PREFIX + loyaltyPoints + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}; a missing token means "from the start".
+     */
+    public static GuestCursor decode(String token, boolean loyaltyOrdered) {
+        if (token == null || token.isBlank()) {
+            return loyaltyOrdered ? null : START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!loyaltyOrdered && raw.startsWith(ID_PREFIX)) {
+                return afterId(Long.parseLong(raw.substring(ID_PREFIX.length())));
+            }
+            if (loyaltyOrdered && raw.startsWith(LOYALTY_PREFIX)) {
+                String[] parts = raw.substring(LOYALTY_PREFIX.length()).split(":", 2);
+                return afterLoyalty(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            // fall through to the common error below
+        }
+        throw new InvalidCursorException("Invalid cursor");
+    }
+}
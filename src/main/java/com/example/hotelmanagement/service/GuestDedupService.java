@@ -0,0 +1,488 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.cache.GuestCache;
+import com.example.hotelmanagement.dedup.BlockingKeyTable;
+import com.example.hotelmanagement.dedup.DedupRecord;
+import com.example.hotelmanagement.dedup.GuestSimilarity;
+import com.example.hotelmanagement.dedup.GuestSimilarity.Match;
+import com.example.hotelmanagement.dedup.GuestSimilarity.Profile;
+import com.example.hotelmanagement.dto.DedupRunResponse;
+import com.example.hotelmanagement.dto.DedupRunResponse.Status;
+import com.example.hotelmanagement.dto.DuplicateCandidateResponse;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
+import com.example.hotelmanagement.exception.GuestNotFoundException;
+import com.example.hotelmanagement.exception.InvalidMergeException;
+import com.example.hotelmanagement.repository.GuestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Finds active guests that are probably the same person and merges them on request.
+ * <p>
+ * A scan makes two passes. The first reads the guests table in keyset-paged batches and keeps only packed
+ * (blocking key, id) pairs, computing the keys of one batch on the fork-join pool while the next batch is
+ * read. Sorting those pairs yields the blocks of guests sharing a key. The second pass loads the guests of
+ * a chunk of blocks by id and scores every pair inside each block with a fork-join task split over the
+ * blocks, again overlapping the next chunk's read with the current chunk's scoring. Only a bounded chunk of
+ * guest rows is ever held in memory; the result replaces the in-memory report served by the API.
+ * <p>
+ * Like its controller, the service is created on first use rather than during startup.
+ */
+@Lazy
+@Service
+public class GuestDedupService {
+
+    private static final Logger log = LoggerFactory.getLogger(GuestDedupService.class);
+
+    private static final int KEYS_PER_GUEST = 3;
+    // Keeps IN lists well below driver and optimizer limits
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingDouble(Match::score).reversed()
+            .thenComparingLong(Match::guestId)
+            .thenComparingLong(Match::duplicateId);
+
+    private record PairKey(long guestId, long duplicateId) {
+    }
+
+    private final GuestRepository guestRepository;
+    private final GuestService guestService;
+    private final StayService stayService;
+    private final LoyaltyAccrualService loyaltyAccrualService;
+    private final GuestCache guestCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int scanBatchSize;
+    private final int chunkSize;
+    private final int maxBlockSize;
+    private final double minScore;
+    private final int parallelism;
+    private final int maxReportSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile DedupRunResponse lastRun;
+    private volatile List<DuplicateCandidateResponse> report = List.of();
+
+    private final Timer scanTimer;
+    private final Counter merges;
+
+    public GuestDedupService(GuestRepository guestRepository,
+                             GuestService guestService,
+                             StayService stayService,
+                             LoyaltyAccrualService loyaltyAccrualService,
+                             GuestCache guestCache,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${guest.dedup.scan-batch-size:50000}") int scanBatchSize,
+                             @Value("${guest.dedup.chunk-size:20000}") int chunkSize,
+                             @Value("${guest.dedup.max-block-size:100}") int maxBlockSize,
+                             @Value("${guest.dedup.min-score:0.88}") double minScore,
+                             @Value("${guest.dedup.parallelism:0}") int parallelism,
+                             @Value("${guest.dedup.max-report-size:100000}") int maxReportSize) {
+        this.guestRepository = guestRepository;
+        this.guestService = guestService;
+        this.stayService = stayService;
+        this.loyaltyAccrualService = loyaltyAccrualService;
+        this.guestCache = guestCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scanBatchSize = scanBatchSize;
+        this.chunkSize = chunkSize;
+        this.maxBlockSize = maxBlockSize;
+        this.minScore = minScore;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxReportSize = maxReportSize;
+
+        this.scanTimer = Timer.builder("guest.dedup.scan.duration")
+                .description("Duration of duplicate guest scans").register(meterRegistry);
+        this.merges = Counter.builder("guest.dedup.merges")
+                .description("Duplicate guests merged into another guest").register(meterRegistry);
+        meterRegistry.gauge("guest.dedup.candidates", this, service -> service.report.size());
+    }
+
+    /**
+     * Starts a scan on a background thread; returns {@code false} when one is already running.
+     */
+    public boolean scanInBackground() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofPlatform().name("guest-dedup-scan").daemon().start(() -> {
+            try {
+                runScan();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Runs a scan on the calling thread; returns {@code null} when another scan is already running.
+     * A failed scan is reported with status {@code FAILED} and leaves the previous report in place.
+     */
+    public DedupRunResponse scan() {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            return runScan();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public DedupRunResponse lastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Candidates of the last completed scan, best first, minus guests merged since.
+     */
+    public Page<DuplicateCandidateResponse> getCandidates(Pageable pageable) {
+        List<DuplicateCandidateResponse> candidates = report;
+        int from = (int) Math.min(pageable.getOffset(), candidates.size());
+        int to = Math.min(from + pageable.getPageSize(), candidates.size());
+        return new PageImpl<>(candidates.subList(from, to), pageable, candidates.size());
+    }
+
+    /**
+     * Folds the duplicate into the survivor: loyalty points are added up, stays move over, blank contact
+     * details are filled from the duplicate, and the duplicate is soft-deleted.
+     */
+    public GuestResponse merge(Long survivorId, Long duplicateId) {
+        if (survivorId.equals(duplicateId)) {
+            throw new InvalidMergeException("A guest cannot be merged into itself");
+        }
+        // Write-behind points still buffered for the duplicate, including any accrued while merging, follow it
+        GuestResponse response = loyaltyAccrualService.mergeGuests(survivorId, duplicateId,
+                () -> transactionTemplate.execute(status -> mergeInTransaction(survivorId, duplicateId)));
+        synchronized (this) {
+            report = report.stream()
+                    .filter(c -> c.getGuestId() != duplicateId && c.getDuplicateId() != duplicateId)
+                    .toList();
+        }
+        merges.increment();
+        return response;
+    }
+
+    private GuestResponse mergeInTransaction(Long survivorId, Long duplicateId) {
+        Guest survivor = findActiveGuest(survivorId);
+        Guest duplicate = findActiveGuest(duplicateId);
+        GuestSummaryResponse previous = guestService.mapToSummary(survivor);
+
+        long points = (long) zeroIfNull(survivor.getLoyaltyPoints()) + zeroIfNull(duplicate.getLoyaltyPoints());
+        survivor.setLoyaltyPoints((int) Math.min(Integer.MAX_VALUE, points));
+        if (isBlank(survivor.getAddress())) {
+            survivor.setAddress(duplicate.getAddress());
+        }
+        if (isBlank(survivor.getIdNumber())) {
+            survivor.setIdNumber(duplicate.getIdNumber());
+        }
+        if (isBlank(survivor.getPreferences())) {
+            survivor.setPreferences(duplicate.getPreferences());
+        }
+        int staysMoved = stayService.mergeStays(survivor, duplicate);
+        duplicate.setIsDeleted(true);
+
+        Guest merged = guestRepository.saveAndFlush(survivor);
+        guestCache.evict(survivorId);
+        guestCache.evict(duplicateId);
+
+        GuestResponse response = guestService.mapToResponse(merged);
+        eventPublisher.publishEvent(new GuestChangedEvent(ChangeType.UPDATED, merged, response, previous));
+        eventPublisher.publishEvent(new GuestChangedEvent(ChangeType.DELETED, duplicate, null));
+        log.info("Merged guest {} into guest {} ({} stays moved)", duplicateId, survivorId, staysMoved);
+        return response;
+    }
+
+    private DedupRunResponse runScan() {
+        long started = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        Progress progress = new Progress(startedAt, started);
+        lastRun = progress.snapshot(Status.RUNNING, false);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            BlockingKeyTable keys = collectKeys(pool, progress);
+            pool.submit(keys::sort).join();
+
+            Map<PairKey, Match> matches = new ConcurrentHashMap<>();
+            ChunkScorer scorer = new ChunkScorer(pool, matches, progress);
+            progress.oversizedBlocks = keys.forEachBlock(maxBlockSize, scorer);
+            scorer.finish();
+
+            List<Match> best = new ArrayList<>(matches.values());
+            best.sort(BEST_FIRST);
+            boolean truncated = best.size() > maxReportSize;
+            List<DuplicateCandidateResponse> candidates = new ArrayList<>(Math.min(best.size(), maxReportSize));
+            for (Match match : truncated ? best.subList(0, maxReportSize) : best) {
+                candidates.add(new DuplicateCandidateResponse(match.guestId(), match.duplicateId(), match.score(), match.matchedOn()));
+            }
+            progress.candidates = best.size();
+            synchronized (this) {
+                report = List.copyOf(candidates);
+            }
+
+            scanTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            lastRun = progress.snapshot(Status.COMPLETED, truncated);
+            log.info("Duplicate scan: {} guests, {} blocks ({} oversized skipped), {} pairs scored, {} candidates in {} ms",
+                    progress.rowsScanned, progress.blocks, progress.oversizedBlocks, progress.pairsCompared.sum(),
+                    progress.candidates, (System.nanoTime() - started) / 1_000_000);
+            return lastRun;
+        } catch (RuntimeException ex) {
+            lastRun = progress.snapshot(Status.FAILED, false);
+            log.error("Duplicate guest scan failed, keeping the previous report", ex);
+            return lastRun;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private BlockingKeyTable collectKeys(ForkJoinPool pool, Progress progress) {
+        BlockingKeyTable keys = new BlockingKeyTable(scanBatchSize * KEYS_PER_GUEST);
+        List<DedupRecord> batch = guestRepository.findDedupRecordsAfter(0L, Limit.of(scanBatchSize));
+        while (!batch.isEmpty()) {
+            List<DedupRecord> current = batch;
+            // Key this batch on the pool while the next one is read
+            ForkJoinTask<long[]> packing = pool.submit(() -> packKeys(current));
+            batch = current.size() < scanBatchSize
+                    ? List.of()
+                    : guestRepository.findDedupRecordsAfter(current.get(current.size() - 1).id(), Limit.of(scanBatchSize));
+            for (long packed : packing.join()) {
+                if (packed != 0) {
+                    keys.add(packed);
+                }
+            }
+            progress.rowsScanned += current.size();
+            lastRun = progress.snapshot(Status.RUNNING, false);
+        }
+        return keys;
+    }
+
+    private static long[] packKeys(List<DedupRecord> batch) {
+        long[] packed = new long[batch.size() * KEYS_PER_GUEST];
+        IntStream.range(0, batch.size()).parallel().forEach(i -> {
+            DedupRecord record = batch.get(i);
+            List<String> keys = GuestSimilarity.blockingKeys(record);
+            for (int k = 0; k < keys.size(); k++) {
+                packed[i * KEYS_PER_GUEST + k] = BlockingKeyTable.pack(keys.get(k), record.id());
+            }
+        });
+        return packed;
+    }
+
+    private Map<Long, Profile> loadProfiles(List<long[]> blocks) {
+        Set<Long> ids = new HashSet<>();
+        for (long[] block : blocks) {
+            for (long id : block) {
+                ids.add(id);
+            }
+        }
+        Map<Long, Profile> profiles = new HashMap<>(ids.size() * 4 / 3 + 1);
+        List<Long> pending = new ArrayList<>(ids);
+        // Guests deleted since the first pass are simply not returned and drop out of their blocks
+        for (int from = 0; from < pending.size(); from += LOAD_BATCH_SIZE) {
+            List<Long> slice = pending.subList(from, Math.min(from + LOAD_BATCH_SIZE, pending.size()));
+            for (DedupRecord record : guestRepository.findDedupRecordsByIdIn(slice)) {
+                profiles.put(record.id(), GuestSimilarity.profile(record));
+            }
+        }
+        return profiles;
+    }
+
+    private Guest findActiveGuest(Long id) {
+        return guestRepository.findById(id)
+                .filter(g -> !g.getIsDeleted())
+                .orElseThrow(() -> new GuestNotFoundException("Guest not found"));
+    }
+
+    private static int zeroIfNull(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Counters of the running scan; written by the scan thread, except for the pair count.
+     */
+    private final class Progress {
+        private final LocalDateTime startedAt;
+        private final long startedNanos;
+        private final LongAdder pairsCompared = new LongAdder();
+        private long rowsScanned;
+        private long blocks;
+        private long oversizedBlocks;
+        private long candidates;
+
+        private Progress(LocalDateTime startedAt, long startedNanos) {
+            this.startedAt = startedAt;
+            this.startedNanos = startedNanos;
+        }
+
+        private DedupRunResponse snapshot(Status status, boolean truncated) {
+            return new DedupRunResponse(status, startedAt, rowsScanned, blocks, oversizedBlocks, pairsCompared.sum(),
+                    candidates, (System.nanoTime() - startedNanos) / 1_000_000, truncated);
+        }
+    }
+
+    /**
+     * Collects blocks into chunks of about {@code chunk-size} guests, then loads the chunk's guests while the
+     * previous chunk is still being scored, so at most two chunks are in memory.
+     */
+    private final class ChunkScorer implements Consumer<long[]> {
+        private final ForkJoinPool pool;
+        private final Map<PairKey, Match> matches;
+        private final Progress progress;
+        private List<long[]> blocks = new ArrayList<>();
+        private int rows;
+        private ForkJoinTask<Void> scoring;
+
+        private ChunkScorer(ForkJoinPool pool, Map<PairKey, Match> matches, Progress progress) {
+            this.pool = pool;
+            this.matches = matches;
+            this.progress = progress;
+        }
+
+        @Override
+        public void accept(long[] block) {
+            blocks.add(block);
+            rows += block.length;
+            progress.blocks++;
+            if (rows >= chunkSize) {
+                submit();
+            }
+        }
+
+        private void finish() {
+            submit();
+            awaitScoring();
+        }
+
+        private void submit() {
+            if (blocks.isEmpty()) {
+                return;
+            }
+            Map<Long, Profile> profiles = loadProfiles(blocks);
+            awaitScoring();
+            scoring = pool.submit(new ScoreTask(blocks, 0, blocks.size(), profiles, matches, progress.pairsCompared, minScore));
+            blocks = new ArrayList<>();
+            rows = 0;
+            lastRun = progress.snapshot(Status.RUNNING, false);
+        }
+
+        private void awaitScoring() {
+            if (scoring != null) {
+                scoring.join();
+                scoring = null;
+            }
+        }
+    }
+
+    /**
+     * Scores all pairs within a range of blocks, splitting the range in halves while it holds more pairs
+     * than one task should take.
+     */
+    private static final class ScoreTask extends RecursiveAction {
+        private static final long PAIRS_PER_TASK = 4096;
+
+        private final List<long[]> blocks;
+        private final int from;
+        private final int to;
+        private final Map<Long, Profile> profiles;
+        private final Map<PairKey, Match> matches;
+        private final LongAdder pairsCompared;
+        private final double minScore;
+
+        private ScoreTask(List<long[]> blocks, int from, int to, Map<Long, Profile> profiles,
+                          Map<PairKey, Match> matches, LongAdder pairsCompared, double minScore) {
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+            this.profiles = profiles;
+            this.matches = matches;
+            this.pairsCompared = pairsCompared;
+            this.minScore = minScore;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && pairs() > PAIRS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ScoreTask(blocks, from, mid, profiles, matches, pairsCompared, minScore),
+                        new ScoreTask(blocks, mid, to, profiles, matches, pairsCompared, minScore));
+                return;
+            }
+            long compared = 0;
+            for (int b = from; b < to; b++) {
+                long[] block = blocks.get(b);
+                for (int i = 0; i < block.length; i++) {
+                    Profile first = profiles.get(block[i]);
+                    if (first == null) {
+                        continue;
+                    }
+                    for (int j = i + 1; j < block.length; j++) {
+                        Profile second = profiles.get(block[j]);
+                        if (second == null) {
+                            continue;
+                        }
+                        compared++;
+                        Match match = GuestSimilarity.score(first, second, minScore);
+                        if (match != null) {
+                            // Guests sharing several keys meet in several blocks with the same score
+                            matches.putIfAbsent(new PairKey(match.guestId(), match.duplicateId()), match);
+                        }
+                    }
+                }
+            }
+            pairsCompared.add(compared);
+        }
+
+        private long pairs() {
+            long pairs = 0;
+            for (int b = from; b < to; b++) {
+                long n = blocks.get(b).length;
+                pairs += n * (n - 1) / 2;
+            }
+            return pairs;
+        }
+    }
+}
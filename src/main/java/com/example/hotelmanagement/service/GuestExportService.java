@@ -0,0 +1,128 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.repository.GuestRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams non-deleted guests straight to an output stream.
+ * <p>
+ * Rows come from a forward-only database cursor and the persistence context is cleared
+ * every {@code guest.export.clear-interval} rows, so memory stays flat regardless of table size.
+ */
+@Service
+public class GuestExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final byte[] CSV_HEADER =
+            "id,fullName,email,phone,preferences,stayHistory,loyaltyPoints\n".getBytes(StandardCharsets.UTF_8);
+
+    private final GuestRepository guestRepository;
+    private final GuestService guestService;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+    private final int clearInterval;
+
+    public GuestExportService(GuestRepository guestRepository,
+                              GuestService guestService,
+                              EntityManager entityManager,
+                              JsonMapper jsonMapper,
+                              @Value("${guest.export.clear-interval:1000}") int clearInterval) {
+        this.guestRepository = guestRepository;
+        this.guestService = guestService;
+        this.entityManager = entityManager;
+        this.jsonMapper = jsonMapper;
+        this.clearInterval = clearInterval;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(String keyword, String email, String phone, Integer minPoints,
+                       Format format, OutputStream target) throws IOException {
+        OutputStream out = new BufferedOutputStream(target, 64 * 1024);
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+        }
+
+        try (Stream<Guest> guests = guestRepository.streamForExport(
+                blankToNull(keyword), blankToNull(email), blankToNull(phone), minPoints)) {
+            Iterator<Guest> iterator = guests.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                GuestResponse response = guestService.mapToResponse(iterator.next());
+                if (format == Format.CSV) {
+                    writeCsv(out, response);
+                } else {
+                    out.write(jsonMapper.writeValueAsBytes(response));
+                    out.write('\n');
+                }
+                if (++written % clearInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private static void writeCsv(OutputStream out, GuestResponse response) throws IOException {
+        StringBuilder line = new StringBuilder(128);
+        line.append(response.getId()).append(',');
+        appendCsv(line, response.getFullName()).append(',');
+        appendCsv(line, response.getEmail()).append(',');
+        appendCsv(line, response.getPhone()).append(',');
+        appendCsv(line, response.getPreferences()).append(',');
+        appendCsv(line, response.getStayHistory()).append(',');
+        if (response.getLoyaltyPoints() != null) {
+            line.append(response.getLoyaltyPoints());
+        }
+        line.append('\n');
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static StringBuilder appendCsv(StringBuilder line, String value) {
+        if (value == null) {
+            return line;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            return line.append(value);
+        }
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.BulkImportResponse;
+import com.example.hotelmanagement.dto.BulkImportResponse.RowError;
+import com.example.hotelmanagement.dto.GuestRequest;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
+import com.example.hotelmanagement.exception.InvalidImportFileException;
+import com.example.hotelmanagement.index.EmailBloomFilter;
+import com.example.hotelmanagement.repository.GuestRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk guest onboarding.
+ * <p>
+ * Rows are validated and de-duplicated by email up front, then written with JDBC batch
+ * inserts, one short transaction per batch. The guests table keeps its IDENTITY key:
+ * with {@code rewriteBatchedStatements=true} the MySQL driver turns each batch into
+ * multi-row INSERTs and the database hands out the ids, which Hibernate's own batching
+ * cannot do for IDENTITY entities. The generated keys come back with the batch, so the
+ * CREATED events are built from the inserted rows without reading them back.
+ */
+@Service
+public class GuestImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(GuestImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO guests (first_name, last_name, email, phone, address, id_number, preferences, " +
+            "loyalty_points, is_deleted, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, false, 0, ?, ?)";
+
+    private final GuestRepository guestRepository;
+    private final GuestService guestService;
+    private final EmailBloomFilter emailFilter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxRows;
+
+    public GuestImportService(GuestRepository guestRepository,
+                              GuestService guestService,
+                              EmailBloomFilter emailFilter,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              Validator validator,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${guest.import.batch-size:1000}") int batchSize,
+                              @Value("${guest.import.max-rows:500000}") int maxRows) {
+        this.guestRepository = guestRepository;
+        this.guestService = guestService;
+        this.emailFilter = emailFilter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    public BulkImportResponse importCsv(InputStream input) {
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            return importGuests(new GuestCsvParser(reader).parse());
+        } catch (IOException ex) {
+            throw new InvalidImportFileException("Could not read CSV file: " + ex.getMessage());
+        }
+    }
+
+    public BulkImportResponse importGuests(List<GuestRequest> requests) {
+        if (requests.size() > maxRows) {
+            throw new InvalidImportFileException("Import is limited to " + maxRows + " rows per request");
+        }
+        long started = System.nanoTime();
+        List<RowError> errors = new ArrayList<>();
+
+        // Validate and de-duplicate emails within the submission in a single pass
+        List<ImportRow> accepted = new ArrayList<>(requests.size());
+        Set<String> seenEmails = new HashSet<>(requests.size() * 4 / 3 + 1);
+        for (int i = 0; i < requests.size(); i++) {
+            GuestRequest request = requests.get(i);
+            int rowNumber = i + 1;
+            if (request == null) {
+                errors.add(new RowError(rowNumber, null, "Row is empty"));
+                continue;
+            }
+            Set<ConstraintViolation<GuestRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                errors.add(new RowError(rowNumber, request.getEmail(), describe(violations)));
+                continue;
+            }
+            if (!seenEmails.add(normalizeEmail(request.getEmail()))) {
+                errors.add(new RowError(rowNumber, request.getEmail(), "Duplicate email in import"));
+                continue;
+            }
+            accepted.add(new ImportRow(rowNumber, request));
+        }
+
+        int imported = 0;
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            List<ImportRow> batch = accepted.subList(from, Math.min(from + batchSize, accepted.size()));
+            imported += importBatch(batch, errors);
+        }
+
+        errors.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        return new BulkImportResponse(requests.size(), imported, errors, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private int importBatch(List<ImportRow> batch, List<RowError> errors) {
+        try {
+            Integer inserted = transactionTemplate.execute(status -> {
+                Set<String> existing = guestRepository.findExistingEmails(
+                                batch.stream().map(row -> row.request().getEmail()).toList())
+                        .stream()
+                        .map(GuestImportService::normalizeEmail)
+                        .collect(Collectors.toSet());
+
+                List<ImportRow> fresh = new ArrayList<>(batch.size());
+                for (ImportRow row : batch) {
+                    if (existing.contains(normalizeEmail(row.request().getEmail()))) {
+                        errors.add(new RowError(row.rowNumber(), row.request().getEmail(), "Email already exists"));
+                    } else {
+                        fresh.add(row);
+                    }
+                }
+                insert(fresh);
+                return fresh.size();
+            });
+            return inserted == null ? 0 : inserted;
+        } catch (DataIntegrityViolationException ex) {
+            // Some row violated a constraint (e.g. an email taken concurrently); retry row by row to pin it down
+            errors.removeIf(error -> batch.stream().anyMatch(row -> row.rowNumber() == error.getRow()));
+            return importOneByOne(batch, errors);
+        }
+    }
+
+    private int importOneByOne(List<ImportRow> batch, List<RowError> errors) {
+        int imported = 0;
+        for (ImportRow row : batch) {
+            String email = row.request().getEmail();
+            try {
+                Boolean inserted = transactionTemplate.execute(status -> {
+                    if (guestRepository.existsByEmail(email)) {
+                        return false;
+                    }
+                    insert(List.of(row));
+                    return true;
+                });
+                if (Boolean.TRUE.equals(inserted)) {
+                    imported++;
+                } else {
+                    errors.add(new RowError(row.rowNumber(), email, "Email already exists"));
+                }
+            } catch (DataIntegrityViolationException ex) {
+                // The driver's message names constraints and SQL; it goes to the log, not to the client
+                if (GuestService.isUniqueViolation(ex)) {
+                    errors.add(new RowError(row.rowNumber(), email, "Email already exists"));
+                } else {
+                    log.warn("Import row {} ({}) rejected by the database: {}", row.rowNumber(), email,
+                            ex.getMostSpecificCause().getMessage());
+                    errors.add(new RowError(row.rowNumber(), email, "Row violates a database constraint"));
+                }
+            }
+        }
+        return imported;
+    }
+
+    private void insert(List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        GuestRequest request = rows.get(i).request();
+                        ps.setString(1, request.getFirstName());
+                        ps.setString(2, request.getLastName());
+                        ps.setString(3, request.getEmail());
+                        ps.setString(4, request.getPhone());
+                        setNullableString(ps, 5, request.getAddress());
+                        setNullableString(ps, 6, request.getIdNumber());
+                        setNullableString(ps, 7, request.getPreferences());
+                        ps.setTimestamp(8, timestamp);
+                        ps.setTimestamp(9, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+
+        // Let caches and indexes pick up the new rows once the batch commits
+        for (Guest guest : insertedGuests(rows, keys.getKeyList(), now)) {
+            emailFilter.put(guest.getEmail());
+            eventPublisher.publishEvent(new GuestChangedEvent(ChangeType.CREATED, guest, guestService.mapToResponse(guest)));
+        }
+    }
+
+    // The keys come back in insert order, one per row
+    private List<Guest> insertedGuests(List<ImportRow> rows, List<Map<String, Object>> keys, LocalDateTime now) {
+        if (keys.size() != rows.size()) {
+            log.warn("Driver returned {} generated keys for {} imported guests, reading them back by email",
+                    keys.size(), rows.size());
+            return guestRepository.findByEmailIn(rows.stream().map(row -> row.request().getEmail()).toList());
+        }
+        List<Guest> guests = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            GuestRequest request = rows.get(i).request();
+            Guest guest = new Guest();
+            guest.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            guest.setFirstName(request.getFirstName());
+            guest.setLastName(request.getLastName());
+            guest.setEmail(request.getEmail());
+            guest.setPhone(request.getPhone());
+            guest.setAddress(request.getAddress());
+            guest.setIdNumber(request.getIdNumber());
+            guest.setPreferences(request.getPreferences());
+            guest.setLoyaltyPoints(0);
+            guest.setIsDeleted(false);
+            guest.setVersion(0L);
+            guest.setCreatedAt(now);
+            guest.setUpdatedAt(now);
+            guests.add(guest);
+        }
+        return guests;
+    }
+
+    private static void setNullableString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+
+    private static String describe(Set<ConstraintViolation<GuestRequest>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // MySQL's default collation compares emails case-insensitively
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record ImportRow(int rowNumber, GuestRequest request) {
+    }
+}
@@ -1,30 +1,98 @@
 package com.example.hotelmanagement.service;
 
+import com.example.hotelmanagement.cache.GuestCache;
+import com.example.hotelmanagement.cache.GuestSearchCache;
+import com.example.hotelmanagement.cache.GuestSearchCache.QueryType;
+import com.example.hotelmanagement.datasource.ReadRoutingContext;
+import com.example.hotelmanagement.dto.CursorPageResponse;
+import com.example.hotelmanagement.dto.GuestBatchPatchRequest;
+import com.example.hotelmanagement.dto.GuestBatchPatchResponse;
+import com.example.hotelmanagement.dto.GuestBatchPatchResponse.ItemResult;
+import com.example.hotelmanagement.dto.GuestBatchPatchResponse.Outcome;
+import com.example.hotelmanagement.dto.GuestMultiGetResponse;
+import com.example.hotelmanagement.dto.GuestPatchRequest;
 import com.example.hotelmanagement.dto.GuestRequest;
 import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import com.example.hotelmanagement.dto.GuestView;
 import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
 import com.example.hotelmanagement.exception.EmailAlreadyExistsException;
 import com.example.hotelmanagement.exception.GuestNotFoundException;
+import com.example.hotelmanagement.exception.InvalidLookupException;
+import com.example.hotelmanagement.exception.InvalidPatchException;
+import com.example.hotelmanagement.exception.PreconditionFailedException;
+import com.example.hotelmanagement.index.EmailBloomFilter;
+import com.example.hotelmanagement.index.GuestSearchIndex;
+import com.example.hotelmanagement.repository.GuestProjectionRepository;
 import com.example.hotelmanagement.repository.GuestRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional
+@Timed(value = "guest.service", histogram = true)
 public class GuestService {
 
     private final GuestRepository guestRepository;
+    private final GuestProjectionRepository projectionRepository;
+    private final GuestCache guestCache;
+    private final GuestSearchCache searchCache;
+    private final GuestSearchIndex searchIndex;
+    private final EmailBloomFilter emailFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final int maxBatchPatchSize;
+    private final int maxMultiGetIds;
     
-    public GuestService(GuestRepository guestRepository) {
+    public GuestService(GuestRepository guestRepository, GuestProjectionRepository projectionRepository,
+                        GuestCache guestCache, GuestSearchCache searchCache, GuestSearchIndex searchIndex,
+                        EmailBloomFilter emailFilter, ApplicationEventPublisher eventPublisher,
+                        Validator validator,
+                        @Value("${guest.patch.max-batch-size:1000}") int maxBatchPatchSize,
+                        @Value("${guest.multi-get.max-ids:500}") int maxMultiGetIds) {
         this.guestRepository = guestRepository;
+        this.projectionRepository = projectionRepository;
+        this.guestCache = guestCache;
+        this.searchCache = searchCache;
+        this.searchIndex = searchIndex;
+        this.emailFilter = emailFilter;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.maxBatchPatchSize = maxBatchPatchSize;
+        this.maxMultiGetIds = maxMultiGetIds;
     }
 
     public GuestResponse createGuest(GuestRequest request) {
-        if (guestRepository.existsByEmail(request.getEmail())) {
-            throw new EmailAlreadyExistsException("Email already exists");
-        }
+        ensureEmailAvailable(request.getEmail());
 
         Guest guest = new Guest();
         guest.setFirstName(request.getFirstName());
@@ -35,75 +103,540 @@ public class GuestService {
         guest.setIdNumber(request.getIdNumber());
         guest.setPreferences(request.getPreferences());
 
-        Guest saved = guestRepository.save(guest);
+        Guest saved = saveAndFlush(guest);
 
-        return mapToResponse(saved);
+        GuestResponse response = mapToResponse(saved);
+        eventPublisher.publishEvent(new GuestChangedEvent(ChangeType.CREATED, saved, response));
+        return response;
     }
 
+    @Transactional(readOnly = true)
     public Page<GuestResponse> getAllGuests(Pageable pageable) {
-        return guestRepository
-                .findAllByIsDeletedFalse(pageable)
-                .map(this::mapToResponse);
+        return projectionRepository.findAllResponses(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<? extends GuestSummaryResponse> getAllGuests(Pageable pageable, GuestView view) {
+        return view == GuestView.SUMMARY
+                ? projectionRepository.findAllSummaries(pageable)
+                : projectionRepository.findAllResponses(pageable);
     }
 
+    // SUPPORTS keeps cache hits from opening a transaction and grabbing a pooled connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public GuestResponse getGuestById(Long id) {
-        Guest guest = guestRepository.findById(id)
+        GuestResponse cached = guestCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadStamp = guestCache.loadStamp();
+        Guest guest = ReadRoutingContext.readForCache(() -> guestRepository.findById(id))
                 .filter(g -> !g.getIsDeleted())
                 .orElseThrow(() -> new GuestNotFoundException("Guest not found"));
 
-        return mapToResponse(guest);
+        GuestResponse response = mapToResponse(guest);
+        guestCache.putIfAbsent(response, loadStamp);
+        return response;
+    }
+
+    /**
+     * Resolves many guests at once: cached guests are served from the cache, the rest are loaded with a single
+     * IN query and cached. Ids that resolve to nothing are split into deleted and never-existing ones with
+     * one more query, only when there are any.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public GuestMultiGetResponse getGuestsByIds(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                requested.add(id);
+            }
+        }
+        if (requested.size() > maxMultiGetIds) {
+            throw new InvalidLookupException("Multi-get is limited to " + maxMultiGetIds + " ids per request");
+        }
+
+        Map<Long, GuestResponse> found = new HashMap<>(requested.size() * 4 / 3 + 1);
+        List<Long> misses = new ArrayList<>();
+        for (Long id : requested) {
+            GuestResponse cached = guestCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            long loadStamp = guestCache.loadStamp();
+            List<GuestResponse> rows = ReadRoutingContext.readForCache(() -> projectionRepository.findResponsesByIdIn(misses));
+            for (GuestResponse loaded : rows) {
+                found.put(loaded.getId(), loaded);
+                guestCache.putIfAbsent(loaded, loadStamp);
+            }
+        }
+
+        List<GuestResponse> guests = new ArrayList<>(found.size());
+        List<Long> unresolved = new ArrayList<>();
+        for (Long id : requested) {
+            GuestResponse guest = found.get(id);
+            if (guest != null) {
+                guests.add(guest);
+            } else {
+                unresolved.add(id);
+            }
+        }
+
+        List<Long> missing = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        if (!unresolved.isEmpty()) {
+            Set<Long> deletedIds = new HashSet<>(guestRepository.findDeletedIdsIn(unresolved));
+            for (Long id : unresolved) {
+                if (deletedIds.contains(id)) {
+                    deleted.add(id);
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+        return new GuestMultiGetResponse(guests, missing, deleted);
     }
 
     public void deleteGuest(Long id) {
+        deleteGuest(id, null);
+    }
+
+    /**
+     * @param acceptedVersions versions the caller expects the guest to have, or {@code null} to skip the check
+     */
+    public void deleteGuest(Long id, Collection<Long> acceptedVersions) {
         Guest guest = guestRepository.findById(id)
                 .orElseThrow(() -> new GuestNotFoundException("Guest not found"));
+        checkVersion(guest, acceptedVersions);
         guest.setIsDeleted(true);
+
+        // Drop the entry right away so concurrent readers never see it; re-evicted after commit
+        guestCache.evict(id);
+        eventPublisher.publishEvent(new GuestChangedEvent(ChangeType.DELETED, guest, null));
     }
 
     public GuestResponse updateGuest(Long id, GuestRequest request) {
+        return updateGuest(id, request, null);
+    }
+
+    /**
+     * @param acceptedVersions versions the caller expects the guest to have, or {@code null} to skip the check
+     */
+    public GuestResponse updateGuest(Long id, GuestRequest request, Collection<Long> acceptedVersions) {
+        return patchGuest(id, GuestPatchRequest.of(request), acceptedVersions);
+    }
+
+    /**
+     * Applies the fields present in the patch. Only changed columns are written; a patch that matches the
+     * stored values writes nothing and leaves version and updatedAt alone.
+     *
+     * @param acceptedVersions versions the caller expects the guest to have, or {@code null} to skip the check
+     */
+    public GuestResponse patchGuest(Long id, GuestPatchRequest patch, Collection<Long> acceptedVersions) {
         Guest guest = guestRepository.findById(id)
                 .filter(g -> !g.getIsDeleted())
                 .orElseThrow(() -> new GuestNotFoundException("Guest not found"));
+        checkVersion(guest, acceptedVersions);
 
-        // Check if email is being changed and if new email already exists
-        if (!guest.getEmail().equals(request.getEmail()) && 
-            guestRepository.existsByEmail(request.getEmail())) {
-            throw new EmailAlreadyExistsException("Email already exists");
+        GuestSummaryResponse previous = mapToSummary(guest);
+        if (!applyPatch(guest, patch)) {
+            return mapToResponse(guest);
         }
 
-        guest.setFirstName(request.getFirstName());
-        guest.setLastName(request.getLastName());
-        guest.setEmail(request.getEmail());
-        guest.setPhone(request.getPhone());
-        guest.setAddress(request.getAddress());
-        guest.setIdNumber(request.getIdNumber());
-        guest.setPreferences(request.getPreferences());
+        Guest updated = saveAndFlush(guest);
+        guestCache.evict(id);
 
-        Guest updated = guestRepository.save(guest);
-        return mapToResponse(updated);
+        GuestResponse response = mapToResponse(updated);
+        eventPublisher.publishEvent(new GuestChangedEvent(ChangeType.UPDATED, updated, response, previous));
+        return response;
     }
 
+    /**
+     * Patches many guests with one lookup query, writing all changes in one transaction. Entries are checked
+     * and applied one by one and rejected individually; a unique violation that only shows up when the
+     * changes are flushed fails the whole batch.
+     */
+    public GuestBatchPatchResponse patchGuests(List<GuestBatchPatchRequest> patches) {
+        if (patches.size() > maxBatchPatchSize) {
+            throw new InvalidPatchException("Batch patch is limited to " + maxBatchPatchSize + " guests per request");
+        }
+        long started = System.nanoTime();
+
+        Set<Long> ids = new HashSet<>();
+        for (GuestBatchPatchRequest patch : patches) {
+            if (patch != null && patch.getId() != null) {
+                ids.add(patch.getId());
+            }
+        }
+        Map<Long, Guest> guests = new HashMap<>(ids.size() * 4 / 3 + 1);
+        for (Guest guest : guestRepository.findAllById(ids)) {
+            if (!guest.getIsDeleted()) {
+                guests.put(guest.getId(), guest);
+            }
+        }
+
+        ItemResult[] results = new ItemResult[patches.size()];
+        Map<Integer, Guest> changed = new HashMap<>();
+        Map<Long, GuestSummaryResponse> previous = new HashMap<>();
+        Set<String> claimedEmails = new HashSet<>();
+        for (int i = 0; i < patches.size(); i++) {
+            GuestBatchPatchRequest patch = patches.get(i);
+            int item = i + 1;
+            if (patch == null) {
+                results[i] = new ItemResult(item, null, Outcome.FAILED, null, "Entry is empty");
+                continue;
+            }
+            Set<ConstraintViolation<GuestBatchPatchRequest>> violations = validator.validate(patch);
+            if (!violations.isEmpty()) {
+                results[i] = new ItemResult(item, patch.getId(), Outcome.FAILED, null, describe(violations));
+                continue;
+            }
+            Guest guest = guests.get(patch.getId());
+            if (guest == null) {
+                results[i] = new ItemResult(item, patch.getId(), Outcome.FAILED, null, "Guest not found");
+                continue;
+            }
+            if (patch.getVersion() != null && !patch.getVersion().equals(guest.getVersion())) {
+                results[i] = new ItemResult(item, patch.getId(), Outcome.FAILED, guest.getVersion(),
+                        "Guest has been modified, current version is " + guest.getVersion());
+                continue;
+            }
+            if (patch.has("email") && patch.getEmail() != null
+                    && !patch.getEmail().equalsIgnoreCase(guest.getEmail())
+                    && !claimedEmails.add(patch.getEmail().trim().toLowerCase(Locale.ROOT))) {
+                results[i] = new ItemResult(item, patch.getId(), Outcome.FAILED, guest.getVersion(), "Duplicate email in batch");
+                continue;
+            }
+            try {
+                previous.putIfAbsent(guest.getId(), mapToSummary(guest));
+                if (applyPatch(guest, patch)) {
+                    changed.put(i, guest);
+                } else {
+                    results[i] = new ItemResult(item, patch.getId(), Outcome.UNCHANGED, guest.getVersion(), null);
+                }
+            } catch (EmailAlreadyExistsException | InvalidPatchException ex) {
+                results[i] = new ItemResult(item, patch.getId(), Outcome.FAILED, guest.getVersion(), ex.getMessage());
+            } catch (DataIntegrityViolationException ex) {
+                // Raised by an auto-flush of earlier entries; the transaction is lost, so is the batch
+                if (isUniqueViolation(ex)) {
+                    throw new EmailAlreadyExistsException("Email already exists");
+                }
+                throw ex;
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            flush();
+            Set<Long> published = new HashSet<>();
+            for (Map.Entry<Integer, Guest> entry : changed.entrySet()) {
+                Guest guest = entry.getValue();
+                results[entry.getKey()] = new ItemResult(entry.getKey() + 1, guest.getId(), Outcome.UPDATED, guest.getVersion(), null);
+                // A guest patched by several entries is announced once, in its final state
+                if (published.add(guest.getId())) {
+                    emailFilter.put(guest.getEmail());
+                    guestCache.evict(guest.getId());
+                    eventPublisher.publishEvent(new GuestChangedEvent(ChangeType.UPDATED, guest, mapToResponse(guest),
+                            previous.get(guest.getId())));
+                }
+            }
+        }
+        return new GuestBatchPatchResponse(Arrays.asList(results), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Transactional(readOnly = true)
     public Page<GuestResponse> searchGuests(String keyword, Pageable pageable) {
-        return guestRepository.searchGuests(keyword, pageable)
-                .map(this::mapToResponse);
+        return searchGuests(keyword, pageable, GuestView.FULL).map(GuestResponse.class::cast);
+    }
+
+    // SUPPORTS keeps cached pages from opening a transaction; on a miss each query runs in its own read-only one
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Page<? extends GuestSummaryResponse> searchGuests(String keyword, Pageable pageable, GuestView view) {
+        return searchCache.get(QueryType.KEYWORD, keyword, null, pageable, view, () -> loadSearchGuests(keyword, pageable, view));
     }
 
+    private Page<? extends GuestSummaryResponse> loadSearchGuests(String keyword, Pageable pageable, GuestView view) {
+        // The index answers in id order, so only unsorted requests can be served from it
+        long[] matches = pageable.getSort().isUnsorted() ? searchIndex.search(keyword) : null;
+        if (matches == null) {
+            return view == GuestView.SUMMARY
+                    ? projectionRepository.searchSummaries(keyword, pageable)
+                    : projectionRepository.searchResponses(keyword, pageable);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), matches.length);
+        int to = Math.min(from + pageable.getPageSize(), matches.length);
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(matches[i]);
+        }
+        return new PageImpl<>(loadInOrder(pageIds, view), pageable, matches.length);
+    }
+
+    @Transactional(readOnly = true)
     public Page<GuestResponse> searchByEmail(String email, Pageable pageable) {
-        return guestRepository.findByEmailContainingIgnoreCaseAndIsDeletedFalse(email, pageable)
-                .map(this::mapToResponse);
+        return searchByEmail(email, pageable, GuestView.FULL).map(GuestResponse.class::cast);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Page<? extends GuestSummaryResponse> searchByEmail(String email, Pageable pageable, GuestView view) {
+        return searchCache.get(QueryType.EMAIL, email, null, pageable, view, () -> view == GuestView.SUMMARY
+                ? projectionRepository.findSummariesByEmail(email, pageable)
+                : projectionRepository.findResponsesByEmail(email, pageable));
     }
 
+    @Transactional(readOnly = true)
     public Page<GuestResponse> searchByPhone(String phone, Pageable pageable) {
-        return guestRepository.findByPhoneContainingAndIsDeletedFalse(phone, pageable)
-                .map(this::mapToResponse);
+        return searchByPhone(phone, pageable, GuestView.FULL).map(GuestResponse.class::cast);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Page<? extends GuestSummaryResponse> searchByPhone(String phone, Pageable pageable, GuestView view) {
+        return searchCache.get(QueryType.PHONE, phone, null, pageable, view, () -> view == GuestView.SUMMARY
+                ? projectionRepository.findSummariesByPhone(phone, pageable)
+                : projectionRepository.findResponsesByPhone(phone, pageable));
+    }
+
+    @Transactional(readOnly = true)
     public Page<GuestResponse> searchByLoyaltyPoints(Integer minPoints, Pageable pageable) {
-        return guestRepository.findByLoyaltyPointsGreaterThanEqualAndIsDeletedFalse(minPoints, pageable)
-                .map(this::mapToResponse);
+        return searchByLoyaltyPoints(minPoints, pageable, GuestView.FULL).map(GuestResponse.class::cast);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Page<? extends GuestSummaryResponse> searchByLoyaltyPoints(Integer minPoints, Pageable pageable, GuestView view) {
+        return searchCache.get(QueryType.LOYALTY, null, minPoints, pageable, view, () -> view == GuestView.SUMMARY
+                ? projectionRepository.findSummariesByLoyaltyPoints(minPoints, pageable)
+                : projectionRepository.findResponsesByLoyaltyPoints(minPoints, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<GuestResponse> scrollAllGuests(String after, int size) {
+        GuestCursor cursor = GuestCursor.decode(after, false);
+        return idSlice(projectionRepository.findResponsesAfter(cursor.id(), Limit.of(size + 1)), size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<GuestResponse> scrollSearchGuests(String keyword, String after, int size) {
+        GuestCursor cursor = GuestCursor.decode(after, false);
+        long[] matches = searchIndex.search(keyword);
+        if (matches == null) {
+            return idSlice(projectionRepository.searchResponsesAfter(keyword, cursor.id(), Limit.of(size + 1)), size);
+        }
+
+        int next = Arrays.binarySearch(matches, cursor.id());
+        next = next >= 0 ? next + 1 : -next - 1;
+        List<GuestResponse> slice = new ArrayList<>(size + 1);
+        // Rows deleted since the index was updated drop out of a load, so keep loading until size + 1 rows
+        // are found or the matches run out; otherwise hasNext could turn false before the last slice
+        while (slice.size() <= size && next < matches.length) {
+            int to = Math.min(next + size + 1 - slice.size(), matches.length);
+            List<Long> ids = new ArrayList<>(to - next);
+            for (int i = next; i < to; i++) {
+                ids.add(matches[i]);
+            }
+            for (GuestSummaryResponse response : loadInOrder(ids, GuestView.FULL)) {
+                slice.add((GuestResponse) response);
+            }
+            next = to;
+        }
+        return idSlice(slice, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<GuestResponse> scrollByEmail(String email, String after, int size) {
+        GuestCursor cursor = GuestCursor.decode(after, false);
+        return idSlice(projectionRepository.findResponsesByEmailAfter(email, cursor.id(), Limit.of(size + 1)), size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<GuestResponse> scrollByPhone(String phone, String after, int size) {
+        GuestCursor cursor = GuestCursor.decode(after, false);
+        return idSlice(projectionRepository.findResponsesByPhoneAfter(phone, cursor.id(), Limit.of(size + 1)), size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<GuestResponse> scrollByLoyaltyPoints(Integer minPoints, String after, int size) {
+        GuestCursor cursor = GuestCursor.decode(after, true);
+        if (cursor == null || cursor.loyaltyPoints() < minPoints) {
+            cursor = GuestCursor.afterLoyalty(minPoints, 0L);
+        }
+        List<GuestResponse> guests = projectionRepository.findResponsesByLoyaltyPointsAfter(
+                minPoints, cursor.loyaltyPoints(), cursor.id(), Limit.of(size + 1));
+
+        boolean hasNext = guests.size() > size;
+        List<GuestResponse> slice = hasNext ? guests.subList(0, size) : guests;
+        String next = null;
+        if (hasNext) {
+            GuestResponse last = slice.get(slice.size() - 1);
+            next = GuestCursor.afterLoyalty(last.getLoyaltyPoints(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(slice, size, hasNext, next);
     }
 
-    private GuestResponse mapToResponse(Guest guest) {
+    // Resolves ids with one projection query and returns them in the given order, skipping vanished rows
+    private List<GuestSummaryResponse> loadInOrder(List<Long> ids, GuestView view) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<? extends GuestSummaryResponse> loaded = view == GuestView.SUMMARY
+                ? projectionRepository.findSummariesByIdIn(ids)
+                : projectionRepository.findResponsesByIdIn(ids);
+        Map<Long, GuestSummaryResponse> byId = new HashMap<>(loaded.size() * 4 / 3 + 1);
+        for (GuestSummaryResponse response : loaded) {
+            byId.put(response.getId(), response);
+        }
+        List<GuestSummaryResponse> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            GuestSummaryResponse response = byId.get(id);
+            if (response != null) {
+                ordered.add(response);
+            }
+        }
+        return ordered;
+    }
+
+    // Callers fetch size + 1 rows; the extra row only signals that another slice exists
+    private CursorPageResponse<GuestResponse> idSlice(List<GuestResponse> guests, int size) {
+        boolean hasNext = guests.size() > size;
+        List<GuestResponse> slice = hasNext ? guests.subList(0, size) : guests;
+        String next = hasNext ? GuestCursor.afterId(slice.get(slice.size() - 1).getId()).encode() : null;
+        return new CursorPageResponse<>(slice, size, hasNext, next);
+    }
+
+    // Changes that slip in after this check are still caught by the @Version column on flush
+    private static void checkVersion(Guest guest, Collection<Long> acceptedVersions) {
+        if (acceptedVersions != null && !acceptedVersions.contains(guest.getVersion())) {
+            throw new PreconditionFailedException("Guest has been modified, current version is " + guest.getVersion());
+        }
+    }
+
+    /**
+     * Cheap pre-check: emails the filter has never seen skip the existence query entirely.
+     * The unique constraint on guests.email stays the authoritative check (see {@link #saveAndFlush}).
+     */
+    private void ensureEmailAvailable(String email) {
+        if (!emailFilter.mightContain(email)) {
+            return;
+        }
+        boolean exists = guestRepository.existsByEmail(email);
+        emailFilter.recordVerified(exists);
+        if (exists) {
+            throw new EmailAlreadyExistsException("Email already exists");
+        }
+    }
+
+    // Flushes so a duplicate email surfaces here, inside the request, rather than at commit
+    private Guest saveAndFlush(Guest guest) {
+        Guest saved;
+        try {
+            saved = guestRepository.saveAndFlush(guest);
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                throw new EmailAlreadyExistsException("Email already exists");
+            }
+            throw ex;
+        }
+        emailFilter.put(saved.getEmail());
+        return saved;
+    }
+
+    // guests.email is the table's only unique constraint
+    static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
+            if (cause instanceof SQLException sql) {
+                // MySQL ER_DUP_ENTRY, or the standard SQLState for unique violations
+                return sql.getErrorCode() == 1062 || "23505".equals(sql.getSQLState());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the fields present in the patch onto the guest. Everything that can be rejected is checked
+     * before the first field is touched, so a rejected patch leaves the managed entity clean.
+     *
+     * @return whether any stored value changed
+     */
+    private boolean applyPatch(Guest guest, GuestPatchRequest patch) {
+        requirePresentNotNull(patch, "firstName", patch.getFirstName());
+        requirePresentNotNull(patch, "lastName", patch.getLastName());
+        requirePresentNotNull(patch, "email", patch.getEmail());
+        requirePresentNotNull(patch, "phone", patch.getPhone());
+
+        boolean emailChanged = patch.has("email") && !patch.getEmail().equals(guest.getEmail());
+        // A change of case only is the same address to the unique index, so it needs no lookup
+        if (emailChanged && !patch.getEmail().equalsIgnoreCase(guest.getEmail())) {
+            ensureEmailAvailable(patch.getEmail());
+        }
+
+        boolean changed = false;
+        if (patch.has("firstName") && !patch.getFirstName().equals(guest.getFirstName())) {
+            guest.setFirstName(patch.getFirstName());
+            changed = true;
+        }
+        if (patch.has("lastName") && !patch.getLastName().equals(guest.getLastName())) {
+            guest.setLastName(patch.getLastName());
+            changed = true;
+        }
+        if (emailChanged) {
+            guest.setEmail(patch.getEmail());
+            changed = true;
+        }
+        if (patch.has("phone") && !patch.getPhone().equals(guest.getPhone())) {
+            guest.setPhone(patch.getPhone());
+            changed = true;
+        }
+        if (patch.has("address") && !Objects.equals(patch.getAddress(), guest.getAddress())) {
+            guest.setAddress(patch.getAddress());
+            changed = true;
+        }
+        if (patch.has("idNumber") && !Objects.equals(patch.getIdNumber(), guest.getIdNumber())) {
+            guest.setIdNumber(patch.getIdNumber());
+            changed = true;
+        }
+        if (patch.has("preferences") && !Objects.equals(patch.getPreferences(), guest.getPreferences())) {
+            guest.setPreferences(patch.getPreferences());
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static void requirePresentNotNull(GuestPatchRequest patch, String field, String value) {
+        if (patch.has(field) && value == null) {
+            throw new InvalidPatchException(field + " cannot be removed");
+        }
+    }
+
+    // Same duplicate-email translation as saveAndFlush, for changes flushed together
+    private void flush() {
+        try {
+            guestRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                throw new EmailAlreadyExistsException("Email already exists");
+            }
+            throw ex;
+        }
+    }
+
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    GuestResponse mapToResponse(Guest guest) {
         return new GuestResponse(
                 guest.getId(),
                 guest.getFirstName() + " " + guest.getLastName(),
@@ -111,7 +644,20 @@ public class GuestService {
                 guest.getPhone(),
                 guest.getPreferences(),
                 guest.getStayHistory(),
-                guest.getLoyaltyPoints()
+                guest.getLoyaltyPoints(),
+                guest.getVersion()
+        );
+    }
+
+    // The fields searches match on, taken before a change so listeners can tell which results it leaves
+    GuestSummaryResponse mapToSummary(Guest guest) {
+        return new GuestSummaryResponse(
+                guest.getId(),
+                guest.getFirstName() + " " + guest.getLastName(),
+                guest.getEmail(),
+                guest.getPhone(),
+                guest.getLoyaltyPoints(),
+                guest.getVersion()
         );
     }
 }
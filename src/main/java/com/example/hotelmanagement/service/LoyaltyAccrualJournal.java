@@ -0,0 +1,339 @@
+package com.example.hotelmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local journal of loyalty accruals that have not reached the database yet.
+ * <p>
+ * Every accrual gets the next sequence number and is written as a {@code seq guestId points crc} line to
+ * the open segment. A flush rotates to a new segment, and once the flushed sequence is checkpointed in the
+ * database the older segments are deleted. Records in the remaining segments above the checkpoint are
+ * replayed on startup.
+ * <p>
+ * Writes are group-committed: {@link #append} queues its record and waits, while a single writer thread takes
+ * everything queued since its last write and writes it with one call, followed by one disk sync when
+ * {@code fsync} is on. Concurrent accruals therefore share a write and a sync instead of taking turns on a
+ * lock for their own. A record reaches the OS before {@link #append} returns, so it survives a process
+ * crash; with {@code fsync} it also survives power loss.
+ */
+public class LoyaltyAccrualJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyAccrualJournal.class);
+
+    private static final String PREFIX = "accruals-";
+    private static final String SUFFIX = ".log";
+
+    public record Entry(long sequence, long guestId, int points) {
+    }
+
+    private record Segment(Path path, long lastSequence) {
+    }
+
+    // Records queued for one write; every appender waits for its batch
+    private static final class Batch {
+        private final long firstSequence;
+        private final ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        private boolean done;
+        private IOException failure;
+
+        private Batch(long firstSequence) {
+            this.firstSequence = firstSequence;
+        }
+    }
+
+    private final Path directory;
+    private final boolean fsync;
+
+    // Guards the queue and sequence numbers; segment state is guarded by this
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final Condition queued = queueLock.newCondition();
+    private final Condition written = queueLock.newCondition();
+    private Batch pending;
+    private Thread writer;
+    private boolean closed;
+    private long nextSequence = 1;
+    private long batchesWritten;
+
+    private final Deque<Segment> closedSegments = new ArrayDeque<>();
+    private FileChannel channel;
+    private Path openPath;
+
+    public LoyaltyAccrualJournal(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Reads every segment left over from a previous run and returns the entries above the checkpoint,
+     * in sequence order. Must be called once before the first {@link #append}.
+     */
+    public synchronized List<Entry> recover(long checkpoint) {
+        List<Entry> pending = new ArrayList<>();
+        long lastSequence = checkpoint;
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+                stream.forEach(segments::add);
+            }
+            // Zero-padded start sequences sort lexicographically
+            segments.sort(null);
+            for (Path segment : segments) {
+                long segmentLast = checkpoint;
+                try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        Entry entry = parse(line);
+                        if (entry == null) {
+                            // A torn line from a crash mid-write, never acknowledged to the caller
+                            log.warn("Ignoring incomplete loyalty journal record in {}", segment.getFileName());
+                            continue;
+                        }
+                        segmentLast = Math.max(segmentLast, entry.sequence());
+                        if (entry.sequence() > checkpoint) {
+                            pending.add(entry);
+                        }
+                    }
+                }
+                closedSegments.add(new Segment(segment, segmentLast));
+                lastSequence = Math.max(lastSequence, segmentLast);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read loyalty journal in " + directory, ex);
+        }
+        queueLock.lock();
+        try {
+            nextSequence = lastSequence + 1;
+        } finally {
+            queueLock.unlock();
+        }
+        return pending;
+    }
+
+    /**
+     * Durably records one accrual and returns its sequence number, once the writer thread has written it.
+     */
+    public long append(long guestId, int points) {
+        queueLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Loyalty journal is closed");
+            }
+            if (writer == null) {
+                writer = Thread.ofPlatform().name("loyalty-journal-writer").daemon().start(this::writeQueued);
+            }
+            long sequence = nextSequence++;
+            if (pending == null) {
+                pending = new Batch(sequence);
+                queued.signal();
+            }
+            Batch batch = pending;
+            String record = sequence + " " + guestId + " " + points;
+            batch.lines.writeBytes((record + " " + crc(record) + "\n").getBytes(StandardCharsets.US_ASCII));
+
+            boolean interrupted = false;
+            while (!batch.done) {
+                try {
+                    written.await();
+                } catch (InterruptedException ex) {
+                    // The record is already queued, so wait for the outcome rather than report a false failure
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (batch.failure != null) {
+                throw new UncheckedIOException("Cannot write loyalty journal", batch.failure);
+            }
+            return sequence;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Number of writes so far; each covers every record queued while the previous one was in progress.
+     */
+    public long batchesWritten() {
+        queueLock.lock();
+        try {
+            return batchesWritten;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the open segment so later accruals go to a new one. Callers keep appends out while rotating,
+     * so every record numbered up to the returned sequence is in a closed segment.
+     *
+     * @return the highest sequence number written so far
+     */
+    public synchronized long rotate() {
+        long lastSequence;
+        queueLock.lock();
+        try {
+            lastSequence = nextSequence - 1;
+        } finally {
+            queueLock.unlock();
+        }
+        if (channel != null) {
+            closeChannel();
+            closedSegments.add(new Segment(openPath, lastSequence));
+            openPath = null;
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Deletes closed segments whose records are all at or below the checkpoint.
+     */
+    public synchronized void truncate(long checkpoint) {
+        while (!closedSegments.isEmpty() && closedSegments.peekFirst().lastSequence() <= checkpoint) {
+            Path path = closedSegments.pollFirst().path();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ex) {
+                // Harmless: its records are below the checkpoint and skipped on replay
+                log.warn("Cannot delete loyalty journal segment {}: {}", path.getFileName(), ex.getMessage());
+            }
+        }
+    }
+
+    public synchronized int segmentCount() {
+        return closedSegments.size() + (channel == null ? 0 : 1);
+    }
+
+    /**
+     * Lets the writer finish the queued records, stops it and closes the open segment.
+     */
+    @Override
+    public void close() {
+        Thread stopping;
+        queueLock.lock();
+        try {
+            closed = true;
+            stopping = writer;
+            queued.signal();
+        } finally {
+            queueLock.unlock();
+        }
+        if (stopping != null) {
+            try {
+                stopping.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (channel != null) {
+                closeChannel();
+            }
+        }
+    }
+
+    private void writeQueued() {
+        while (true) {
+            Batch batch;
+            queueLock.lock();
+            try {
+                while (pending == null && !closed) {
+                    queued.awaitUninterruptibly();
+                }
+                if (pending == null) {
+                    return;
+                }
+                batch = pending;
+                pending = null;
+            } finally {
+                queueLock.unlock();
+            }
+
+            IOException failure = null;
+            try {
+                write(batch);
+            } catch (IOException ex) {
+                failure = ex;
+            }
+
+            queueLock.lock();
+            try {
+                batch.done = true;
+                batch.failure = failure;
+                batchesWritten++;
+                written.signalAll();
+            } finally {
+                queueLock.unlock();
+            }
+        }
+    }
+
+    private synchronized void write(Batch batch) throws IOException {
+        if (channel == null) {
+            openPath = directory.resolve(PREFIX + String.format("%020d", batch.firstSequence) + SUFFIX);
+            channel = FileChannel.open(openPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(batch.lines.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot close loyalty journal segment", ex);
+        } finally {
+            channel = null;
+        }
+    }
+
+    private static Entry parse(String line) {
+        int lastSpace = line.lastIndexOf(' ');
+        if (lastSpace < 0 || !line.substring(lastSpace + 1).equals(crc(line.substring(0, lastSpace)))) {
+            return null;
+        }
+        String[] parts = line.substring(0, lastSpace).split(" ");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String crc(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.US_ASCII));
+        return Long.toHexString(crc.getValue());
+    }
+}
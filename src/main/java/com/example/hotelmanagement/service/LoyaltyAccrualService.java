@@ -0,0 +1,346 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import com.example.hotelmanagement.dto.LoyaltyAccrualResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.entity.LoyaltyAccrualCheckpoint;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
+import com.example.hotelmanagement.repository.GuestRepository;
+import com.example.hotelmanagement.repository.LoyaltyAccrualCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind loyalty accrual. Awarding points appends to the local journal and adds to a per-guest
+ * {@link LongAdder}, whose striped cells keep bursts for the same guest from contending; no row is locked.
+ * A scheduled flush swaps the buffer out, applies each guest's summed delta with one batched
+ * {@code UPDATE ... SET loyalty_points = loyalty_points + ?} and advances this instance's checkpoint in the
+ * same transaction.
+ * <p>
+ * Only {@code GET /guests/{id}} and {@code GET /guests/batch} add the deltas that are still pending. Lists,
+ * searches (including the loyalty-points threshold), scrolls, exports and the leaderboard show the stored
+ * balance, which catches up with the next flush, within {@code flush-interval}.
+ */
+@Service
+public class LoyaltyAccrualService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyAccrualService.class);
+
+    private static final String APPLY_SQL =
+            "UPDATE guests SET loyalty_points = COALESCE(loyalty_points, 0) + ?, version = version + 1 " +
+            "WHERE id = ? AND is_deleted = false";
+
+    private static final class Buffer {
+        private final ConcurrentHashMap<Long, LongAdder> deltas = new ConcurrentHashMap<>();
+
+        private void add(long guestId, long points) {
+            deltas.computeIfAbsent(guestId, id -> new LongAdder()).add(points);
+        }
+
+        private long get(long guestId) {
+            LongAdder delta = deltas.get(guestId);
+            return delta == null ? 0 : delta.sum();
+        }
+    }
+
+    private final GuestService guestService;
+    private final GuestRepository guestRepository;
+    private final LoyaltyAccrualCheckpointRepository checkpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LoyaltyAccrualJournal journal;
+    private final String nodeId;
+    private final int batchSize;
+
+    // Accruals hold the read lock, so swapping the buffer under the write lock sees every journaled accrual
+    private final ReadWriteLock drainLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile Buffer current = new Buffer();
+    private volatile Buffer inFlight;
+    private volatile long appliedSequence;
+
+    private final Counter accrued;
+    private final Counter rowsFlushed;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    public LoyaltyAccrualService(GuestService guestService,
+                                 GuestRepository guestRepository,
+                                 LoyaltyAccrualCheckpointRepository checkpointRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${guest.loyalty.accrual.journal-dir:data/loyalty-journal}") String journalDir,
+                                 @Value("${guest.loyalty.accrual.journal-fsync:false}") boolean journalFsync,
+                                 @Value("${guest.loyalty.accrual.node-id:${HOSTNAME:local}}") String nodeId,
+                                 @Value("${guest.loyalty.accrual.batch-size:500}") int batchSize) {
+        this.guestService = guestService;
+        this.guestRepository = guestRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new LoyaltyAccrualJournal(Path.of(journalDir), journalFsync);
+        this.nodeId = nodeId;
+        this.batchSize = batchSize;
+
+        this.accrued = Counter.builder("guest.loyalty.accrual.points")
+                .description("Loyalty points accepted for write-behind").register(meterRegistry);
+        this.rowsFlushed = Counter.builder("guest.loyalty.accrual.rows.flushed")
+                .description("Guest rows updated by accrual flushes").register(meterRegistry);
+        this.flushFailures = Counter.builder("guest.loyalty.accrual.flush.failures")
+                .description("Accrual flushes rolled back and retried later").register(meterRegistry);
+        this.flushTimer = Timer.builder("guest.loyalty.accrual.flush.duration")
+                .description("Duration of accrual flushes").register(meterRegistry);
+        meterRegistry.gauge("guest.loyalty.accrual.pending.guests", this, LoyaltyAccrualService::pendingGuests);
+    }
+
+    /**
+     * Loads accruals that were journaled but not yet applied before the last shutdown or crash;
+     * the first scheduled flush writes them.
+     */
+    @PostConstruct
+    public void recover() {
+        Long checkpoint = transactionTemplate.execute(status -> checkpointRepository.findById(nodeId)
+                .map(LoyaltyAccrualCheckpoint::getAppliedSequence)
+                .orElse(0L));
+        appliedSequence = checkpoint == null ? 0 : checkpoint;
+        List<LoyaltyAccrualJournal.Entry> pending = journal.recover(appliedSequence);
+        for (LoyaltyAccrualJournal.Entry entry : pending) {
+            current.add(entry.guestId(), entry.points());
+        }
+        if (!pending.isEmpty()) {
+            log.info("Recovered {} loyalty accruals after sequence {} from the journal", pending.size(), appliedSequence);
+        }
+    }
+
+    public LoyaltyAccrualResponse accrue(Long guestId, int points) {
+        // Rejects unknown and deleted guests; usually answered by the guest cache
+        GuestResponse guest = guestService.getGuestById(guestId);
+
+        long sequence;
+        long pending;
+        drainLock.readLock().lock();
+        try {
+            sequence = journal.append(guestId, points);
+            current.add(guestId, points);
+            pending = pendingLocked(guestId);
+        } finally {
+            drainLock.readLock().unlock();
+        }
+        accrued.increment(points);
+
+        int base = guest.getLoyaltyPoints() == null ? 0 : guest.getLoyaltyPoints();
+        return new LoyaltyAccrualResponse(guestId, points, saturate(base + pending), saturate(pending), sequence);
+    }
+
+    /**
+     * Points accrued for a guest that are not in the database yet.
+     */
+    public int pendingPoints(Long guestId) {
+        drainLock.readLock().lock();
+        try {
+            return saturate(pendingLocked(guestId));
+        } finally {
+            drainLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The given response with pending accruals added to its balance; the response itself is not modified.
+     */
+    public GuestResponse withPendingPoints(GuestResponse response, int pending) {
+        if (pending == 0) {
+            return response;
+        }
+        int base = response.getLoyaltyPoints() == null ? 0 : response.getLoyaltyPoints();
+        return new GuestResponse(response.getId(), response.getFullName(), response.getEmail(), response.getPhone(),
+                response.getPreferences(), response.getStayHistory(), saturate((long) base + pending), response.getVersion());
+    }
+
+    @Scheduled(fixedDelayString = "${guest.loyalty.accrual.flush-interval:PT1S}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * Applies everything accrued so far to the database.
+     *
+     * @return number of guests updated
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            Buffer drained;
+            long upToSequence;
+            drainLock.writeLock().lock();
+            try {
+                if (current.deltas.isEmpty()) {
+                    return 0;
+                }
+                upToSequence = journal.rotate();
+                drained = current;
+                inFlight = drained;
+                current = new Buffer();
+            } finally {
+                drainLock.writeLock().unlock();
+            }
+
+            long started = System.nanoTime();
+            try {
+                Integer updated = transactionTemplate.execute(status -> apply(drained, upToSequence));
+                appliedSequence = upToSequence;
+                rowsFlushed.increment(updated == null ? 0 : updated);
+                flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                journal.truncate(upToSequence);
+                return updated == null ? 0 : updated;
+            } catch (RuntimeException ex) {
+                // Nothing was applied; merge the deltas back so the next flush, whose checkpoint covers them, retries
+                drainLock.writeLock().lock();
+                try {
+                    drained.deltas.forEach((guestId, delta) -> current.add(guestId, delta.sum()));
+                } finally {
+                    drainLock.writeLock().unlock();
+                }
+                flushFailures.increment();
+                log.warn("Loyalty accrual flush failed, will retry: {}", ex.getMessage());
+                return 0;
+            } finally {
+                drainLock.writeLock().lock();
+                try {
+                    inFlight = null;
+                } finally {
+                    drainLock.writeLock().unlock();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Runs a merge of {@code duplicateId} into {@code survivorId} with flushes held off. Once the merge has
+     * committed, the points still buffered for the duplicate move to the survivor, journaled as a debit and a
+     * credit so a restart replays the move; a merge that throws leaves them with the duplicate.
+     */
+    public <T> T mergeGuests(Long survivorId, Long duplicateId, Supplier<T> merge) {
+        flushLock.lock();
+        try {
+            T result = merge.get();
+            drainLock.writeLock().lock();
+            try {
+                LongAdder moved = current.deltas.remove(duplicateId);
+                int points = moved == null ? 0 : saturate(moved.sum());
+                if (points != 0) {
+                    journal.append(duplicateId, -points);
+                    journal.append(survivorId, points);
+                    current.add(survivorId, points);
+                }
+            } finally {
+                drainLock.writeLock().unlock();
+            }
+            return result;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        drainLock.readLock().lock();
+        try {
+            return Map.of(
+                    "nodeId", nodeId,
+                    "pendingGuests", pendingGuests(),
+                    "appliedSequence", appliedSequence,
+                    "journalSegments", journal.segmentCount(),
+                    "journalWrites", journal.batchesWritten()
+            );
+        } finally {
+            drainLock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        journal.close();
+    }
+
+    private int apply(Buffer drained, long upToSequence) {
+        // Ascending ids keep concurrent flushes from several instances from deadlocking on row locks
+        List<Long> guestIds = new ArrayList<>(drained.deltas.keySet());
+        guestIds.sort(null);
+
+        List<Object[]> args = new ArrayList<>(guestIds.size());
+        for (Long guestId : guestIds) {
+            long delta = drained.get(guestId);
+            if (delta != 0) {
+                args.add(new Object[]{saturate(delta), guestId});
+            }
+        }
+        for (int from = 0; from < args.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(APPLY_SQL, args.subList(from, Math.min(from + batchSize, args.size())));
+        }
+
+        LoyaltyAccrualCheckpoint checkpoint = checkpointRepository.findById(nodeId)
+                .orElseGet(() -> new LoyaltyAccrualCheckpoint(nodeId));
+        checkpoint.advanceTo(upToSequence);
+        checkpointRepository.save(checkpoint);
+
+        // Cache, search index and ranking pick up the new balances after commit
+        int updated = 0;
+        for (Guest guest : guestRepository.findAllById(guestIds)) {
+            if (!guest.getIsDeleted()) {
+                // The row already holds the new balance; the search cache needs the one before this flush
+                GuestSummaryResponse previous = guestService.mapToSummary(guest);
+                int current = guest.getLoyaltyPoints() == null ? 0 : guest.getLoyaltyPoints();
+                previous.setLoyaltyPoints(saturate((long) current - drained.get(guest.getId())));
+                eventPublisher.publishEvent(new GuestChangedEvent(ChangeType.UPDATED, guest, guestService.mapToResponse(guest), previous));
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    private long pendingLocked(long guestId) {
+        Buffer flushing = inFlight;
+        return current.get(guestId) + (flushing == null ? 0 : flushing.get(guestId));
+    }
+
+    private int pendingGuests() {
+        Buffer flushing = inFlight;
+        return current.deltas.size() + (flushing == null ? 0 : flushing.deltas.size());
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+}
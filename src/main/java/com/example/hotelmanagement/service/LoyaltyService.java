@@ -0,0 +1,127 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.cache.GuestCache;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.LeaderboardEntryResponse;
+import com.example.hotelmanagement.dto.LoyaltyTierResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.exception.GuestNotFoundException;
+import com.example.hotelmanagement.exception.IndexNotReadyException;
+import com.example.hotelmanagement.index.LoyaltyRankIndex;
+import com.example.hotelmanagement.index.LoyaltyRankIndex.RankedGuest;
+import com.example.hotelmanagement.repository.GuestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional(readOnly = true)
+public class LoyaltyService {
+
+    private record Tier(String name, int minPoints) {
+    }
+
+    private final LoyaltyRankIndex rankIndex;
+    private final GuestRepository guestRepository;
+    private final GuestCache guestCache;
+    private final List<Tier> tiers;
+    private final int maxLeaderboardSize;
+
+    public LoyaltyService(LoyaltyRankIndex rankIndex,
+                          GuestRepository guestRepository,
+                          GuestCache guestCache,
+                          @Value("${guest.loyalty.tiers:SILVER:1000,GOLD:5000,PLATINUM:20000}") String tiers,
+                          @Value("${guest.loyalty.leaderboard.max-size:1000}") int maxLeaderboardSize) {
+        this.rankIndex = rankIndex;
+        this.guestRepository = guestRepository;
+        this.guestCache = guestCache;
+        this.tiers = parseTiers(tiers);
+        this.maxLeaderboardSize = maxLeaderboardSize;
+    }
+
+    public List<LeaderboardEntryResponse> leaderboard(int offset, int limit) {
+        requireReady();
+        List<RankedGuest> ranked = rankIndex.top(Math.max(0, offset), Math.max(1, Math.min(limit, maxLeaderboardSize)));
+
+        // Names come from the guest cache where possible; the rest are loaded in one query
+        Map<Long, String> names = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (RankedGuest guest : ranked) {
+            GuestResponse cached = guestCache.get(guest.id());
+            if (cached != null) {
+                names.put(guest.id(), cached.getFullName());
+            } else {
+                missing.add(guest.id());
+            }
+        }
+        for (Guest guest : guestRepository.findAllById(missing)) {
+            names.put(guest.getId(), guest.getFirstName() + " " + guest.getLastName());
+        }
+
+        List<LeaderboardEntryResponse> entries = new ArrayList<>(ranked.size());
+        for (RankedGuest guest : ranked) {
+            entries.add(new LeaderboardEntryResponse(guest.rank(), guest.id(), names.get(guest.id()),
+                    guest.loyaltyPoints(), tierFor(guest.loyaltyPoints())));
+        }
+        return entries;
+    }
+
+    public LeaderboardEntryResponse rankOf(Long guestId) {
+        requireReady();
+        RankedGuest ranked = rankIndex.rankOf(guestId);
+        if (ranked == null) {
+            throw new GuestNotFoundException("Guest not found");
+        }
+        Guest guest = guestRepository.findById(guestId)
+                .filter(g -> !g.getIsDeleted())
+                .orElseThrow(() -> new GuestNotFoundException("Guest not found"));
+        return new LeaderboardEntryResponse(ranked.rank(), guestId, guest.getFirstName() + " " + guest.getLastName(),
+                ranked.loyaltyPoints(), tierFor(ranked.loyaltyPoints()));
+    }
+
+    public List<LoyaltyTierResponse> tierCounts() {
+        requireReady();
+        List<LoyaltyTierResponse> result = new ArrayList<>(tiers.size());
+        for (int i = 0; i < tiers.size(); i++) {
+            Tier tier = tiers.get(i);
+            int atLeast = rankIndex.countAtLeast(tier.minPoints());
+            int nextTier = i + 1 < tiers.size() ? rankIndex.countAtLeast(tiers.get(i + 1).minPoints()) : 0;
+            result.add(new LoyaltyTierResponse(tier.name(), tier.minPoints(), atLeast - nextTier));
+        }
+        return result;
+    }
+
+    private String tierFor(int points) {
+        String tier = null;
+        for (Tier candidate : tiers) {
+            if (points >= candidate.minPoints()) {
+                tier = candidate.name();
+            }
+        }
+        return tier;
+    }
+
+    private void requireReady() {
+        if (!rankIndex.isReady()) {
+            throw new IndexNotReadyException("Loyalty ranking is still loading, retry shortly");
+        }
+    }
+
+    private static List<Tier> parseTiers(String spec) {
+        List<Tier> parsed = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] nameAndPoints = part.trim().split(":");
+            parsed.add(new Tier(nameAndPoints[0].trim(), Integer.parseInt(nameAndPoints[1].trim())));
+        }
+        parsed.sort((a, b) -> Integer.compare(a.minPoints(), b.minPoints()));
+        return List.copyOf(parsed);
+    }
+}
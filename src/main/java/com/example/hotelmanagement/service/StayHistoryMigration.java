@@ -0,0 +1,82 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.cache.GuestCache;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.repository.GuestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * One-off startup migration of the legacy free-text {@code guests.stay_history} column into
+ * the {@code stays} table. Enabled with {@code guest.stays.migrate-legacy=true}; safe to re-run
+ * because guests that already have stay rows are skipped.
+ */
+@Component
+public class StayHistoryMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StayHistoryMigration.class);
+
+    private final GuestRepository guestRepository;
+    private final StayService stayService;
+    private final GuestCache guestCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public StayHistoryMigration(GuestRepository guestRepository,
+                                StayService stayService,
+                                GuestCache guestCache,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${guest.stays.migrate-legacy:false}") boolean enabled,
+                                @Value("${guest.stays.migration-batch-size:500}") int batchSize) {
+        this.guestRepository = guestRepository;
+        this.stayService = stayService;
+        this.guestCache = guestCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long afterId = 0;
+        int guests = 0;
+        int stays = 0;
+        while (true) {
+            long cursor = afterId;
+            Batch batch = transactionTemplate.execute(status -> {
+                List<Guest> page = guestRepository.findWithLegacyStayHistoryAfter(cursor, Limit.of(batchSize));
+                int created = 0;
+                for (Guest guest : page) {
+                    created += stayService.migrateLegacyHistory(guest);
+                }
+                long lastId = page.isEmpty() ? cursor : page.get(page.size() - 1).getId();
+                return new Batch(page.size(), created, lastId);
+            });
+            if (batch == null || batch.scanned() == 0) {
+                break;
+            }
+            guests += batch.scanned();
+            stays += batch.created();
+            afterId = batch.lastId();
+        }
+        // Summaries were rewritten behind the cache's back
+        guestCache.clear();
+        log.info("Legacy stay history migration scanned {} guests and created {} stay rows", guests, stays);
+    }
+
+    private record Batch(int scanned, int created, long lastId) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import com.example.hotelmanagement.dto.StayRequest;
+import com.example.hotelmanagement.dto.StayResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.entity.Stay;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
+import com.example.hotelmanagement.exception.GuestNotFoundException;
+import com.example.hotelmanagement.exception.InvalidStayException;
+import com.example.hotelmanagement.repository.GuestRepository;
+import com.example.hotelmanagement.repository.StayRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@Transactional
+public class StayService {
+
+    private static final Logger log = LoggerFactory.getLogger(StayService.class);
+
+    // Legacy stayHistory entries look like "2023-01-15: Room 101"
+    private static final Pattern LEGACY_ENTRY = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})\\s*:\\s*(?:Room\\s+)?(\\S.*)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern LEGACY_SEPARATOR = Pattern.compile("[,;\\n]");
+
+    private final StayRepository stayRepository;
+    private final GuestRepository guestRepository;
+    private final GuestService guestService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int pointsPerNight;
+    private final int summarySize;
+
+    public StayService(StayRepository stayRepository,
+                       GuestRepository guestRepository,
+                       GuestService guestService,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${guest.loyalty.points-per-night:10}") int pointsPerNight,
+                       @Value("${guest.stays.summary-size:5}") int summarySize) {
+        this.stayRepository = stayRepository;
+        this.guestRepository = guestRepository;
+        this.guestService = guestService;
+        this.eventPublisher = eventPublisher;
+        this.pointsPerNight = pointsPerNight;
+        this.summarySize = summarySize;
+    }
+
+    public StayResponse recordCheckOut(Long guestId, StayRequest request) {
+        if (request.getCheckOutDate().isBefore(request.getCheckInDate())) {
+            throw new InvalidStayException("Check-out date must not be before check-in date");
+        }
+
+        Guest guest = findActiveGuest(guestId);
+        GuestSummaryResponse previous = guestService.mapToSummary(guest);
+        // Move any legacy free-text history into rows first so the summary rewrite below does not drop it
+        migrateLegacyHistory(guest);
+        boolean keepHistory = holdsUnmigratedHistory(guest);
+
+        long nights = Math.max(1, ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate()));
+        int points = (int) Math.min(Integer.MAX_VALUE, nights * pointsPerNight);
+        Stay stay = stayRepository.save(new Stay(guestId, request.getRoomNumber(),
+                request.getCheckInDate(), request.getCheckOutDate(), points));
+
+        // Accrue with a single atomic UPDATE instead of read-modify-write on the entity
+        guestRepository.recordStay(guestId, points, keepHistory ? null : buildSummary(guestId));
+        Guest refreshed = findActiveGuest(guestId);
+
+        GuestResponse response = guestService.mapToResponse(refreshed);
+        eventPublisher.publishEvent(new GuestChangedEvent(ChangeType.UPDATED, refreshed, response, previous));
+        return mapToResponse(stay);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<StayResponse> getStays(Long guestId, Pageable pageable) {
+        findActiveGuest(guestId);
+        return stayRepository.findByGuestIdOrderByCheckOutDateDescIdDesc(guestId, pageable)
+                .map(this::mapToResponse);
+    }
+
+    /**
+     * Converts the legacy free-text stayHistory of a guest into stay rows and replaces it with
+     * the bounded summary. Guests that already have stay rows are left alone, as are guests whose
+     * history contains entries that cannot be parsed, so nothing is ever lost.
+     *
+     * @return number of stay rows created
+     */
+    public int migrateLegacyHistory(Guest guest) {
+        String legacy = guest.getStayHistory();
+        if (legacy == null || legacy.isBlank() || stayRepository.existsByGuestId(guest.getId())) {
+            return 0;
+        }
+
+        List<Stay> parsed = new ArrayList<>();
+        for (String entry : LEGACY_SEPARATOR.split(legacy)) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            Matcher matcher = LEGACY_ENTRY.matcher(entry.trim());
+            if (!matcher.matches()) {
+                log.warn("Guest {} has unparseable stay history entry '{}', leaving history untouched", guest.getId(), entry.trim());
+                return 0;
+            }
+            try {
+                LocalDate date = LocalDate.parse(matcher.group(1));
+                String room = matcher.group(2).trim();
+                // Legacy entries only carry one date and their points were already granted
+                parsed.add(new Stay(guest.getId(), room.length() > 20 ? room.substring(0, 20) : room, date, date, 0));
+            } catch (DateTimeParseException ex) {
+                log.warn("Guest {} has invalid date in stay history entry '{}', leaving history untouched", guest.getId(), entry.trim());
+                return 0;
+            }
+        }
+
+        stayRepository.saveAll(parsed);
+        guest.setStayHistory(buildSummary(guest.getId()));
+        return parsed.size();
+    }
+
+    /**
+     * Moves the stays of a duplicate guest to the guest that is kept and rewrites the kept guest's summary.
+     * Legacy history on either side is converted first. Free text that could not be converted is never
+     * replaced: the kept guest's stays on, and the duplicate's is appended to it. The duplicate's own history
+     * column is left as it was.
+     *
+     * @return number of stay rows moved
+     */
+    public int mergeStays(Guest survivor, Guest duplicate) {
+        migrateLegacyHistory(survivor);
+        migrateLegacyHistory(duplicate);
+        boolean keepHistory = holdsUnmigratedHistory(survivor);
+        String duplicateText = holdsUnmigratedHistory(duplicate) ? duplicate.getStayHistory() : null;
+
+        int moved = stayRepository.reassignGuest(duplicate.getId(), survivor.getId());
+        String history = keepHistory ? survivor.getStayHistory() : buildSummary(survivor.getId());
+        if (duplicateText != null) {
+            history = history.isBlank() ? duplicateText : history + ", " + duplicateText;
+        }
+        if (!history.isEmpty()) {
+            survivor.setStayHistory(history);
+        }
+        return moved;
+    }
+
+    /**
+     * Whether the guest's stayHistory is free text that could not be migrated rather than the summary of its
+     * stay rows. Such text is the only record of those stays, so it must never be replaced by a summary.
+     */
+    private boolean holdsUnmigratedHistory(Guest guest) {
+        String history = guest.getStayHistory();
+        return history != null && !history.isBlank() && !history.equals(buildSummary(guest.getId()));
+    }
+
+    private String buildSummary(Long guestId) {
+        List<Stay> recent = stayRepository.findByGuestIdOrderByCheckOutDateDescIdDesc(guestId, Limit.of(summarySize));
+        StringBuilder summary = new StringBuilder();
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            Stay stay = recent.get(i);
+            if (!summary.isEmpty()) {
+                summary.append(", ");
+            }
+            summary.append(stay.getCheckInDate()).append(": Room ").append(stay.getRoomNumber());
+        }
+        return summary.toString();
+    }
+
+    private Guest findActiveGuest(Long guestId) {
+        return guestRepository.findById(guestId)
+                .filter(g -> !g.getIsDeleted())
+                .orElseThrow(() -> new GuestNotFoundException("Guest not found"));
+    }
+
+    private StayResponse mapToResponse(Stay stay) {
+        return new StayResponse(
+                stay.getId(),
+                stay.getGuestId(),
+                stay.getRoomNumber(),
+                stay.getCheckInDate(),
+                stay.getCheckOutDate(),
+                stay.getPointsEarned()
+        );
+    }
+}
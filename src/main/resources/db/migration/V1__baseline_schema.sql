@@ -0,0 +1,80 @@
+-- Schema as of the first versioned migration; identical to what ddl-auto=update created for the entities.
+-- Later changes go into new V<n>__*.sql files, never into this one.
+
+CREATE TABLE guests (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name      VARCHAR(100) NOT NULL,
+    last_name       VARCHAR(100) NOT NULL,
+    email           VARCHAR(150) NOT NULL,
+    phone           VARCHAR(20)  NOT NULL,
+    address         VARCHAR(255),
+    id_number       VARCHAR(255),
+    preferences     TEXT,
+    stay_history    TEXT,
+    loyalty_points  INT,
+    is_deleted      BIT(1),
+    version         BIGINT       NOT NULL DEFAULT 0,
+    created_at      DATETIME(6),
+    updated_at      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_guests_email UNIQUE (email),
+    INDEX idx_guests_deleted_updated (is_deleted, updated_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE guests_archive (
+    id              BIGINT       NOT NULL,
+    first_name      VARCHAR(100) NOT NULL,
+    last_name       VARCHAR(100) NOT NULL,
+    email           VARCHAR(150) NOT NULL,
+    phone           VARCHAR(20)  NOT NULL,
+    address         VARCHAR(255),
+    id_number       VARCHAR(255),
+    preferences     TEXT,
+    stay_history    TEXT,
+    loyalty_points  INT,
+    version         BIGINT       NOT NULL,
+    created_at      DATETIME(6),
+    deleted_at      DATETIME(6),
+    archived_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_guests_archive_archived_at (archived_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE stays (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    guest_id        BIGINT       NOT NULL,
+    room_number     VARCHAR(20)  NOT NULL,
+    check_in_date   DATE         NOT NULL,
+    check_out_date  DATE         NOT NULL,
+    points_earned   INT          NOT NULL,
+    created_at      DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_stays_guest_checkout (guest_id, check_out_date)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE loyalty_accrual_checkpoints (
+    node_id           VARCHAR(100) NOT NULL,
+    applied_sequence  BIGINT       NOT NULL,
+    updated_at        DATETIME(6)  NOT NULL,
+    PRIMARY KEY (node_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE guest_outbox (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    feed_position   BIGINT,
+    guest_id        BIGINT       NOT NULL,
+    change_type     ENUM ('CREATED', 'UPDATED', 'DELETED') NOT NULL,
+    guest_version   BIGINT,
+    payload         TEXT,
+    occurred_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT idx_guest_outbox_position UNIQUE (feed_position)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE guest_outbox_relay (
+    id              INT          NOT NULL,
+    last_position   BIGINT       NOT NULL,
+    purged_through  BIGINT       NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,8 @@
+-- Heartbeat row the replica lag monitor stamps on the primary and reads back from the replica.
+-- The monitor used to create this table itself, so databases that ran with replica routing already have it.
+
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id              INT          NOT NULL,
+    beat_millis     BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
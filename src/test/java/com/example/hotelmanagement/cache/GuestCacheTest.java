@@ -0,0 +1,149 @@
+package com.example.hotelmanagement.cache;
+
+import com.example.hotelmanagement.dto.CacheStatsResponse;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GuestCacheTest {
+
+    private final GuestCache cache = new GuestCache(1600, Duration.ofMinutes(10));
+
+    @Test
+    void getCountsHitsAndMisses() {
+        assertThat(cache.get(1L)).isNull();
+        cache.put(response(1L, "Alice"));
+
+        assertThat(cache.get(1L).getFullName()).isEqualTo("Alice");
+        CacheStatsResponse stats = cache.stats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void putIfAbsentKeepsNewerValue() {
+        long loadStamp = cache.loadStamp();
+        cache.put(response(1L, "Written"));
+        cache.putIfAbsent(response(1L, "Loaded"), loadStamp);
+
+        assertThat(cache.get(1L).getFullName()).isEqualTo("Written");
+    }
+
+    @Test
+    void loadThatRacedADeleteIsNotStored() {
+        long loadStamp = cache.loadStamp();
+        cache.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.DELETED, guest(1L), null));
+
+        cache.putIfAbsent(response(1L, "Deleted meanwhile"), loadStamp);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void loadStartedAfterTheEvictionIsStored() {
+        cache.evict(1L);
+        long otherStamp = cache.loadStamp();
+        cache.evict(2L);
+
+        cache.putIfAbsent(response(1L, "Reloaded"), otherStamp);
+
+        assertThat(cache.get(1L).getFullName()).isEqualTo("Reloaded");
+    }
+
+    @Test
+    void clearRefusesEveryLoadStartedBeforeIt() {
+        long loadStamp = cache.loadStamp();
+        cache.clear();
+
+        cache.putIfAbsent(response(3L, "Stale"), loadStamp);
+        cache.putIfAbsent(response(4L, "Fresh"), cache.loadStamp());
+
+        assertThat(cache.get(3L)).isNull();
+        assertThat(cache.get(4L)).isNotNull();
+    }
+
+    @Test
+    void loadOlderThanTheRememberedWritesIsNotStored() {
+        GuestCache small = new GuestCache(16, Duration.ofMinutes(10));
+        long loadStamp = small.loadStamp();
+        for (long id = 100; id < 100_000; id++) {
+            small.evict(id);
+        }
+
+        small.putIfAbsent(response(1L, "Maybe stale"), loadStamp);
+
+        assertThat(small.get(1L)).isNull();
+    }
+
+    @Test
+    void cachedResponsesAreCopies() {
+        GuestResponse written = response(1L, "Alice");
+        cache.put(written);
+        written.setFullName("Changed by the writer");
+
+        GuestResponse cached = cache.get(1L);
+        cached.setLoyaltyPoints(500);
+
+        assertThat(cached.getFullName()).isEqualTo("Alice");
+        assertThat(cache.get(1L).getLoyaltyPoints()).isZero();
+    }
+
+    @Test
+    void putOverwritesExistingValue() {
+        cache.put(response(1L, "Old"));
+        cache.put(response(1L, "New"));
+
+        assertThat(cache.get(1L).getFullName()).isEqualTo("New");
+    }
+
+    @Test
+    void entriesExpireAfterTtl() throws InterruptedException {
+        GuestCache shortLived = new GuestCache(16, Duration.ofMillis(1));
+        shortLived.put(response(1L, "Alice"));
+        Thread.sleep(5);
+
+        assertThat(shortLived.get(1L)).isNull();
+        assertThat(shortLived.stats().getExpirations()).isEqualTo(1);
+    }
+
+    @Test
+    void segmentsEvictLeastRecentlyUsed() {
+        GuestCache small = new GuestCache(16, Duration.ofMinutes(10));
+        for (long id = 1; id <= 200; id++) {
+            small.put(response(id, "Guest " + id));
+        }
+
+        CacheStatsResponse stats = small.stats();
+        assertThat(stats.getSize()).isLessThanOrEqualTo(16);
+        assertThat(stats.getEvictions()).isEqualTo(200 - stats.getSize());
+    }
+
+    @Test
+    void deleteEventEvictsAndUpdateEventRefreshes() {
+        cache.put(response(1L, "Alice"));
+        cache.put(response(2L, "Bob"));
+
+        cache.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.DELETED, guest(1L), null));
+        cache.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.UPDATED, guest(2L),
+                response(2L, "Robert")));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L).getFullName()).isEqualTo("Robert");
+    }
+
+    private static GuestResponse response(Long id, String fullName) {
+        return new GuestResponse(id, fullName, "guest" + id + "@example.com", null, null, null, 0, 0L);
+    }
+
+    private static Guest guest(Long id) {
+        Guest guest = new Guest();
+        guest.setId(id);
+        return guest;
+    }
+}
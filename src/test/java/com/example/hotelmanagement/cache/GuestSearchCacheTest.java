@@ -0,0 +1,249 @@
+package com.example.hotelmanagement.cache;
+
+import com.example.hotelmanagement.cache.GuestSearchCache.QueryType;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import com.example.hotelmanagement.dto.GuestView;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GuestSearchCacheTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+    private final GuestSearchCache cache = new GuestSearchCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesRepeatedQueriesFromCacheIgnoringCase() {
+        search(QueryType.KEYWORD, "Anna", page(1L));
+        search(QueryType.KEYWORD, "ANNA", page(1L));
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheLikeWildcards() {
+        search(QueryType.EMAIL, "a_b%", page());
+        search(QueryType.EMAIL, "a_b%", page());
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void changeToAnUnrelatedGuestKeepsThePage() {
+        search(QueryType.KEYWORD, "anna", page(1L));
+
+        cache.onGuestChanged(updated(guest(2L, "Binh", "Tran", "binh@example.com", 0),
+                summary(2L, "Binh Tran", "binh.old@example.com", 0)));
+
+        search(QueryType.KEYWORD, "anna", page(1L));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void guestThatNowMatchesEvictsThePage() {
+        search(QueryType.KEYWORD, "anna", page(1L));
+
+        cache.onGuestChanged(updated(guest(2L, "Ánna", "Tran", "x@example.com", 0),
+                summary(2L, "Binh Tran", "x@example.com", 0)));
+
+        search(QueryType.KEYWORD, "anna", page(1L, 2L));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void guestThatNoLongerMatchesEvictsThePage() {
+        search(QueryType.EMAIL, "@hotel.example", page());
+
+        cache.onGuestChanged(updated(guest(3L, "Cuong", "Le", "cuong@other.example", 0),
+                summary(3L, "Cuong Le", "cuong@hotel.example", 0)));
+
+        search(QueryType.EMAIL, "@hotel.example", page());
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void changeToAGuestShownOnThePageEvictsIt() {
+        search(QueryType.PHONE, "0901", page(4L));
+
+        // Neither state matches the phone any more, but the cached page still lists the guest
+        cache.onGuestChanged(updated(guest(4L, "Dung", "Pham", "dung@example.com", 0),
+                summary(4L, "Dung Pham", "dung@example.com", 0)));
+
+        search(QueryType.PHONE, "0901", page());
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void updateWithoutPreviousStateEvictsEverything() {
+        search(QueryType.KEYWORD, "anna", page(1L));
+        search(QueryType.EMAIL, "@example.com", page());
+
+        cache.onGuestChanged(new GuestChangedEvent(ChangeType.UPDATED,
+                guest(9L, "Zed", "Zed", "z@example.com", 0), null));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void deletedGuestEvictsPagesItMatched() {
+        search(QueryType.KEYWORD, "binh", page(2L));
+        search(QueryType.KEYWORD, "anna", page(1L));
+
+        cache.onGuestChanged(new GuestChangedEvent(ChangeType.DELETED,
+                guest(2L, "Binh", "Tran", "binh@example.com", 0), null));
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void loadRacingAnAffectingChangeIsNotStored() {
+        cache.get(QueryType.KEYWORD, "anna", null, FIRST_PAGE, GuestView.SUMMARY, () -> {
+            loads.incrementAndGet();
+            cache.onGuestChanged(new GuestChangedEvent(ChangeType.CREATED,
+                    guest(6L, "Anna", "Vo", "anna.vo@example.com", 0), null));
+            return page(1L);
+        });
+        cache.get(QueryType.KEYWORD, "binh", null, FIRST_PAGE, GuestView.SUMMARY, () -> {
+            loads.incrementAndGet();
+            cache.onGuestChanged(new GuestChangedEvent(ChangeType.CREATED,
+                    guest(7L, "Anna", "Ly", "anna.ly@example.com", 0), null));
+            return page(2L);
+        });
+
+        assertThat(cache.size()).isEqualTo(1);
+        search(QueryType.KEYWORD, "binh", page(2L));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loyaltyPagesOnlyDropForGuestsAtOrAboveTheThreshold() {
+        search(QueryType.LOYALTY, 500, page());
+
+        cache.onGuestChanged(updated(guest(5L, "E", "F", "e@example.com", 300), summary(5L, "E F", "e@example.com", 200)));
+        search(QueryType.LOYALTY, 500, page());
+        assertThat(loads).hasValue(1);
+
+        cache.onGuestChanged(updated(guest(5L, "E", "F", "e@example.com", 600), summary(5L, "E F", "e@example.com", 300)));
+        search(QueryType.LOYALTY, 500, page(5L));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void changesOfATransactionEvictOnlyOnceItCommits() {
+        search(QueryType.KEYWORD, "anna", page(1L));
+        search(QueryType.KEYWORD, "binh", page(2L));
+
+        inTransaction(() -> {
+            cache.onGuestChanged(updated(guest(1L, "Anna", "Le", "anna@example.com", 0),
+                    summary(1L, "Anna Le", "anna@example.com", 0)));
+            cache.onGuestChanged(new GuestChangedEvent(ChangeType.CREATED,
+                    guest(8L, "Chi", "Do", "chi@example.com", 0), null));
+            assertThat(cache.size()).isEqualTo(2);
+        }, true);
+
+        assertThat(cache.size()).isEqualTo(1);
+        search(QueryType.KEYWORD, "binh", page(2L));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void rolledBackChangesEvictNothing() {
+        search(QueryType.KEYWORD, "anna", page(1L));
+
+        inTransaction(() -> cache.onGuestChanged(new GuestChangedEvent(ChangeType.CREATED,
+                guest(6L, "Anna", "Vo", "anna.vo@example.com", 0), null)), false);
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void largeTransactionClearsTheCache() {
+        search(QueryType.KEYWORD, "anna", page(1L));
+
+        inTransaction(() -> {
+            for (long id = 100; id < 200; id++) {
+                cache.onGuestChanged(new GuestChangedEvent(ChangeType.CREATED,
+                        guest(id, "Zed", "Zed", "z" + id + "@example.com", 0), null));
+            }
+        }, true);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private void search(QueryType type, String text, Page<? extends GuestSummaryResponse> result) {
+        cache.get(type, text, null, FIRST_PAGE, GuestView.SUMMARY, () -> {
+            loads.incrementAndGet();
+            return result;
+        });
+    }
+
+    private void search(QueryType type, int minPoints, Page<? extends GuestSummaryResponse> result) {
+        cache.get(type, null, minPoints, FIRST_PAGE, GuestView.SUMMARY, () -> {
+            loads.incrementAndGet();
+            return result;
+        });
+    }
+
+    // Drives the synchronizations the way a transaction manager does on commit or rollback
+    private static void inTransaction(Runnable work, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            int status = commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Page<GuestSummaryResponse> page(Long... ids) {
+        List<GuestSummaryResponse> rows = java.util.Arrays.stream(ids)
+                .map(id -> summary(id, "Guest " + id, "guest" + id + "@example.com", 0))
+                .toList();
+        return new PageImpl<>(rows, FIRST_PAGE, rows.size());
+    }
+
+    private static GuestChangedEvent updated(Guest guest, GuestSummaryResponse previous) {
+        GuestResponse response = new GuestResponse(guest.getId(), guest.getFirstName() + " " + guest.getLastName(),
+                guest.getEmail(), guest.getPhone(), null, null, guest.getLoyaltyPoints(), 1L);
+        return new GuestChangedEvent(ChangeType.UPDATED, guest, response, previous);
+    }
+
+    private static Guest guest(Long id, String firstName, String lastName, String email, int loyaltyPoints) {
+        Guest guest = new Guest();
+        guest.setId(id);
+        guest.setFirstName(firstName);
+        guest.setLastName(lastName);
+        guest.setEmail(email);
+        guest.setPhone("0388000000");
+        guest.setLoyaltyPoints(loyaltyPoints);
+        return guest;
+    }
+
+    private static GuestSummaryResponse summary(Long id, String fullName, String email, int loyaltyPoints) {
+        return new GuestSummaryResponse(id, fullName, email, "0388000000", loyaltyPoints, 0L);
+    }
+}
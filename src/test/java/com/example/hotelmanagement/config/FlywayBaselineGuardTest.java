@@ -0,0 +1,70 @@
+package com.example.hotelmanagement.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlywayBaselineGuardTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private final String url = "jdbc:h2:mem:baseline" + DATABASES.incrementAndGet()
+            + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void preSeriesSchemaIsNotBaselined() throws SQLException {
+        execute("CREATE TABLE guests (id BIGINT AUTO_INCREMENT PRIMARY KEY, first_name VARCHAR(100) NOT NULL,"
+                + " last_name VARCHAR(100) NOT NULL, email VARCHAR(150) NOT NULL, phone VARCHAR(20) NOT NULL)");
+
+        assertThatThrownBy(() -> flyway().migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("column guests.version")
+                .hasMessageContaining("table guest_outbox")
+                .hasMessageContaining("without the prod profile");
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            assertThat(connection.getMetaData().getTables(null, null, "flyway_schema_history", null).next()).isFalse();
+        }
+    }
+
+    @Test
+    void schemaWithV1ObjectsIsBaselinedAndMigrated() throws SQLException {
+        execute("RUNSCRIPT FROM 'classpath:db/migration/V1__baseline_schema.sql'");
+
+        flyway().migrate();
+
+        assertThat(flyway().info().current().getVersion().getVersion()).isEqualTo("2");
+    }
+
+    @Test
+    void emptyDatabaseIsMigratedFromV1() {
+        flyway().migrate();
+
+        assertThat(flyway().info().applied()).hasSize(2);
+    }
+
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .callbacks(new FlywayBaselineGuard())
+                .load();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
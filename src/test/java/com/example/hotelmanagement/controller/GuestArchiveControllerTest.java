@@ -0,0 +1,39 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.exception.GlobalExceptionHandler;
+import com.example.hotelmanagement.service.GuestArchiveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GuestArchiveControllerTest {
+
+    private final GuestArchiveService archiveService = mock(GuestArchiveService.class);
+    private final MockMvc mockMvc;
+
+    GuestArchiveControllerTest() {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(new GuestArchiveController(archiveService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setValidator(validator)
+                .build();
+    }
+
+    @Test
+    void rejectsEmptyOversizedAndNegativePages() throws Exception {
+        mockMvc.perform(get("/api/v1/archived-guests").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/archived-guests").param("size", "1001"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/archived-guests").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(archiveService);
+    }
+}
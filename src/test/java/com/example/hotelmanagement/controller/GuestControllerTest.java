@@ -0,0 +1,71 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.dto.CursorPageResponse;
+import com.example.hotelmanagement.exception.GlobalExceptionHandler;
+import com.example.hotelmanagement.service.GuestExportService;
+import com.example.hotelmanagement.service.GuestImportService;
+import com.example.hotelmanagement.service.GuestService;
+import com.example.hotelmanagement.service.LoyaltyAccrualService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GuestControllerTest {
+
+    private final GuestService guestService = mock(GuestService.class);
+    private final MockMvc mockMvc;
+
+    GuestControllerTest() {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(new GuestController(guestService, mock(GuestImportService.class),
+                        mock(GuestExportService.class), mock(LoyaltyAccrualService.class)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setValidator(validator)
+                .build();
+    }
+
+    @Test
+    void scrollRejectsEmptySlices() throws Exception {
+        mockMvc.perform(get("/api/v1/guests/scroll").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0]").value("size: must be greater than or equal to 1"));
+        verifyNoInteractions(guestService);
+    }
+
+    @Test
+    void scrollSearchRejectsOversizedSlices() throws Exception {
+        mockMvc.perform(get("/api/v1/guests/search/scroll").param("keyword", "anna").param("size", "1001"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(guestService);
+    }
+
+    @Test
+    void pagedListRejectsNegativePages() throws Exception {
+        mockMvc.perform(get("/api/v1/guests").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(guestService);
+    }
+
+    @Test
+    void scrollAcceptsSizesWithinBounds() throws Exception {
+        when(guestService.scrollAllGuests(null, 1000)).thenReturn(new CursorPageResponse<>(List.of(), 1000, false, null));
+
+        mockMvc.perform(get("/api/v1/guests/scroll").param("size", "1000"))
+                .andExpect(status().isOk());
+        verify(guestService).scrollAllGuests(null, 1000);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.exception.GlobalExceptionHandler;
+import com.example.hotelmanagement.service.GuestDedupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GuestDedupControllerTest {
+
+    private final GuestDedupService dedupService = mock(GuestDedupService.class);
+    private final MockMvc mockMvc;
+
+    GuestDedupControllerTest() {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(new GuestDedupController(dedupService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setValidator(validator)
+                .build();
+    }
+
+    @Test
+    void rejectsEmptyOversizedAndNegativePages() throws Exception {
+        mockMvc.perform(get("/api/v1/guest-duplicates").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/guest-duplicates").param("size", "1001"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/guest-duplicates").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(dedupService);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GuestETagsTest {
+
+    @Test
+    void singleGuestIsTaggedWithItsVersion() {
+        assertThat(GuestETags.of(7L)).isEqualTo("\"7\"");
+    }
+
+    @Test
+    void ifMatchAcceptsListedStrongTagsOnly() {
+        assertThat(GuestETags.acceptedVersions("\"3\"")).containsExactly(3L);
+        assertThat(GuestETags.acceptedVersions(" \"3\" , \"5\"")).containsExactlyInAnyOrder(3L, 5L);
+        assertThat(GuestETags.acceptedVersions("W/\"3\"")).isEmpty();
+        assertThat(GuestETags.acceptedVersions("\"p1a2b\", \"\"")).isEmpty();
+    }
+
+    @Test
+    void ifMatchWithoutPreconditionReturnsNull() {
+        assertThat(GuestETags.acceptedVersions(null)).isNull();
+        assertThat(GuestETags.acceptedVersions(" ")).isNull();
+        assertThat(GuestETags.acceptedVersions("*")).isNull();
+    }
+
+    @Test
+    void pageTagChangesWithAnyListedVersionViewOrPosition() {
+        String tag = GuestETags.of(page(0, 1L, 1L, 2L, 1L), "full");
+
+        assertThat(GuestETags.of(page(0, 1L, 1L, 2L, 1L), "full")).isEqualTo(tag);
+        assertThat(GuestETags.of(page(0, 1L, 1L, 2L, 2L), "full")).isNotEqualTo(tag);
+        assertThat(GuestETags.of(page(0, 1L, 1L, 3L, 1L), "full")).isNotEqualTo(tag);
+        assertThat(GuestETags.of(page(0, 1L, 1L, 2L, 1L), "summary")).isNotEqualTo(tag);
+        assertThat(GuestETags.of(page(1, 1L, 1L, 2L, 1L), "full")).isNotEqualTo(tag);
+        assertThat(tag).startsWith("\"p").endsWith("\"");
+    }
+
+    @Test
+    void ifNoneMatchWithCurrentTagIsNotModified() {
+        String current = GuestETags.of(4L);
+
+        assertThat(checkNotModified(current, current)).isTrue();
+        assertThat(checkNotModified("\"3\", " + current, current)).isTrue();
+        assertThat(checkNotModified("\"3\"", current)).isFalse();
+    }
+
+    private static boolean checkNotModified(String ifNoneMatch, String etag) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/guests/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean notModified = new ServletWebRequest(request, response).checkNotModified(etag);
+        assertThat(response.getStatus()).isEqualTo(notModified ? 304 : 200);
+        return notModified;
+    }
+
+    // Pairs of (id, version)
+    private static Page<GuestSummaryResponse> page(int number, long... idVersions) {
+        List<GuestSummaryResponse> content = new ArrayList<>();
+        for (int i = 0; i < idVersions.length; i += 2) {
+            content.add(new GuestSummaryResponse(idVersions[i], "Guest", "g@example.com", null, 0, idVersions[i + 1]));
+        }
+        return new PageImpl<>(content, PageRequest.of(number, 10), 100);
+    }
+}
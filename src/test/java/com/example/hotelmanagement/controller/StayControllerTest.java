@@ -0,0 +1,54 @@
+package com.example.hotelmanagement.controller;
+
+import com.example.hotelmanagement.exception.GlobalExceptionHandler;
+import com.example.hotelmanagement.service.StayService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class StayControllerTest {
+
+    private final StayService stayService = mock(StayService.class);
+    private final MockMvc mockMvc;
+
+    StayControllerTest() {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(new StayController(stayService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setValidator(validator)
+                .build();
+    }
+
+    @Test
+    void rejectsEmptyOversizedAndNegativePages() throws Exception {
+        mockMvc.perform(get("/api/v1/guests/1/stays").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/guests/1/stays").param("size", "1001"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/guests/1/stays").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(stayService);
+    }
+
+    @Test
+    void acceptsPagesWithinBounds() throws Exception {
+        when(stayService.getStays(1L, PageRequest.of(2, 1000))).thenReturn(new PageImpl<>(List.of(), PageRequest.of(2, 1000), 0));
+
+        mockMvc.perform(get("/api/v1/guests/1/stays").param("page", "2").param("size", "1000"))
+                .andExpect(status().isOk());
+        verify(stayService).getStays(1L, PageRequest.of(2, 1000));
+    }
+}
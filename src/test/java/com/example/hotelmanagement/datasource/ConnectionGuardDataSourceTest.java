@@ -0,0 +1,98 @@
+package com.example.hotelmanagement.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConnectionGuardDataSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DataSource pool = mock(DataSource.class);
+
+    @Test
+    void closeReturnsThePermitOnlyOnce() throws SQLException {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionGuardDataSource guard = new ConnectionGuardDataSource(pool, 1, 0, Duration.ofMillis(10), registry);
+
+        Connection first = guard.getConnection();
+        assertThat(inUse()).isEqualTo(1);
+        first.close();
+        first.close();
+        assertThat(inUse()).isZero();
+
+        Connection second = guard.getConnection();
+        assertThatThrownBy(guard::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenTheWaitQueueIsFull() throws SQLException {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionGuardDataSource guard = new ConnectionGuardDataSource(pool, 1, 0, Duration.ofSeconds(30), registry);
+        guard.getConnection();
+
+        long started = System.nanoTime();
+        assertThatThrownBy(guard::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("too many requests waiting");
+        assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        assertThat(registry.get("guest.db.guard.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void waiterGetsThePermitWhenAConnectionIsReturned() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionGuardDataSource guard = new ConnectionGuardDataSource(pool, 1, 1, Duration.ofSeconds(10), registry);
+        Connection held = guard.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return guard.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (registry.get("guest.db.guard.waiting").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+        held.close();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void timesOutWaiters() throws SQLException {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionGuardDataSource guard = new ConnectionGuardDataSource(pool, 1, 1, Duration.ofMillis(20), registry);
+        guard.getConnection();
+
+        assertThatThrownBy(guard::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("timed out");
+    }
+
+    @Test
+    void releasesThePermitWhenThePoolFails() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+        ConnectionGuardDataSource guard = new ConnectionGuardDataSource(pool, 1, 0, Duration.ofMillis(10), registry);
+
+        assertThatThrownBy(guard::getConnection).hasMessage("pool timeout");
+        assertThat(inUse()).isZero();
+    }
+
+    private double inUse() {
+        return registry.get("guest.db.guard.in-use").gauge().value();
+    }
+}
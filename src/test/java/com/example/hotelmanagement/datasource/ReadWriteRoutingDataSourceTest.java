@@ -0,0 +1,79 @@
+package com.example.hotelmanagement.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+            mock(DataSource.class), mock(DataSource.class), lagMonitor, registry);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadRoutingContext.clear();
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Target.PRIMARY);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAHealthyReplica() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Target.REPLICA);
+        assertThat(registry.get("guest.db.routing").tag("target", "replica").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaLags() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Target.PRIMARY);
+        assertThat(registry.get("guest.db.routing.fallback").tag("reason", "replica-lag").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void readsOfARecentWriterStayOnThePrimary() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadRoutingContext.begin("client-1", true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Target.PRIMARY);
+        assertThat(registry.get("guest.db.routing.fallback").tag("reason", "recent-write").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void cacheFillsReadFromThePrimaryEvenWhenTheReplicaIsHealthy() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Object nested = ReadRoutingContext.readForCache(() -> {
+            ReadRoutingContext.readForCache(() -> routing.determineCurrentLookupKey());
+            return routing.determineCurrentLookupKey();
+        });
+
+        assertThat(nested).isEqualTo(ReadWriteRoutingDataSource.Target.PRIMARY);
+        assertThat(registry.get("guest.db.routing.fallback").tag("reason", "cache-fill").counter().count())
+                .isEqualTo(2);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Target.REPLICA);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.hotelmanagement.datasource;
+
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesInterceptorTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        ReadRoutingContext.clear();
+    }
+
+    @Test
+    void writerStaysOnThePrimaryForTheRestOfTheRequestAndTheWindow() {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofMinutes(1));
+
+        interceptor.preHandle(request("client-1"), response, null);
+        assertThat(ReadRoutingContext.isPrimaryOnly()).isFalse();
+        interceptor.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.UPDATED, new Guest(), null));
+        assertThat(ReadRoutingContext.isPrimaryOnly()).isTrue();
+        interceptor.afterCompletion(request("client-1"), response, null, null);
+        assertThat(ReadRoutingContext.clientId()).isNull();
+
+        interceptor.preHandle(request("client-1"), response, null);
+        assertThat(ReadRoutingContext.isPrimaryOnly()).isTrue();
+        interceptor.preHandle(request("client-2"), response, null);
+        assertThat(ReadRoutingContext.isPrimaryOnly()).isFalse();
+        assertThat(interceptor.stickyClients()).isEqualTo(1);
+    }
+
+    @Test
+    void stickinessExpiresAfterTheWindow() throws InterruptedException {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofMillis(1));
+        interceptor.preHandle(request("client-1"), response, null);
+        interceptor.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.UPDATED, new Guest(), null));
+        Thread.sleep(5);
+
+        interceptor.preHandle(request("client-1"), response, null);
+
+        assertThat(ReadRoutingContext.isPrimaryOnly()).isFalse();
+        assertThat(interceptor.stickyClients()).isZero();
+    }
+
+    @Test
+    void fallsBackToTheRemoteAddressWithoutAClientIdHeader() {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofMinutes(1));
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/guests/1");
+        request.setRemoteAddr("10.0.0.7");
+
+        interceptor.preHandle(request, response, null);
+
+        assertThat(ReadRoutingContext.clientId()).isEqualTo("10.0.0.7");
+    }
+
+    private static MockHttpServletRequest request(String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/guests/1");
+        request.addHeader(ReadYourWritesInterceptor.CLIENT_ID_HEADER, clientId);
+        return request;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.hotelmanagement.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlockingKeyTableTest {
+
+    @Test
+    void groupsGuestsSharingAKeyIntoAscendingBlocks() {
+        BlockingKeyTable table = new BlockingKeyTable(4);
+        table.add(BlockingKeyTable.pack("n|an nguyen", 9));
+        table.add(BlockingKeyTable.pack("p|901234567", 3));
+        table.add(BlockingKeyTable.pack("n|an nguyen", 2));
+        table.add(BlockingKeyTable.pack("n|binh tran", 4));
+        table.add(BlockingKeyTable.pack("p|901234567", 9));
+        table.add(BlockingKeyTable.pack("n|an nguyen", 5));
+        table.sort();
+
+        List<long[]> blocks = new ArrayList<>();
+        int oversized = table.forEachBlock(10, blocks::add);
+
+        assertThat(oversized).isZero();
+        assertThat(blocks).containsExactlyInAnyOrder(new long[]{2, 5, 9}, new long[]{3, 9});
+    }
+
+    @Test
+    void skipsAndCountsBlocksAboveTheLimit() {
+        BlockingKeyTable table = new BlockingKeyTable(0);
+        for (long id = 1; id <= 4; id++) {
+            table.add(BlockingKeyTable.pack("n|common name", id));
+        }
+        table.add(BlockingKeyTable.pack("i|B1234567", 7));
+        table.add(BlockingKeyTable.pack("i|B1234567", 8));
+        table.sort();
+
+        List<long[]> blocks = new ArrayList<>();
+        int oversized = table.forEachBlock(3, blocks::add);
+
+        assertThat(oversized).isEqualTo(1);
+        assertThat(blocks).containsExactly(new long[]{7, 8});
+    }
+
+    @Test
+    void collapsesTheSameGuestListedTwiceUnderOneHash() {
+        BlockingKeyTable table = new BlockingKeyTable(4);
+        long packed = BlockingKeyTable.pack("p|901234567", 6);
+        table.add(packed);
+        table.add(packed);
+        table.sort();
+
+        List<long[]> blocks = new ArrayList<>();
+        table.forEachBlock(10, blocks::add);
+
+        assertThat(blocks).isEmpty();
+    }
+
+    @Test
+    void growsBeyondItsInitialCapacity() {
+        BlockingKeyTable table = new BlockingKeyTable(16);
+        for (long id = 1; id <= 1000; id++) {
+            table.add(BlockingKeyTable.pack("k|" + (id % 10), id));
+        }
+        table.sort();
+
+        List<long[]> blocks = new ArrayList<>();
+        table.forEachBlock(100, blocks::add);
+
+        assertThat(table.size()).isEqualTo(1000);
+        assertThat(blocks).hasSize(10).allSatisfy(ids -> assertThat(ids).hasSize(100).isSorted());
+    }
+
+    @Test
+    void requiresSortingBeforeReadingBlocks() {
+        BlockingKeyTable table = new BlockingKeyTable(4);
+        table.add(BlockingKeyTable.pack("n|an", 1));
+
+        assertThatThrownBy(() -> table.forEachBlock(10, ids -> { })).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsIdsThatDoNotFitInThirtyTwoBits() {
+        assertThatThrownBy(() -> BlockingKeyTable.pack("n|an", 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BlockingKeyTable.pack("n|an", 1L << 32)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(BlockingKeyTable.pack("", 1)).isNotZero();
+    }
+}
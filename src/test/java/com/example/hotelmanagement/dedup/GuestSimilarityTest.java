@@ -0,0 +1,75 @@
+package com.example.hotelmanagement.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GuestSimilarityTest {
+
+    @Test
+    void jaroWinklerMatchesReferenceValues() {
+        assertThat(GuestSimilarity.jaroWinkler("MARTHA", "MARHTA")).isCloseTo(0.961, within(0.001));
+        assertThat(GuestSimilarity.jaroWinkler("DWAYNE", "DUANE")).isCloseTo(0.840, within(0.001));
+        assertThat(GuestSimilarity.jaroWinkler("DIXON", "DICKSONX")).isCloseTo(0.813, within(0.001));
+        assertThat(GuestSimilarity.jaroWinkler("abc", "abc")).isEqualTo(1.0);
+        assertThat(GuestSimilarity.jaroWinkler("abc", "")).isZero();
+        assertThat(GuestSimilarity.jaroWinkler("abc", "xyz")).isZero();
+    }
+
+    @Test
+    void blockingKeysIgnoreNameOrderAccentsAndPhoneFormatting() {
+        DedupRecord first = new DedupRecord(1L, "Nguyễn Văn", "An", "an@example.com", "+84 90-123-4567", "b 123 456");
+        DedupRecord second = new DedupRecord(2L, "An", "Nguyen Van", "an.nguyen@example.com", "0901234567", "B123456");
+
+        assertThat(GuestSimilarity.blockingKeys(first))
+                .containsExactly("n|an nguyen van", "p|901234567", "i|B123456")
+                .isEqualTo(GuestSimilarity.blockingKeys(second));
+    }
+
+    @Test
+    void blankFieldsProduceNoKey() {
+        DedupRecord record = new DedupRecord(1L, "An", "Nguyen", "an@example.com", null, "  ");
+
+        assertThat(GuestSimilarity.blockingKeys(record)).containsExactly("n|an nguyen");
+    }
+
+    @Test
+    void scoresReRegistrationAsDuplicateOfTheLowerId() {
+        GuestSimilarity.Profile original = GuestSimilarity.profile(
+                new DedupRecord(4L, "Nguyen Van", "An", "an.nguyen@example.com", "0901234567", null));
+        GuestSimilarity.Profile again = GuestSimilarity.profile(
+                new DedupRecord(2L, "An", "Nguyen Van", "annguyen@example.org", "+84901234567", null));
+
+        GuestSimilarity.Match match = GuestSimilarity.score(original, again, 0.85);
+
+        assertThat(match).isNotNull();
+        assertThat(match.guestId()).isEqualTo(2L);
+        assertThat(match.duplicateId()).isEqualTo(4L);
+        assertThat(match.matchedOn()).contains(GuestSimilarity.NAME, GuestSimilarity.PHONE);
+    }
+
+    @Test
+    void sameDocumentWithAgreeingNamesIsEnoughOnItsOwn() {
+        GuestSimilarity.Profile a = GuestSimilarity.profile(
+                new DedupRecord(1L, "Tran", "Binh", "binh@work.example", "0911111111", "C7654321"));
+        GuestSimilarity.Profile b = GuestSimilarity.profile(
+                new DedupRecord(2L, "Binh", "Tran", "tb1990@mail.example", "0388888888", "c-7654321"));
+
+        GuestSimilarity.Match match = GuestSimilarity.score(a, b, 0.9);
+
+        assertThat(match).isNotNull();
+        assertThat(match.score()).isEqualTo(1.0);
+        assertThat(match.matchedOn()).contains(GuestSimilarity.ID_NUMBER).doesNotContain(GuestSimilarity.PHONE);
+    }
+
+    @Test
+    void differentPeopleSharingAPhoneScoreBelowTheThreshold() {
+        GuestSimilarity.Profile a = GuestSimilarity.profile(
+                new DedupRecord(1L, "Le", "Hoa", "hoa@example.com", "0901234567", null));
+        GuestSimilarity.Profile b = GuestSimilarity.profile(
+                new DedupRecord(2L, "Pham", "Quang", "quang@example.com", "0901234567", null));
+
+        assertThat(GuestSimilarity.score(a, b, 0.85)).isNull();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.hotelmanagement.index;
+
+import com.example.hotelmanagement.dto.EmailFilterStatsResponse;
+import com.example.hotelmanagement.repository.GuestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailBloomFilterTest {
+
+    private final GuestRepository guestRepository = mock(GuestRepository.class);
+    private final EmailBloomFilter filter = new EmailBloomFilter(guestRepository, true, 0.01, 2.0, 1000, 500);
+
+    @Test
+    void reportsEverythingPossiblyPresentUntilBuilt() {
+        assertThat(filter.mightContain("anyone@example.com")).isTrue();
+        assertThat(filter.stats().isReady()).isFalse();
+    }
+
+    @Test
+    void hasNoFalseNegativesForLoadedAndAddedEmails() {
+        List<EmailEntry> stored = entries(1, 1200);
+        when(guestRepository.count()).thenReturn((long) stored.size());
+        when(guestRepository.findEmailEntriesAfter(eq(0L), any(Limit.class))).thenReturn(stored.subList(0, 500));
+        when(guestRepository.findEmailEntriesAfter(eq(500L), any(Limit.class))).thenReturn(stored.subList(500, 1000));
+        when(guestRepository.findEmailEntriesAfter(eq(1000L), any(Limit.class))).thenReturn(stored.subList(1000, 1200));
+
+        filter.rebuild();
+        filter.put("New.Guest@Example.com ");
+
+        for (EmailEntry entry : stored) {
+            assertThat(filter.mightContain(entry.email().toUpperCase())).isTrue();
+        }
+        assertThat(filter.mightContain("new.guest@example.com")).isTrue();
+        assertThat(filter.stats().getInsertions()).isEqualTo(1201);
+    }
+
+    @Test
+    void keepsFalsePositiveRateNearTarget() {
+        when(guestRepository.count()).thenReturn(1000L);
+        when(guestRepository.findEmailEntriesAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+        filter.rebuild();
+        for (int i = 0; i < 2000; i++) {
+            filter.put("stored" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        int probes = 20_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+
+        // Sized for 2000 insertions at 1%; allow generous slack for hash variance
+        assertThat((double) falsePositives / probes).isLessThan(0.03);
+        EmailFilterStatsResponse stats = filter.stats();
+        assertThat(stats.isReady()).isTrue();
+        assertThat(stats.getExpectedInsertions()).isEqualTo(2000);
+        assertThat(stats.getSkippedChecks()).isEqualTo(probes - falsePositives);
+    }
+
+    @Test
+    void recordsVerificationOutcomes() {
+        filter.recordVerified(true);
+        filter.recordVerified(false);
+        filter.recordVerified(false);
+
+        assertThat(filter.stats().getConfirmedPresent()).isEqualTo(1);
+        assertThat(filter.stats().getFalsePositives()).isEqualTo(2);
+    }
+
+    private static List<EmailEntry> entries(long fromId, long toId) {
+        List<EmailEntry> entries = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            entries.add(new EmailEntry(id, "guest" + id + "@example.com"));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.hotelmanagement.index;
+
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.repository.GuestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GuestSearchIndexTest {
+
+    private final GuestRepository guestRepository = mock(GuestRepository.class);
+    private GuestSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(guestRepository.findSearchDocumentsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                new GuestSearchDocument(1L, "Nguyễn", "Văn An", "an.nguyen@example.com", "+84901111111"),
+                new GuestSearchDocument(2L, "Trần", "Thị Bình", "binh.tran@example.com", "+84902222222")));
+        when(guestRepository.findSearchDocumentsAfter(eq(2L), any(Limit.class))).thenReturn(List.of(
+                new GuestSearchDocument(3L, "Đặng", "Minh", "minh.dang@example.com", "+84903333333")));
+        index = new GuestSearchIndex(guestRepository, true, 2);
+    }
+
+    @Test
+    void searchIsUnavailableUntilRebuilt() {
+        assertThat(index.search("nguyen")).isNull();
+
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void matchesSubstringsAccentAndCaseInsensitively() {
+        index.rebuild();
+
+        assertThat(index.search("NGUYEN")).containsExactly(1L);
+        assertThat(index.search("dang")).containsExactly(3L);
+        assertThat(index.search("example.com")).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("0222")).containsExactly(2L);
+        assertThat(index.search("zzz")).isEmpty();
+    }
+
+    @Test
+    void verifiesCandidatesAgainstFieldValues() {
+        index.rebuild();
+        index.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.CREATED,
+                guest(4L, "Hana", "Anna", "h.anna@example.com"), null));
+
+        // Every trigram of "hanna" is indexed for guest 4, but no single field contains it
+        assertThat(index.search("hanna")).isEmpty();
+        assertThat(index.search("h.anna")).containsExactly(4L);
+    }
+
+    @Test
+    void refusesQueriesItCannotAnswer() {
+        index.rebuild();
+
+        assertThat(index.search("an")).isNull();
+        assertThat(index.search("a%n")).isNull();
+        assertThat(index.search("a_n")).isNull();
+        assertThat(index.search(null)).isNull();
+    }
+
+    @Test
+    void appliesChangeEvents() {
+        index.rebuild();
+
+        Guest renamed = guest(2L, "Trần", "Thị Hoa", "hoa.tran@example.com");
+        index.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.UPDATED, renamed, null));
+        Guest deleted = guest(1L, "Nguyễn", "Văn An", "an.nguyen@example.com");
+        index.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.DELETED, deleted, null));
+
+        assertThat(index.search("binh")).isEmpty();
+        assertThat(index.search("hoa.tran")).containsExactly(2L);
+        assertThat(index.search("nguyen")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void memoryEstimateTracksDocumentsAndReleasesDeletedOnes() {
+        assertThat(index.memoryBytes()).isZero();
+        index.rebuild();
+        long built = index.memoryBytes();
+
+        index.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.DELETED,
+                guest(1L, "Nguyễn", "Văn An", "an.nguyen@example.com"), null));
+
+        assertThat(built).isPositive();
+        assertThat(index.memoryBytes()).isPositive().isLessThan(built);
+    }
+
+    @Test
+    void normalizeStripsDiacriticsAndLowerCases() {
+        assertThat(GuestSearchIndex.normalize("Đặng Thị Ánh")).isEqualTo("dang thi anh");
+        assertThat(GuestSearchIndex.normalize(null)).isEmpty();
+    }
+
+    private static Guest guest(Long id, String firstName, String lastName, String email) {
+        Guest guest = new Guest();
+        guest.setId(id);
+        guest.setFirstName(firstName);
+        guest.setLastName(lastName);
+        guest.setEmail(email);
+        guest.setPhone("+8490000000" + id);
+        guest.setIsDeleted(false);
+        return guest;
+    }
+}
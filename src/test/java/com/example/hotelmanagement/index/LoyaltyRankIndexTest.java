@@ -0,0 +1,76 @@
+package com.example.hotelmanagement.index;
+
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.repository.GuestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoyaltyRankIndexTest {
+
+    private final GuestRepository guestRepository = mock(GuestRepository.class);
+    private LoyaltyRankIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(guestRepository.findLoyaltyEntriesAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                new LoyaltyEntry(1L, 500), new LoyaltyEntry(2L, 1200)));
+        when(guestRepository.findLoyaltyEntriesAfter(eq(2L), any(Limit.class))).thenReturn(List.of(
+                new LoyaltyEntry(3L, 500), new LoyaltyEntry(4L, null)));
+        index = new LoyaltyRankIndex(guestRepository, true, 2);
+        index.rebuild();
+    }
+
+    @Test
+    void ranksGuestsWithTiesBrokenById() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.rankOf(2L)).isEqualTo(new LoyaltyRankIndex.RankedGuest(2L, 1200, 1));
+        assertThat(index.rankOf(1L).rank()).isEqualTo(2);
+        assertThat(index.rankOf(3L).rank()).isEqualTo(3);
+        assertThat(index.rankOf(4L)).isEqualTo(new LoyaltyRankIndex.RankedGuest(4L, 0, 4));
+        assertThat(index.rankOf(99L)).isNull();
+    }
+
+    @Test
+    void countsGuestsAtOrAboveThreshold() {
+        assertThat(index.countAtLeast(0)).isEqualTo(4);
+        assertThat(index.countAtLeast(500)).isEqualTo(3);
+        assertThat(index.countAtLeast(501)).isEqualTo(1);
+        assertThat(index.countAtLeast(5000)).isZero();
+    }
+
+    @Test
+    void topPagesThroughTheLeaderboard() {
+        assertThat(index.top(1, 2)).containsExactly(
+                new LoyaltyRankIndex.RankedGuest(1L, 500, 2),
+                new LoyaltyRankIndex.RankedGuest(3L, 500, 3));
+    }
+
+    @Test
+    void followsPointChangesAndDeletes() {
+        index.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.UPDATED, guest(3L, 2000), null));
+        index.onGuestChanged(new GuestChangedEvent(GuestChangedEvent.ChangeType.DELETED, guest(2L, 1200), null));
+
+        assertThat(index.rankOf(3L).rank()).isEqualTo(1);
+        assertThat(index.rankOf(2L)).isNull();
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.countAtLeast(500)).isEqualTo(2);
+    }
+
+    private static Guest guest(Long id, int loyaltyPoints) {
+        Guest guest = new Guest();
+        guest.setId(id);
+        guest.setLoyaltyPoints(loyaltyPoints);
+        guest.setIsDeleted(false);
+        return guest;
+    }
+}
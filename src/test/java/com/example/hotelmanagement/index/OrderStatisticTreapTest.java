@@ -0,0 +1,91 @@
+package com.example.hotelmanagement.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatisticTreapTest {
+
+    private static final Comparator<long[]> RANK_ORDER =
+            Comparator.<long[]>comparingLong(e -> -e[1]).thenComparingLong(e -> e[0]);
+
+    @Test
+    void ordersByPointsDescendingThenIdAscending() {
+        OrderStatisticTreap tree = new OrderStatisticTreap();
+        tree.insert(3, 100);
+        tree.insert(1, 50);
+        tree.insert(2, 100);
+        tree.insert(4, 200);
+
+        assertThat(visit(tree, 0, 10)).containsExactly("4:200", "2:100", "3:100", "1:50");
+        assertThat(visit(tree, 2, 10)).containsExactly("3:100", "1:50");
+        assertThat(visit(tree, 1, 2)).containsExactly("2:100", "3:100");
+        assertThat(visit(tree, 4, 10)).isEmpty();
+    }
+
+    @Test
+    void countBeforeGivesRankAndCountAtLeast() {
+        OrderStatisticTreap tree = new OrderStatisticTreap();
+        tree.insert(1, 10);
+        tree.insert(2, 20);
+        tree.insert(3, 20);
+        tree.insert(4, 30);
+
+        assertThat(tree.countBefore(30, 4)).isZero();
+        assertThat(tree.countBefore(20, 3)).isEqualTo(2);
+        assertThat(tree.countBefore(10, 1)).isEqualTo(3);
+        // Everything with at least 20 points sorts before (19, Long.MIN_VALUE)
+        assertThat(tree.countBefore(19, Long.MIN_VALUE)).isEqualTo(3);
+        assertThat(tree.countBefore(-1, Long.MIN_VALUE)).isEqualTo(4);
+    }
+
+    @Test
+    void matchesSortedListUnderRandomInsertsAndRemoves() {
+        Random random = new Random(42);
+        OrderStatisticTreap tree = new OrderStatisticTreap();
+        Map<Long, Integer> points = new HashMap<>();
+        for (int step = 0; step < 5000; step++) {
+            long id = random.nextInt(500);
+            Integer previous = points.remove(id);
+            if (previous != null) {
+                tree.remove(id, previous);
+            }
+            if (random.nextInt(4) != 0) {
+                int value = random.nextInt(50);
+                points.put(id, value);
+                tree.insert(id, value);
+            }
+        }
+
+        List<long[]> expected = new ArrayList<>();
+        points.forEach((id, value) -> expected.add(new long[]{id, value}));
+        expected.sort(RANK_ORDER);
+
+        assertThat(tree.size()).isEqualTo(expected.size());
+        for (int rank = 0; rank < expected.size(); rank++) {
+            long[] entry = expected.get(rank);
+            assertThat(tree.countBefore(entry[1], entry[0])).isEqualTo(rank);
+        }
+        List<String> ordered = new ArrayList<>();
+        for (long[] entry : expected) {
+            ordered.add(entry[0] + ":" + entry[1]);
+        }
+        assertThat(visit(tree, 0, Integer.MAX_VALUE)).containsExactlyElementsOf(ordered);
+    }
+
+    private static List<String> visit(OrderStatisticTreap tree, int offset, int limit) {
+        List<String> visited = new ArrayList<>();
+        tree.visitFrom(offset, (id, points) -> {
+            visited.add(id + ":" + points);
+            return visited.size() < limit;
+        });
+        return visited;
+    }
+}
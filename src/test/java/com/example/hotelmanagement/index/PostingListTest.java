@@ -0,0 +1,53 @@
+package com.example.hotelmanagement.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void keepsIdsSortedAndUnique() {
+        PostingList list = new PostingList();
+        for (long id : new long[]{5, 1, 9, 5, 3, 9, 7}) {
+            list.add(id);
+        }
+
+        assertThat(contents(list)).containsExactly(1, 3, 5, 7, 9);
+    }
+
+    @Test
+    void removeReportsWhetherIdWasPresent() {
+        PostingList list = new PostingList();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+
+        assertThat(list.remove(2)).isTrue();
+        assertThat(list.remove(2)).isFalse();
+        assertThat(contents(list)).containsExactly(1, 3);
+    }
+
+    @Test
+    void seekFindsFirstIdNotLessThanTarget() {
+        PostingList list = new PostingList();
+        for (long id = 0; id < 1000; id += 10) {
+            list.add(id);
+        }
+
+        assertThat(list.seek(0, 0)).isEqualTo(0);
+        assertThat(list.seek(500, 0)).isEqualTo(50);
+        assertThat(list.seek(501, 0)).isEqualTo(51);
+        assertThat(list.seek(501, 51)).isEqualTo(51);
+        assertThat(list.seek(995, 3)).isEqualTo(list.size());
+        assertThat(list.seek(10, list.size())).isEqualTo(list.size());
+    }
+
+    private static long[] contents(PostingList list) {
+        long[] ids = new long[list.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = list.get(i);
+        }
+        return ids;
+    }
+}
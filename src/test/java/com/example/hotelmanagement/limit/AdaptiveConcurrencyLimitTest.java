@@ -0,0 +1,91 @@
+package com.example.hotelmanagement.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void admitsUpToTheLimitAndNoFurther() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 100);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(2);
+
+        limit.abandon();
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyStaysAtTheBaseline() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 200, 100);
+        fill(limit, 20);
+
+        limit.release(MILLIS, false);
+
+        assertThat(limit.limit()).isGreaterThan(20);
+    }
+
+    @Test
+    void shrinksWhenRequestsQueueBehindTheBaseline() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 200, 100);
+        fill(limit, 20);
+        limit.release(MILLIS, false);
+        int grown = limit.limit();
+        fill(limit, grown - limit.inFlight());
+
+        limit.release(10 * MILLIS, false);
+
+        assertThat(limit.limit()).isLessThan(grown);
+    }
+
+    @Test
+    void droppedRequestCutsTheLimitByTenPercent() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 200, 100);
+        fill(limit, 1);
+
+        limit.release(MILLIS, true);
+
+        assertThat(limit.limit()).isEqualTo(18);
+    }
+
+    @Test
+    void idleLimitIgnoresLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 200, 100);
+        fill(limit, 3);
+
+        limit.release(MILLIS, false);
+        limit.release(50 * MILLIS, false);
+
+        assertThat(limit.limit()).isEqualTo(20);
+        assertThat(limit.smoothedLatencyNanos()).isGreaterThan(MILLIS);
+    }
+
+    @Test
+    void staysWithinMinimumAndMaximum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 3, 5, 100);
+        fill(limit, 4);
+        limit.release(MILLIS, false);
+        assertThat(limit.limit()).isEqualTo(5);
+        for (int i = 0; i < 3; i++) {
+            limit.abandon();
+        }
+
+        for (int i = 0; i < 10; i++) {
+            fill(limit, 1);
+            limit.release(MILLIS, true);
+        }
+        assertThat(limit.limit()).isEqualTo(3);
+    }
+
+    private static void fill(AdaptiveConcurrencyLimit limit, int permits) {
+        for (int i = 0; i < permits; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+    }
+}
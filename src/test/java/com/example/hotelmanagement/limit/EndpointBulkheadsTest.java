@@ -0,0 +1,66 @@
+package com.example.hotelmanagement.limit;
+
+import com.example.hotelmanagement.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EndpointBulkheadsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EndpointBulkheads bulkheads = new EndpointBulkheads(registry,
+            List.of("GET /api/v1/guests/{id}"), 2, 1, 10, 100, 1);
+
+    @Test
+    void rejectsWithTooManyRequestsOverTheEndpointLimit() {
+        bulkheads.acquire("GET", "/api/v1/guests/{id}");
+        bulkheads.acquire("GET", "/api/v1/guests/{id}");
+
+        assertThatThrownBy(() -> bulkheads.acquire("GET", "/api/v1/guests/{id}"))
+                .isInstanceOfSatisfying(ConcurrencyLimitExceededException.class, ex -> {
+                    assertThat(ex.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(ex.getRetryAfterSeconds()).isPositive();
+                });
+        // Another endpoint has a bulkhead of its own
+        bulkheads.acquire("PUT", "/api/v1/guests/{id}");
+    }
+
+    @Test
+    void lowPriorityEndpointsShareTheirSlots() {
+        EndpointBulkheads.Permit search = bulkheads.acquire("GET", "/api/v1/guests/search");
+
+        assertThatThrownBy(() -> bulkheads.acquire("GET", "/api/v1/guests/export"))
+                .isInstanceOfSatisfying(ConcurrencyLimitExceededException.class,
+                        ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(registry.get("guest.concurrency.in-flight").tag("endpoint", "GET /api/v1/guests/export")
+                .gauge().value()).isZero();
+
+        search.release(false);
+        bulkheads.acquire("GET", "/api/v1/guests/export");
+    }
+
+    @Test
+    void priorityRequestsIgnoreTheSharedSlots() {
+        bulkheads.acquire("GET", "/api/v1/guests/search");
+
+        bulkheads.acquire("GET", "/api/v1/guests/{id}");
+        bulkheads.acquire("POST", "/api/v1/guests");
+    }
+
+    @Test
+    void releasingTwiceReturnsThePermitOnce() {
+        EndpointBulkheads.Permit first = bulkheads.acquire("DELETE", "/api/v1/guests/{id}");
+        bulkheads.acquire("DELETE", "/api/v1/guests/{id}");
+
+        first.release(false);
+        first.release(false);
+
+        assertThat(registry.get("guest.concurrency.in-flight").tag("endpoint", "DELETE /api/v1/guests/{id}")
+                .gauge().value()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.hotelmanagement.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MeteredDataSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlMetrics sqlMetrics = new SqlMetrics(registry, Duration.ofSeconds(10), 1.0, 500);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement prepared = mock(PreparedStatement.class);
+    private final Statement statement = mock(Statement.class);
+    private MeteredDataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        sqlMetrics.end();
+    }
+
+    @Test
+    void countsExecutesPerRequestAndTreatsBatchesAsOneStatement() throws SQLException {
+        prepareConnection();
+        when(prepared.executeBatch()).thenReturn(new int[]{1, 1, 1});
+
+        sqlMetrics.begin();
+        try (Connection wrapped = dataSource.getConnection()) {
+            PreparedStatement insert = wrapped.prepareStatement("INSERT INTO guests (email) VALUES (?)");
+            insert.setString(1, "a@example.com");
+            insert.addBatch();
+            insert.addBatch();
+            insert.addBatch();
+            insert.executeBatch();
+            insert.setString(1, "b@example.com");
+            insert.executeUpdate();
+            wrapped.createStatement().execute("SELECT 1");
+        }
+        SqlMetrics.RequestStats stats = sqlMetrics.end();
+
+        assertThat(stats.statements()).isEqualTo(3);
+        assertThat(registry.get("guest.db.statement").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void recordsFailedStatementsAndRethrowsTheOriginalException() throws SQLException {
+        prepareConnection();
+        SQLException failure = new SQLException("Duplicate entry", "23000", 1062);
+        when(prepared.executeUpdate()).thenThrow(failure);
+
+        sqlMetrics.begin();
+        Connection wrapped = dataSource.getConnection();
+        PreparedStatement insert = wrapped.prepareStatement("INSERT INTO guests (email) VALUES (?)");
+
+        assertThatThrownBy(insert::executeUpdate).isSameAs(failure);
+        assertThat(sqlMetrics.end().statements()).isEqualTo(1);
+    }
+
+    @Test
+    void statementsOutsideARequestOnlyFeedTheGlobalTimer() throws SQLException {
+        prepareConnection();
+
+        dataSource.getConnection().createStatement().execute("SELECT 1");
+
+        assertThat(sqlMetrics.end()).isNull();
+        assertThat(registry.get("guest.db.statement").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publishesPerEndpointUsage() {
+        sqlMetrics.begin();
+        sqlMetrics.record("SELECT 1", 2_000_000, false);
+        sqlMetrics.record("SELECT 2", 3_000_000, false);
+        sqlMetrics.recordRequest("GET", "/api/v1/guests/{id}", sqlMetrics.end());
+
+        assertThat(registry.get("guest.db.request.statements").tag("uri", "/api/v1/guests/{id}")
+                .summary().totalAmount()).isEqualTo(2);
+        assertThat(registry.get("guest.db.request.time").tag("method", "GET").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+    }
+
+    private void prepareConnection() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(prepared);
+        when(connection.createStatement()).thenReturn(statement);
+        dataSource = new MeteredDataSource(target, sqlMetrics);
+    }
+}
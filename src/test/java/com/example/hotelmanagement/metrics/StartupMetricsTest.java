@@ -0,0 +1,49 @@
+package com.example.hotelmanagement.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StartupMetrics metrics = new StartupMetrics(registry);
+
+    @Test
+    void phasesAreUnknownUntilReached() {
+        assertThat(phase("started")).isNaN();
+        assertThat(phase("ready")).isNaN();
+        assertThat(phase("first-request")).isNaN();
+
+        metrics.onStarted(null);
+        metrics.onReady(null);
+
+        assertThat(phase("started")).isPositive();
+        assertThat(phase("ready")).isGreaterThanOrEqualTo(phase("started"));
+        assertThat(phase("first-request")).isNaN();
+    }
+
+    @Test
+    void recordsOnlyTheFirstApiRequest() throws InterruptedException {
+        metrics.onRequestHandled(handled("/actuator/health"));
+        assertThat(phase("first-request")).isNaN();
+
+        metrics.onRequestHandled(handled("/api/v1/guests/1"));
+        double first = phase("first-request");
+        Thread.sleep(5);
+        metrics.onRequestHandled(handled("/api/v1/guests/2"));
+
+        assertThat(first).isPositive();
+        assertThat(phase("first-request")).isEqualTo(first);
+    }
+
+    private double phase(String phase) {
+        return registry.get("guest.startup.time").tag("phase", phase).gauge().value();
+    }
+
+    private ServletRequestHandledEvent handled(String url) {
+        return new ServletRequestHandledEvent(this, url, "127.0.0.1", "GET", "dispatcherServlet", null, null, 3);
+    }
+}
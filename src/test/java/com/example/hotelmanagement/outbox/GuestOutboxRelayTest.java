@@ -0,0 +1,112 @@
+package com.example.hotelmanagement.outbox;
+
+import com.example.hotelmanagement.entity.GuestOutboxRelayState;
+import com.example.hotelmanagement.repository.GuestOutboxRelayStateRepository;
+import com.example.hotelmanagement.repository.GuestOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuestOutboxRelayTest {
+
+    private final GuestOutboxRepository outboxRepository = mock(GuestOutboxRepository.class);
+    private final GuestOutboxRelayStateRepository stateRepository = mock(GuestOutboxRelayStateRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<Object[]> assigned = new ArrayList<>();
+    private final GuestOutboxRelay relay = new GuestOutboxRelay(outboxRepository, stateRepository, jdbcTemplate,
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 3, Duration.ofDays(7));
+
+    GuestOutboxRelayTest() {
+        when(jdbcTemplate.batchUpdate(any(String.class), anyList())).thenAnswer(invocation -> {
+            assigned.addAll(invocation.getArgument(1));
+            return new int[0];
+        });
+    }
+
+    @Test
+    void numbersPendingEventsInIdOrderContinuingFromTheLastPosition() {
+        GuestOutboxRelayState state = new GuestOutboxRelayState(10);
+        when(stateRepository.lockById(GuestOutboxRelayState.ID)).thenReturn(Optional.of(state));
+        when(outboxRepository.findUnpositionedIds(Limit.of(3)))
+                .thenReturn(List.of(21L, 22L, 25L))
+                .thenReturn(List.of(26L))
+                .thenReturn(List.of());
+
+        long head = relay.positionPending();
+
+        assertThat(head).isEqualTo(14);
+        assertThat(state.getLastPosition()).isEqualTo(14);
+        assertThat(assigned).containsExactly(
+                new Object[]{11L, 21L}, new Object[]{12L, 22L}, new Object[]{13L, 25L}, new Object[]{14L, 26L});
+    }
+
+    @Test
+    void stopsAfterAShortBatchWithoutAnotherQuery() {
+        GuestOutboxRelayState state = new GuestOutboxRelayState(0);
+        when(stateRepository.lockById(GuestOutboxRelayState.ID)).thenReturn(Optional.of(state));
+        when(outboxRepository.findUnpositionedIds(Limit.of(3))).thenReturn(List.of(5L, 6L));
+
+        assertThat(relay.positionPending()).isEqualTo(2);
+        verify(outboxRepository).findUnpositionedIds(Limit.of(3));
+    }
+
+    @Test
+    void nothingPendingKeepsTheHeadWithoutWriting() {
+        when(stateRepository.lockById(GuestOutboxRelayState.ID)).thenReturn(Optional.of(new GuestOutboxRelayState(7)));
+        when(outboxRepository.findUnpositionedIds(Limit.of(3))).thenReturn(List.of());
+
+        assertThat(relay.positionPending()).isEqualTo(7);
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class), anyList());
+    }
+
+    @Test
+    void firstRunStartsAfterTheHighestExistingPosition() {
+        when(stateRepository.lockById(GuestOutboxRelayState.ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new GuestOutboxRelayState(41)));
+        when(outboxRepository.findMaxPosition()).thenReturn(41L);
+        when(outboxRepository.findUnpositionedIds(Limit.of(3))).thenReturn(List.of(100L));
+
+        assertThat(relay.positionPending()).isEqualTo(42);
+        verify(stateRepository).saveAndFlush(any(GuestOutboxRelayState.class));
+        assertThat(assigned).containsExactly(new Object[]{42L, 100L});
+    }
+
+    @Test
+    void purgeRecordsTheBoundaryBeforeDeletingInBatches() {
+        GuestOutboxRelayState state = new GuestOutboxRelayState(20);
+        state.purgeThrough(2);
+        when(stateRepository.lockById(GuestOutboxRelayState.ID)).thenReturn(Optional.of(state));
+        when(outboxRepository.findMaxPositionBefore(any(LocalDateTime.class))).thenReturn(9L);
+        when(outboxRepository.deletePositionRange(anyLong(), anyLong())).thenReturn(3);
+
+        relay.purge();
+
+        assertThat(state.getPurgedThrough()).isEqualTo(9);
+        var order = inOrder(stateRepository, outboxRepository);
+        order.verify(stateRepository).lockById(GuestOutboxRelayState.ID);
+        order.verify(outboxRepository).deletePositionRange(2, 5);
+        order.verify(outboxRepository).deletePositionRange(5, 8);
+        order.verify(outboxRepository).deletePositionRange(8, 9);
+        verify(outboxRepository, never()).deletePositionRange(eq(0L), anyLong());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.ArchiveRunResponse;
+import com.example.hotelmanagement.entity.GuestArchive;
+import com.example.hotelmanagement.exception.EmailAlreadyExistsException;
+import com.example.hotelmanagement.index.EmailBloomFilter;
+import com.example.hotelmanagement.repository.GuestArchiveRepository;
+import com.example.hotelmanagement.repository.GuestRepository;
+import com.example.hotelmanagement.repository.StayRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuestArchiveServiceTest {
+
+    private final GuestRepository guestRepository = mock(GuestRepository.class);
+    private final GuestArchiveRepository archiveRepository = mock(GuestArchiveRepository.class);
+    private final StayRepository stayRepository = mock(StayRepository.class);
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void movesBatchesUntilAShortBatch() {
+        when(guestRepository.lockArchivableIds(any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(1L, 2L)).thenReturn(List.of(3L, 4L)).thenReturn(List.of(5L));
+        when(jdbcTemplate.update(startsWith("DELETE FROM guests "), any(SqlParameterSource.class)))
+                .thenReturn(2, 2, 1);
+
+        ArchiveRunResponse run = service(10).archive();
+
+        assertThat(run.getBatches()).isEqualTo(3);
+        assertThat(run.getRowsMoved()).isEqualTo(5);
+        assertThat(run.isTruncated()).isFalse();
+        assertThat(run.getCutoff()).isBefore(run.getStartedAt().minusDays(29));
+        verify(jdbcTemplate, times(3)).update(startsWith("INSERT INTO guests_archive"), any(SqlParameterSource.class));
+        assertThat(registry.get("guest.archive.rows.moved").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    void stopsAtTheBatchLimit() {
+        when(guestRepository.lockArchivableIds(any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.update(startsWith("DELETE FROM guests "), any(SqlParameterSource.class))).thenReturn(2);
+
+        ArchiveRunResponse run = service(2).archive();
+
+        assertThat(run.getBatches()).isEqualTo(2);
+        assertThat(run.getRowsMoved()).isEqualTo(4);
+        assertThat(run.isTruncated()).isTrue();
+    }
+
+    @Test
+    void deletesOnlyTheLockedIds() {
+        when(guestRepository.lockArchivableIds(any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(7L, 9L)).thenReturn(List.of());
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(2);
+
+        service(10).archive();
+
+        verify(jdbcTemplate).update(startsWith("DELETE FROM guests "),
+                argThat((SqlParameterSource params) -> List.of(7L, 9L).equals(params.getValue("ids"))));
+    }
+
+    @Test
+    void restoreRefusesReusedEmail() {
+        GuestArchive archived = mock(GuestArchive.class);
+        when(archived.getEmail()).thenReturn("reused@example.com");
+        when(archiveRepository.findById(3L)).thenReturn(Optional.of(archived));
+        when(guestRepository.existsByEmail("reused@example.com")).thenReturn(true);
+
+        assertThatThrownBy(() -> service(10).restore(3L)).isInstanceOf(EmailAlreadyExistsException.class);
+        verify(jdbcTemplate, never()).update(anyString(), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void purgeBeforeRemovesStaysWithEachBatch() {
+        when(archiveRepository.findIdsArchivedBefore(any(LocalDateTime.class), eq(Limit.of(2))))
+                .thenReturn(List.of(1L, 2L)).thenReturn(List.of(3L));
+        when(archiveRepository.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(archiveRepository.deleteByIdIn(List.of(3L))).thenReturn(1);
+
+        long purged = service(10).purgeArchivedBefore(LocalDateTime.now());
+
+        assertThat(purged).isEqualTo(3);
+        verify(stayRepository).deleteByGuestIdIn(List.of(1L, 2L));
+        verify(stayRepository).deleteByGuestIdIn(List.of(3L));
+    }
+
+    private GuestArchiveService service(int maxBatchesPerRun) {
+        return new GuestArchiveService(guestRepository, archiveRepository, stayRepository, mock(GuestService.class),
+                mock(EmailBloomFilter.class), mock(ApplicationEventPublisher.class), jdbcTemplate,
+                mock(PlatformTransactionManager.class), registry, true, Duration.ofDays(30), 2, Duration.ZERO,
+                maxBatchesPerRun);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.GuestRequest;
+import com.example.hotelmanagement.exception.InvalidImportFileException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GuestCsvParserTest {
+
+    @Test
+    void mapsCamelAndSnakeCaseHeaders() throws IOException {
+        List<GuestRequest> rows = parse("first_name,lastName,EMAIL,phone,unknown\n"
+                + "An,Nguyen,an@example.com,+84901111111,ignored\n");
+
+        assertThat(rows).hasSize(1);
+        GuestRequest row = rows.get(0);
+        assertThat(row.getFirstName()).isEqualTo("An");
+        assertThat(row.getLastName()).isEqualTo("Nguyen");
+        assertThat(row.getEmail()).isEqualTo("an@example.com");
+        assertThat(row.getPhone()).isEqualTo("+84901111111");
+        assertThat(row.getAddress()).isNull();
+    }
+
+    @Test
+    void handlesQuotedFieldsWithSeparatorsQuotesAndNewlines() throws IOException {
+        List<GuestRequest> rows = parse("email,address,preferences\r\n"
+                + "a@example.com,\"12 Le Loi, District 1\",\"Says \"\"hi\"\"\nHigh floor\"\r\n");
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getAddress()).isEqualTo("12 Le Loi, District 1");
+        assertThat(rows.get(0).getPreferences()).isEqualTo("Says \"hi\"\nHigh floor");
+    }
+
+    @Test
+    void blankValuesAndShortRecordsBecomeNull() throws IOException {
+        List<GuestRequest> rows = parse("email,phone,address\nb@example.com,  \nc@example.com,,Hue");
+
+        assertThat(rows).extracting(GuestRequest::getEmail).containsExactly("b@example.com", "c@example.com");
+        assertThat(rows.get(0).getPhone()).isNull();
+        assertThat(rows.get(0).getAddress()).isNull();
+        assertThat(rows.get(1).getAddress()).isEqualTo("Hue");
+    }
+
+    @Test
+    void skipsEmptyLines() throws IOException {
+        List<GuestRequest> rows = parse("email\n\na@example.com\n\nb@example.com\n");
+
+        assertThat(rows).extracting(GuestRequest::getEmail).containsExactly("a@example.com", "b@example.com");
+    }
+
+    @Test
+    void rejectsEmptyFileMissingEmailColumnAndUnterminatedQuote() {
+        assertThatThrownBy(() -> parse("")).isInstanceOf(InvalidImportFileException.class);
+        assertThatThrownBy(() -> parse("first_name,phone\nAn,123\n"))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("email");
+        assertThatThrownBy(() -> parse("email\n\"a@example.com\n"))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("Unterminated");
+    }
+
+    private static List<GuestRequest> parse(String csv) throws IOException {
+        return new GuestCsvParser(new StringReader(csv)).parse();
+    }
+}
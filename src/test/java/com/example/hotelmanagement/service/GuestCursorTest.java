@@ -0,0 +1,58 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GuestCursorTest {
+
+    @Test
+    void idCursorRoundTrips() {
+        String token = GuestCursor.afterId(42L).encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(GuestCursor.decode(token, false)).isEqualTo(GuestCursor.afterId(42L));
+    }
+
+    @Test
+    void loyaltyCursorRoundTrips() {
+        String token = GuestCursor.afterLoyalty(1500, 7L).encode();
+
+        assertThat(GuestCursor.decode(token, true)).isEqualTo(GuestCursor.afterLoyalty(1500, 7L));
+    }
+
+    @Test
+    void missingTokenStartsFromTheBeginning() {
+        assertThat(GuestCursor.decode(null, false)).isEqualTo(GuestCursor.START);
+        assertThat(GuestCursor.decode(" ", false)).isEqualTo(GuestCursor.START);
+        assertThat(GuestCursor.decode(null, true)).isNull();
+    }
+
+    @Test
+    void rejectsTokensOfTheOtherOrdering() {
+        String idToken = GuestCursor.afterId(1L).encode();
+        String loyaltyToken = GuestCursor.afterLoyalty(10, 1L).encode();
+
+        assertThatThrownBy(() -> GuestCursor.decode(idToken, true)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> GuestCursor.decode(loyaltyToken, false)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> GuestCursor.decode("not base64!", false))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> GuestCursor.decode(encode("id:abc"), false))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> GuestCursor.decode(encode("lp:10"), true))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.cache.GuestCache;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.event.GuestChangedEvent.ChangeType;
+import com.example.hotelmanagement.exception.InvalidMergeException;
+import com.example.hotelmanagement.repository.GuestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GuestDedupServiceTest {
+
+    private final GuestRepository guestRepository = mock(GuestRepository.class);
+    private final GuestService guestService = mock(GuestService.class);
+    private final StayService stayService = mock(StayService.class);
+    private final LoyaltyAccrualService loyaltyAccrualService = mock(LoyaltyAccrualService.class);
+    private final GuestCache guestCache = mock(GuestCache.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final GuestDedupService dedupService = new GuestDedupService(guestRepository, guestService, stayService,
+            loyaltyAccrualService, guestCache, eventPublisher, mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry(), 1000, 1000, 100, 0.88, 1, 100);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(loyaltyAccrualService.mergeGuests(any(), any(), any())).thenAnswer(invocation ->
+                invocation.getArgument(2, Supplier.class).get());
+        when(guestRepository.saveAndFlush(any(Guest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(guestService.mapToResponse(any(Guest.class))).thenAnswer(invocation -> {
+            Guest guest = invocation.getArgument(0);
+            return new GuestResponse(guest.getId(), guest.getFirstName() + " " + guest.getLastName(), guest.getEmail(),
+                    guest.getPhone(), guest.getPreferences(), guest.getStayHistory(), guest.getLoyaltyPoints(), guest.getVersion());
+        });
+    }
+
+    @Test
+    void mergeFoldsTheDuplicateIntoTheSurvivor() {
+        Guest survivor = guest(1L, "an@example.com", 120, null, "Quiet room");
+        Guest duplicate = guest(2L, "an.nguyen@example.com", 80, "12 Le Loi", "Sea view");
+        duplicate.setIdNumber("079123456789");
+        when(guestRepository.findById(1L)).thenReturn(Optional.of(survivor));
+        when(guestRepository.findById(2L)).thenReturn(Optional.of(duplicate));
+        when(stayService.mergeStays(survivor, duplicate)).thenReturn(3);
+
+        GuestResponse merged = dedupService.merge(1L, 2L);
+
+        assertThat(merged.getLoyaltyPoints()).isEqualTo(200);
+        assertThat(survivor.getAddress()).isEqualTo("12 Le Loi");
+        assertThat(survivor.getIdNumber()).isEqualTo("079123456789");
+        // Only blank fields are filled from the duplicate
+        assertThat(survivor.getPreferences()).isEqualTo("Quiet room");
+        assertThat(survivor.getEmail()).isEqualTo("an@example.com");
+        assertThat(duplicate.getIsDeleted()).isTrue();
+        verify(stayService).mergeStays(survivor, duplicate);
+        verify(loyaltyAccrualService).mergeGuests(eq(1L), eq(2L), any());
+        verify(guestCache).evict(1L);
+        verify(guestCache).evict(2L);
+
+        ArgumentCaptor<GuestChangedEvent> events = ArgumentCaptor.forClass(GuestChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        List<GuestChangedEvent> published = events.getAllValues();
+        assertThat(published).extracting(GuestChangedEvent::type).containsExactly(ChangeType.UPDATED, ChangeType.DELETED);
+        assertThat(published).extracting(GuestChangedEvent::guestId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void mergeIntoItselfIsRejected() {
+        assertThatThrownBy(() -> dedupService.merge(1L, 1L)).isInstanceOf(InvalidMergeException.class);
+        verifyNoInteractions(guestRepository, loyaltyAccrualService);
+    }
+
+    private static Guest guest(Long id, String email, int loyaltyPoints, String address, String preferences) {
+        Guest guest = new Guest();
+        guest.setId(id);
+        guest.setFirstName("An");
+        guest.setLastName("Nguyen");
+        guest.setEmail(email);
+        guest.setPhone("0901234567");
+        guest.setLoyaltyPoints(loyaltyPoints);
+        guest.setAddress(address);
+        guest.setPreferences(preferences);
+        guest.setIsDeleted(false);
+        return guest;
+    }
+}
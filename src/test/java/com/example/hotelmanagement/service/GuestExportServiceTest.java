@@ -0,0 +1,71 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.repository.GuestRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuestExportServiceTest {
+
+    private final GuestRepository guestRepository = mock(GuestRepository.class);
+    private final GuestService guestService = mock(GuestService.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final GuestExportService exportService = new GuestExportService(guestRepository, guestService,
+            entityManager, JsonMapper.builder().build(), 2);
+
+    @Test
+    void writesCsvWithHeaderAndQuotesSpecialCharacters() throws IOException {
+        Guest first = guest(1L);
+        Guest second = guest(2L);
+        when(guestRepository.streamForExport("an", null, null, null)).thenReturn(Stream.of(first, second));
+        when(guestService.mapToResponse(first)).thenReturn(
+                new GuestResponse(1L, "An Nguyen", "an@example.com", null, "Quiet, \"high\" floor", null, 10, 0L));
+        when(guestService.mapToResponse(second)).thenReturn(
+                new GuestResponse(2L, "Binh Tran", "binh@example.com", "+84902222222", null, null, null, 0L));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export("an", " ", "", null, GuestExportService.Format.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,fullName,email,phone,preferences,stayHistory,loyaltyPoints\n"
+                        + "1,An Nguyen,an@example.com,,\"Quiet, \"\"high\"\" floor\",,10\n"
+                        + "2,Binh Tran,binh@example.com,+84902222222,,,\n");
+    }
+
+    @Test
+    void writesOneJsonObjectPerLineAndClearsPersistenceContext() throws IOException {
+        Guest[] guests = {guest(1L), guest(2L), guest(3L), guest(4L), guest(5L)};
+        when(guestRepository.streamForExport(null, null, null, 100)).thenReturn(Stream.of(guests));
+        for (Guest guest : guests) {
+            when(guestService.mapToResponse(guest)).thenReturn(new GuestResponse(guest.getId(), "Guest",
+                    "guest" + guest.getId() + "@example.com", null, null, null, 100, 0L));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(null, null, null, 100, GuestExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(5);
+        assertThat(lines[0]).startsWith("{").contains("\"id\":1", "\"email\":\"guest1@example.com\"");
+        verify(entityManager, times(2)).clear();
+    }
+
+    private static Guest guest(Long id) {
+        Guest guest = new Guest();
+        guest.setId(id);
+        return guest;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.BulkImportResponse;
+import com.example.hotelmanagement.dto.GuestRequest;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.index.EmailBloomFilter;
+import com.example.hotelmanagement.repository.GuestRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuestImportServiceTest {
+
+    private final GuestRepository guestRepository = mock(GuestRepository.class);
+    private final GuestService guestService = mock(GuestService.class);
+    private final EmailBloomFilter emailFilter = mock(EmailBloomFilter.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final GuestImportService importService = new GuestImportService(guestRepository, guestService,
+            emailFilter, jdbcTemplate, mock(PlatformTransactionManager.class), mock(Validator.class),
+            eventPublisher, 1000, 100);
+
+    private final AtomicLong nextId = new AtomicLong(41);
+    private boolean driverReturnsKeys = true;
+
+    @BeforeEach
+    void setUp() {
+        when(guestService.mapToResponse(any(Guest.class))).thenAnswer(invocation -> {
+            Guest guest = invocation.getArgument(0);
+            return new GuestResponse(guest.getId(), guest.getFirstName() + " " + guest.getLastName(),
+                    guest.getEmail(), guest.getPhone(), guest.getPreferences(), null, guest.getLoyaltyPoints(),
+                    guest.getVersion());
+        });
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            KeyHolder keys = invocation.getArgument(2);
+            int[] counts = new int[setter.getBatchSize()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = 1;
+                if (driverReturnsKeys) {
+                    keys.getKeyList().add(Map.of("id", nextId.getAndIncrement()));
+                }
+            }
+            return counts;
+        });
+    }
+
+    @Test
+    void buildsCreatedEventsFromGeneratedKeysWithoutReadingRowsBack() {
+        BulkImportResponse result = importService.importGuests(List.of(
+                request("an@example.com", "Quiet room"), request("binh@example.com", null)));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        List<GuestChangedEvent> events = publishedEvents(2);
+        assertThat(events).extracting(GuestChangedEvent::type)
+                .containsOnly(GuestChangedEvent.ChangeType.CREATED);
+        assertThat(events).extracting(event -> event.guest().getId()).containsExactly(41L, 42L);
+        assertThat(events).extracting(event -> event.response().getEmail())
+                .containsExactly("an@example.com", "binh@example.com");
+
+        Guest first = events.get(0).guest();
+        assertThat(first.getPreferences()).isEqualTo("Quiet room");
+        assertThat(first.getLoyaltyPoints()).isZero();
+        assertThat(first.getVersion()).isZero();
+        assertThat(first.getIsDeleted()).isFalse();
+        assertThat(first.getCreatedAt()).isNotNull().isEqualTo(first.getUpdatedAt());
+
+        verify(guestRepository, never()).findByEmailIn(anyCollection());
+        verify(emailFilter).put("an@example.com");
+        verify(emailFilter).put("binh@example.com");
+    }
+
+    @Test
+    void skipsExistingAndRepeatedEmails() {
+        when(guestRepository.findExistingEmails(anyCollection())).thenReturn(List.of("Taken@Example.com"));
+
+        BulkImportResponse result = importService.importGuests(List.of(
+                request("an@example.com", null), request("taken@example.com", null), request("AN@example.com", null)));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(BulkImportResponse.RowError::getRow).containsExactly(2, 3);
+        assertThat(publishedEvents(1).get(0).guest().getId()).isEqualTo(41L);
+    }
+
+    @Test
+    void readsRowsBackByEmailWhenTheDriverReturnsNoKeys() {
+        driverReturnsKeys = false;
+        Guest stored = new Guest();
+        stored.setId(7L);
+        stored.setEmail("an@example.com");
+        when(guestRepository.findByEmailIn(List.of("an@example.com"))).thenReturn(List.of(stored));
+
+        importService.importGuests(List.of(request("an@example.com", null)));
+
+        assertThat(publishedEvents(1).get(0).guest()).isSameAs(stored);
+    }
+
+    @Test
+    void rowRejectedByTheDatabaseReportsNoDriverText() throws Exception {
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            if (setter.getBatchSize() > 1) {
+                throw new DataIntegrityViolationException("batch rejected");
+            }
+            PreparedStatement ps = mock(PreparedStatement.class);
+            setter.setValues(ps, 0);
+            ArgumentCaptor<String> values = ArgumentCaptor.forClass(String.class);
+            verify(ps, atLeastOnce()).setString(eq(3), values.capture());
+            return switch (values.getValue()) {
+                case "taken@example.com" -> throw new DuplicateKeyException("Duplicate entry for key 'uk_guests_email'");
+                case "long@example.com" -> throw new DataIntegrityViolationException(
+                        "PreparedStatementCallback; SQL [INSERT INTO guests ...]; Data too long for column 'address'");
+                default -> {
+                    KeyHolder keys = invocation.getArgument(2);
+                    keys.getKeyList().add(Map.of("id", nextId.getAndIncrement()));
+                    yield new int[]{1};
+                }
+            };
+        });
+
+        BulkImportResponse result = importService.importGuests(List.of(request("an@example.com", null),
+                request("taken@example.com", null), request("long@example.com", null)));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(BulkImportResponse.RowError::getMessage)
+                .containsExactly("Email already exists", "Row violates a database constraint");
+    }
+
+    private List<GuestChangedEvent> publishedEvents(int count) {
+        ArgumentCaptor<GuestChangedEvent> captor = ArgumentCaptor.forClass(GuestChangedEvent.class);
+        verify(eventPublisher, times(count)).publishEvent(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static GuestRequest request(String email, String preferences) {
+        GuestRequest request = new GuestRequest();
+        request.setFirstName("Guest");
+        request.setLastName("Import");
+        request.setEmail(email);
+        request.setPhone("+84901234567");
+        request.setPreferences(preferences);
+        return request;
+    }
+}
@@ -0,0 +1,419 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.cache.GuestCache;
+import com.example.hotelmanagement.cache.GuestSearchCache;
+import com.example.hotelmanagement.dto.CursorPageResponse;
+import com.example.hotelmanagement.dto.GuestBatchPatchRequest;
+import com.example.hotelmanagement.dto.GuestBatchPatchResponse;
+import com.example.hotelmanagement.dto.GuestBatchPatchResponse.ItemResult;
+import com.example.hotelmanagement.dto.GuestBatchPatchResponse.Outcome;
+import com.example.hotelmanagement.dto.GuestMultiGetResponse;
+import com.example.hotelmanagement.dto.GuestPatchRequest;
+import com.example.hotelmanagement.dto.GuestRequest;
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.GuestSummaryResponse;
+import com.example.hotelmanagement.dto.GuestView;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.event.GuestChangedEvent;
+import com.example.hotelmanagement.exception.EmailAlreadyExistsException;
+import com.example.hotelmanagement.exception.InvalidLookupException;
+import com.example.hotelmanagement.exception.InvalidPatchException;
+import com.example.hotelmanagement.exception.PreconditionFailedException;
+import com.example.hotelmanagement.index.EmailBloomFilter;
+import com.example.hotelmanagement.index.GuestSearchIndex;
+import com.example.hotelmanagement.repository.GuestProjectionRepository;
+import com.example.hotelmanagement.repository.GuestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuestServiceTest {
+
+    private final GuestRepository guestRepository = mock(GuestRepository.class);
+    private final GuestProjectionRepository projectionRepository = mock(GuestProjectionRepository.class);
+    private final GuestSearchIndex searchIndex = mock(GuestSearchIndex.class);
+    private final EmailBloomFilter emailFilter = mock(EmailBloomFilter.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final GuestCache guestCache = new GuestCache(100, Duration.ofMinutes(1));
+    private final GuestService guestService = new GuestService(guestRepository, projectionRepository,
+            guestCache, new GuestSearchCache(new SimpleMeterRegistry(), false, 10, Duration.ofMinutes(1)), searchIndex,
+            emailFilter, eventPublisher, mock(Validator.class), 10, 5);
+
+    @Test
+    void createSkipsExistenceQueryForEmailsTheFilterHasNeverSeen() {
+        when(emailFilter.mightContain("new@example.com")).thenReturn(false);
+        when(guestRepository.saveAndFlush(any(Guest.class))).thenAnswer(invocation -> withId(invocation.getArgument(0)));
+
+        GuestResponse created = guestService.createGuest(request("new@example.com"));
+
+        assertThat(created.getId()).isEqualTo(10L);
+        verify(guestRepository, never()).existsByEmail(anyString());
+        verify(emailFilter).put("new@example.com");
+    }
+
+    @Test
+    void createConfirmsPossibleDuplicatesAgainstTheDatabase() {
+        when(emailFilter.mightContain("taken@example.com")).thenReturn(true);
+        when(guestRepository.existsByEmail("taken@example.com")).thenReturn(true);
+
+        assertThatThrownBy(() -> guestService.createGuest(request("taken@example.com")))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+        verify(emailFilter).recordVerified(true);
+        verify(guestRepository, never()).saveAndFlush(any(Guest.class));
+    }
+
+    @Test
+    void createMapsUniqueViolationToEmailAlreadyExists() {
+        when(emailFilter.mightContain("race@example.com")).thenReturn(false);
+        when(guestRepository.saveAndFlush(any(Guest.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new SQLException("Duplicate entry 'race@example.com' for key 'email'", "23000", 1062)));
+
+        assertThatThrownBy(() -> guestService.createGuest(request("race@example.com")))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+    }
+
+    @Test
+    void updateRejectsStaleIfMatchVersion() {
+        Guest stored = withId(guestEntity("old@example.com"));
+        stored.setVersion(3L);
+        when(guestRepository.findById(10L)).thenReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> guestService.updateGuest(10L, request("old@example.com"), Set.of(1L, 2L)))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("version is 3");
+        verify(guestRepository, never()).saveAndFlush(any(Guest.class));
+    }
+
+    @Test
+    void updateAcceptsAnyListedVersion() {
+        Guest stored = withId(guestEntity("old@example.com"));
+        stored.setVersion(3L);
+        when(guestRepository.findById(10L)).thenReturn(Optional.of(stored));
+        when(guestRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        GuestResponse updated = guestService.updateGuest(10L, request("old@example.com"), Set.of(2L, 3L));
+
+        assertThat(updated.getFullName()).isEqualTo("New Guest");
+        verify(guestRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void deleteChecksVersionBeforeMarkingDeleted() {
+        Guest stored = withId(guestEntity("old@example.com"));
+        stored.setVersion(5L);
+        when(guestRepository.findById(10L)).thenReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> guestService.deleteGuest(10L, Set.of(4L)))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(stored.getIsDeleted()).isFalse();
+
+        guestService.deleteGuest(10L, Set.of(5L));
+        assertThat(stored.getIsDeleted()).isTrue();
+    }
+
+    @Test
+    void patchMatchingStoredValuesWritesNothing() {
+        Guest stored = withId(guestEntity("same@example.com"));
+        stored.setVersion(4L);
+        when(guestRepository.findById(10L)).thenReturn(Optional.of(stored));
+        GuestPatchRequest patch = new GuestPatchRequest();
+        patch.setFirstName("Old");
+        patch.setEmail("same@example.com");
+
+        GuestResponse response = guestService.patchGuest(10L, patch, null);
+
+        assertThat(response.getVersion()).isEqualTo(4L);
+        verify(guestRepository, never()).saveAndFlush(any(Guest.class));
+        verify(guestRepository, never()).existsByEmail(anyString());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchLeavesMissingFieldsAndClearsNullOnes() {
+        Guest stored = withId(guestEntity("old@example.com"));
+        stored.setAddress("1 Old Street");
+        stored.setPreferences("High floor");
+        when(guestRepository.findById(10L)).thenReturn(Optional.of(stored));
+        when(guestRepository.saveAndFlush(stored)).thenReturn(stored);
+        GuestPatchRequest patch = new GuestPatchRequest();
+        patch.setAddress(null);
+        patch.setLastName("Renamed");
+
+        guestService.patchGuest(10L, patch, null);
+
+        assertThat(stored.getAddress()).isNull();
+        assertThat(stored.getPreferences()).isEqualTo("High floor");
+        assertThat(stored.getLastName()).isEqualTo("Renamed");
+        assertThat(stored.getFirstName()).isEqualTo("Old");
+        verify(eventPublisher).publishEvent(any(GuestChangedEvent.class));
+    }
+
+    @Test
+    void patchCannotRemoveRequiredFields() {
+        Guest stored = withId(guestEntity("old@example.com"));
+        when(guestRepository.findById(10L)).thenReturn(Optional.of(stored));
+        GuestPatchRequest patch = new GuestPatchRequest();
+        patch.setFirstName("Changed");
+        patch.setPhone(null);
+
+        assertThatThrownBy(() -> guestService.patchGuest(10L, patch, null))
+                .isInstanceOf(InvalidPatchException.class)
+                .hasMessage("phone cannot be removed");
+        assertThat(stored.getFirstName()).isEqualTo("Old");
+    }
+
+    @Test
+    void emailCaseChangeIsWrittenWithoutUniquenessCheck() {
+        Guest stored = withId(guestEntity("old@example.com"));
+        when(guestRepository.findById(10L)).thenReturn(Optional.of(stored));
+        when(guestRepository.saveAndFlush(stored)).thenReturn(stored);
+        GuestPatchRequest patch = new GuestPatchRequest();
+        patch.setEmail("Old@Example.com");
+
+        guestService.patchGuest(10L, patch, null);
+
+        assertThat(stored.getEmail()).isEqualTo("Old@Example.com");
+        verify(guestRepository, never()).existsByEmail(anyString());
+        verify(emailFilter, never()).mightContain(anyString());
+    }
+
+    @Test
+    void batchPatchReportsAnOutcomePerEntry() {
+        Guest first = withId(guestEntity("first@example.com"));
+        first.setVersion(1L);
+        Guest second = guestEntity("second@example.com");
+        second.setId(11L);
+        second.setIsDeleted(false);
+        second.setVersion(7L);
+        when(guestRepository.findAllById(any())).thenReturn(List.of(first, second));
+
+        GuestBatchPatchResponse response = guestService.patchGuests(List.of(
+                batchEntry(10L, null, "Changed"),
+                batchEntry(11L, null, "Old"),
+                batchEntry(11L, 6L, "Changed"),
+                batchEntry(12L, null, "Changed")));
+
+        assertThat(response.getResults()).extracting(ItemResult::getOutcome)
+                .containsExactly(Outcome.UPDATED, Outcome.UNCHANGED, Outcome.FAILED, Outcome.FAILED);
+        assertThat(response.getResults().get(3).getMessage()).isEqualTo("Guest not found");
+        assertThat(second.getFirstName()).isEqualTo("Old");
+        verify(guestRepository).flush();
+        verify(eventPublisher).publishEvent(any(GuestChangedEvent.class));
+    }
+
+    @Test
+    void batchPatchRejectsOversizedBatches() {
+        List<GuestBatchPatchRequest> patches = new ArrayList<>();
+        for (long id = 1; id <= 11; id++) {
+            patches.add(batchEntry(id, null, "Name"));
+        }
+
+        assertThatThrownBy(() -> guestService.patchGuests(patches)).isInstanceOf(InvalidPatchException.class);
+        verifyNoInteractions(guestRepository);
+    }
+
+    @Test
+    void multiGetServesCachedGuestsAndLoadsTheRestInOneQuery() {
+        guestCache.put(response(2L, 0));
+        when(projectionRepository.findResponsesByIdIn(List.of(5L, 3L, 9L))).thenReturn(responses(3, 5));
+        when(guestRepository.findDeletedIdsIn(List.of(9L))).thenReturn(List.of());
+
+        GuestMultiGetResponse result = guestService.getGuestsByIds(List.of(5L, 2L, 3L, 5L, 9L));
+
+        assertThat(result.getGuests()).extracting(GuestResponse::getId).containsExactly(5L, 2L, 3L);
+        assertThat(result.getMissing()).containsExactly(9L);
+        assertThat(result.getDeleted()).isEmpty();
+        assertThat(guestCache.get(3L)).isNotNull();
+    }
+
+    @Test
+    void multiGetSeparatesDeletedFromMissingIds() {
+        when(projectionRepository.findResponsesByIdIn(List.of(1L, 2L, 3L))).thenReturn(responses(1));
+        when(guestRepository.findDeletedIdsIn(List.of(2L, 3L))).thenReturn(List.of(3L));
+
+        GuestMultiGetResponse result = guestService.getGuestsByIds(List.of(1L, 2L, 3L));
+
+        assertThat(result.getMissing()).containsExactly(2L);
+        assertThat(result.getDeleted()).containsExactly(3L);
+    }
+
+    @Test
+    void multiGetSkipsTheDeletedLookupWhenEverythingResolves() {
+        when(projectionRepository.findResponsesByIdIn(List.of(1L, 2L))).thenReturn(responses(2, 1));
+
+        guestService.getGuestsByIds(List.of(1L, 2L));
+
+        verify(guestRepository, never()).findDeletedIdsIn(any());
+    }
+
+    @Test
+    void multiGetRejectsTooManyDistinctIds() {
+        assertThatThrownBy(() -> guestService.getGuestsByIds(List.of(1L, 2L, 3L, 4L, 5L, 6L)))
+                .isInstanceOf(InvalidLookupException.class);
+        verifyNoInteractions(projectionRepository);
+    }
+
+    @Test
+    void scrollReturnsCursorWhenMoreRowsFollow() {
+        when(projectionRepository.findResponsesAfter(0L, Limit.of(3))).thenReturn(responses(1, 2, 3));
+
+        CursorPageResponse<GuestResponse> slice = guestService.scrollAllGuests(null, 2);
+
+        assertThat(slice.getContent()).extracting(GuestResponse::getId).containsExactly(1L, 2L);
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(GuestCursor.decode(slice.getNextCursor(), false)).isEqualTo(GuestCursor.afterId(2L));
+    }
+
+    @Test
+    void scrollEndsWithoutCursorOnLastSlice() {
+        when(projectionRepository.findResponsesAfter(2L, Limit.of(3))).thenReturn(responses(3));
+
+        CursorPageResponse<GuestResponse> slice = guestService.scrollAllGuests(GuestCursor.afterId(2L).encode(), 2);
+
+        assertThat(slice.getContent()).extracting(GuestResponse::getId).containsExactly(3L);
+        assertThat(slice.isHasNext()).isFalse();
+        assertThat(slice.getNextCursor()).isNull();
+    }
+
+    @Test
+    void scrollSearchResumesAfterCursorInIndexOrder() {
+        when(searchIndex.search("example")).thenReturn(new long[]{2, 5, 8, 9});
+        when(projectionRepository.findResponsesByIdIn(List.of(5L, 8L, 9L))).thenReturn(responses(9, 5, 8));
+
+        CursorPageResponse<GuestResponse> slice =
+                guestService.scrollSearchGuests("example", GuestCursor.afterId(2L).encode(), 2);
+
+        assertThat(slice.getContent()).extracting(GuestResponse::getId).containsExactly(5L, 8L);
+        assertThat(GuestCursor.decode(slice.getNextCursor(), false)).isEqualTo(GuestCursor.afterId(8L));
+    }
+
+    @Test
+    void scrollSearchKeepsLoadingPastVanishedRows() {
+        when(searchIndex.search("example")).thenReturn(new long[]{1, 2, 3, 4, 5, 6});
+        // 2 and 3 were deleted after the index listed them
+        when(projectionRepository.findResponsesByIdIn(List.of(1L, 2L, 3L))).thenReturn(responses(1));
+        when(projectionRepository.findResponsesByIdIn(List.of(4L, 5L))).thenReturn(responses(4, 5));
+
+        CursorPageResponse<GuestResponse> slice = guestService.scrollSearchGuests("example", null, 2);
+
+        assertThat(slice.getContent()).extracting(GuestResponse::getId).containsExactly(1L, 4L);
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(GuestCursor.decode(slice.getNextCursor(), false)).isEqualTo(GuestCursor.afterId(4L));
+    }
+
+    @Test
+    void scrollSearchEndsWhenTheMatchesRunOut() {
+        when(searchIndex.search("example")).thenReturn(new long[]{1, 2, 3, 4});
+        when(projectionRepository.findResponsesByIdIn(List.of(1L, 2L, 3L))).thenReturn(responses(1));
+        when(projectionRepository.findResponsesByIdIn(List.of(4L))).thenReturn(List.of());
+
+        CursorPageResponse<GuestResponse> slice = guestService.scrollSearchGuests("example", null, 2);
+
+        assertThat(slice.getContent()).extracting(GuestResponse::getId).containsExactly(1L);
+        assertThat(slice.isHasNext()).isFalse();
+    }
+
+    @Test
+    void scrollByLoyaltyStartsAtMinimumPoints() {
+        when(projectionRepository.findResponsesByLoyaltyPointsAfter(100, 100, 0L, Limit.of(2)))
+                .thenReturn(List.of(response(4L, 100), response(2L, 150)));
+
+        CursorPageResponse<GuestResponse> slice = guestService.scrollByLoyaltyPoints(100, null, 1);
+
+        assertThat(slice.getContent()).extracting(GuestResponse::getId).containsExactly(4L);
+        assertThat(GuestCursor.decode(slice.getNextCursor(), true)).isEqualTo(GuestCursor.afterLoyalty(100, 4L));
+    }
+
+    @Test
+    void indexedSearchPageKeepsIndexOrderAndSkipsVanishedRows() {
+        when(searchIndex.search("guest")).thenReturn(new long[]{3, 4, 7, 9});
+        when(projectionRepository.findSummariesByIdIn(List.of(3L, 4L, 7L)))
+                .thenReturn(List.of(summary(7L), summary(3L)));
+
+        Page<? extends GuestSummaryResponse> page =
+                guestService.searchGuests("guest", PageRequest.of(0, 3), GuestView.SUMMARY);
+
+        assertThat(page.getContent()).extracting(GuestSummaryResponse::getId).containsExactly(3L, 7L);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void summaryViewUsesSummaryProjection() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        Page<GuestSummaryResponse> summaries = Page.empty(pageable);
+        when(projectionRepository.findSummariesByEmail("example", pageable)).thenReturn(summaries);
+
+        assertThat(guestService.searchByEmail("example", pageable, GuestView.SUMMARY)).isSameAs(summaries);
+    }
+
+    private static GuestRequest request(String email) {
+        GuestRequest request = new GuestRequest();
+        request.setFirstName("New");
+        request.setLastName("Guest");
+        request.setEmail(email);
+        request.setPhone("+84901234567");
+        return request;
+    }
+
+    private static Guest guestEntity(String email) {
+        Guest guest = new Guest();
+        guest.setFirstName("Old");
+        guest.setLastName("Name");
+        guest.setEmail(email);
+        guest.setPhone("+84901234567");
+        return guest;
+    }
+
+    private static Guest withId(Guest guest) {
+        guest.setId(10L);
+        guest.setIsDeleted(false);
+        guest.setLoyaltyPoints(0);
+        return guest;
+    }
+
+    private static GuestBatchPatchRequest batchEntry(Long id, Long version, String firstName) {
+        GuestBatchPatchRequest patch = new GuestBatchPatchRequest();
+        patch.setId(id);
+        patch.setVersion(version);
+        patch.setFirstName(firstName);
+        return patch;
+    }
+
+    private static List<GuestResponse> responses(long... ids) {
+        List<GuestResponse> responses = new ArrayList<>();
+        for (long id : ids) {
+            responses.add(response(id, 0));
+        }
+        return responses;
+    }
+
+    private static GuestResponse response(Long id, int loyaltyPoints) {
+        return new GuestResponse(id, "Guest " + id, "guest" + id + "@example.com", null, null, null, loyaltyPoints, 0L);
+    }
+
+    private static GuestSummaryResponse summary(Long id) {
+        return new GuestSummaryResponse(id, "Guest " + id, "guest" + id + "@example.com", null, 0, 0L);
+    }
+}
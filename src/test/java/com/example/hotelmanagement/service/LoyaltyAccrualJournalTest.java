@@ -0,0 +1,156 @@
+package com.example.hotelmanagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoyaltyAccrualJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEntriesAboveTheCheckpointAfterACrash() {
+        LoyaltyAccrualJournal journal = new LoyaltyAccrualJournal(directory, false);
+        journal.recover(0);
+        journal.append(1, 10);
+        journal.rotate();
+        journal.append(2, 20);
+        journal.append(1, 5);
+        // No close(): the process dies with the segment still open
+
+        LoyaltyAccrualJournal restarted = new LoyaltyAccrualJournal(directory, false);
+        List<LoyaltyAccrualJournal.Entry> pending = restarted.recover(1);
+
+        assertThat(pending).containsExactly(
+                new LoyaltyAccrualJournal.Entry(2, 2, 20),
+                new LoyaltyAccrualJournal.Entry(3, 1, 5));
+        assertThat(restarted.append(3, 1)).isEqualTo(4);
+    }
+
+    @Test
+    void sequencesContinueAfterAFullyCheckpointedJournal() {
+        LoyaltyAccrualJournal journal = new LoyaltyAccrualJournal(directory, true);
+        journal.recover(0);
+        journal.append(1, 10);
+        journal.append(1, 10);
+        journal.close();
+
+        LoyaltyAccrualJournal restarted = new LoyaltyAccrualJournal(directory, false);
+
+        assertThat(restarted.recover(2)).isEmpty();
+        assertThat(restarted.append(1, 1)).isEqualTo(3);
+    }
+
+    @Test
+    void truncateDeletesOnlySegmentsCoveredByTheCheckpoint() throws IOException {
+        LoyaltyAccrualJournal journal = new LoyaltyAccrualJournal(directory, false);
+        journal.recover(0);
+        journal.append(1, 1);
+        journal.append(1, 1);
+        assertThat(journal.rotate()).isEqualTo(2);
+        journal.append(2, 1);
+        assertThat(journal.rotate()).isEqualTo(3);
+        journal.append(3, 1);
+        assertThat(journal.segmentCount()).isEqualTo(3);
+
+        journal.truncate(2);
+
+        assertThat(journal.segmentCount()).isEqualTo(2);
+        assertThat(segmentFiles()).hasSize(2);
+        journal.truncate(3);
+        assertThat(segmentFiles()).hasSize(1);
+    }
+
+    @Test
+    void rotateWithoutNewEntriesKeepsTheLastSequence() {
+        LoyaltyAccrualJournal journal = new LoyaltyAccrualJournal(directory, false);
+        journal.recover(0);
+        journal.append(1, 1);
+
+        assertThat(journal.rotate()).isEqualTo(1);
+        assertThat(journal.rotate()).isEqualTo(1);
+        assertThat(journal.segmentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresTornAndCorruptedRecords() throws IOException {
+        LoyaltyAccrualJournal journal = new LoyaltyAccrualJournal(directory, false);
+        journal.recover(0);
+        journal.append(1, 10);
+        journal.append(2, 20);
+        journal.close();
+        Path segment = segmentFiles().get(0);
+        String content = Files.readString(segment, StandardCharsets.US_ASCII);
+        // Flip the points of the second record and leave half a third one behind
+        String corrupted = content.replace("2 2 20 ", "2 2 90 ") + "3 1 1";
+        Files.writeString(segment, corrupted, StandardCharsets.US_ASCII, StandardOpenOption.TRUNCATE_EXISTING);
+
+        List<LoyaltyAccrualJournal.Entry> pending = new LoyaltyAccrualJournal(directory, false).recover(0);
+
+        assertThat(pending).containsExactly(new LoyaltyAccrualJournal.Entry(1, 1, 10));
+    }
+
+    @Test
+    void accrualsQueuedDuringAWriteShareTheNextOne() throws Exception {
+        LoyaltyAccrualJournal journal = new LoyaltyAccrualJournal(directory, true);
+        journal.recover(0);
+        List<Thread> appenders = new ArrayList<>();
+        // Segment writes hold the journal's monitor, so the writer stalls on the first record
+        synchronized (journal) {
+            appenders.add(Thread.ofPlatform().start(() -> journal.append(1, 1)));
+            awaitWaiting(appenders);
+            for (int i = 2; i <= 6; i++) {
+                long guestId = i;
+                appenders.add(Thread.ofPlatform().start(() -> journal.append(guestId, 1)));
+            }
+            awaitWaiting(appenders);
+        }
+        for (Thread appender : appenders) {
+            appender.join();
+        }
+
+        assertThat(journal.batchesWritten()).isEqualTo(2);
+        assertThat(new LoyaltyAccrualJournal(directory, false).recover(0))
+                .extracting(LoyaltyAccrualJournal.Entry::sequence)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void closeWritesWhatIsQueuedAndRejectsLaterAccruals() {
+        LoyaltyAccrualJournal journal = new LoyaltyAccrualJournal(directory, false);
+        journal.recover(0);
+        journal.append(1, 10);
+        journal.close();
+
+        assertThatThrownBy(() -> journal.append(1, 10)).isInstanceOf(IllegalStateException.class);
+        assertThat(new LoyaltyAccrualJournal(directory, false).recover(0))
+                .containsExactly(new LoyaltyAccrualJournal.Entry(1, 1, 10));
+    }
+
+    // Blocked on the monitor (the writer) or parked waiting for their batch (the appenders)
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.BLOCKED) {
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.GuestResponse;
+import com.example.hotelmanagement.dto.LoyaltyAccrualResponse;
+import com.example.hotelmanagement.entity.LoyaltyAccrualCheckpoint;
+import com.example.hotelmanagement.repository.GuestRepository;
+import com.example.hotelmanagement.repository.LoyaltyAccrualCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoyaltyAccrualServiceTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final GuestService guestService = mock(GuestService.class);
+    private final GuestRepository guestRepository = mock(GuestRepository.class);
+    private final LoyaltyAccrualCheckpointRepository checkpointRepository = mock(LoyaltyAccrualCheckpointRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private LoyaltyAccrualCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        when(guestService.getGuestById(1L)).thenReturn(response(1L, 100));
+        when(guestService.getGuestById(2L)).thenReturn(response(2L, 0));
+        when(checkpointRepository.findById("node-1")).thenAnswer(invocation -> Optional.ofNullable(checkpoint));
+        when(checkpointRepository.save(any(LoyaltyAccrualCheckpoint.class))).thenAnswer(invocation -> {
+            checkpoint = invocation.getArgument(0);
+            return checkpoint;
+        });
+    }
+
+    @Test
+    void accrualIsVisibleBeforeItIsFlushed() {
+        LoyaltyAccrualService service = start();
+
+        service.accrue(1L, 30);
+        LoyaltyAccrualResponse response = service.accrue(1L, 20);
+
+        assertThat(response.getLoyaltyPoints()).isEqualTo(150);
+        assertThat(response.getPendingPoints()).isEqualTo(50);
+        assertThat(response.getSequence()).isEqualTo(2);
+        assertThat(service.pendingPoints(1L)).isEqualTo(50);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushAppliesSummedDeltasAndAdvancesTheCheckpoint() {
+        LoyaltyAccrualService service = start();
+        service.accrue(2L, 5);
+        service.accrue(1L, 30);
+        service.accrue(1L, 20);
+
+        service.flush();
+
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), args.capture());
+        assertThat(args.getValue()).containsExactly(new Object[]{50, 1L}, new Object[]{5, 2L});
+        assertThat(checkpoint.getAppliedSequence()).isEqualTo(3);
+        assertThat(service.pendingPoints(1L)).isZero();
+        assertThat(service.stats()).containsEntry("journalSegments", 0);
+    }
+
+    @Test
+    void crashBeforeFlushIsRecoveredFromTheJournal() {
+        LoyaltyAccrualService crashed = start();
+        crashed.accrue(1L, 30);
+        crashed.flush();
+        crashed.accrue(1L, 7);
+        crashed.accrue(2L, 4);
+        // No shutdown(): the last two accruals only exist in the journal
+
+        LoyaltyAccrualService restarted = start();
+
+        assertThat(restarted.pendingPoints(1L)).isEqualTo(7);
+        assertThat(restarted.pendingPoints(2L)).isEqualTo(4);
+        assertThat(restarted.accrue(2L, 1).getSequence()).isEqualTo(4);
+    }
+
+    @Test
+    void failedFlushKeepsDeltasAndCheckpointForTheNextAttempt() {
+        LoyaltyAccrualService service = start();
+        service.accrue(1L, 30);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("lock wait timeout"));
+
+        assertThat(service.flush()).isZero();
+
+        assertThat(service.pendingPoints(1L)).isEqualTo(30);
+        assertThat(checkpoint).isNull();
+        service.accrue(1L, 5);
+        assertThat(service.pendingPoints(1L)).isEqualTo(35);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mergeMovesTheDuplicatesBufferedPointsToTheSurvivor() {
+        LoyaltyAccrualService service = start();
+        service.accrue(1L, 30);
+        service.accrue(2L, 5);
+
+        String merged = service.mergeGuests(1L, 2L, () -> {
+            // Accrued between the last flush and the merge's commit
+            service.accrue(2L, 7);
+            return "merged";
+        });
+
+        assertThat(merged).isEqualTo("merged");
+        assertThat(service.pendingPoints(1L)).isEqualTo(42);
+        assertThat(service.pendingPoints(2L)).isZero();
+        // A restart before the next flush replays the move from the journal
+        LoyaltyAccrualService restarted = start();
+        assertThat(restarted.pendingPoints(1L)).isEqualTo(42);
+        assertThat(restarted.pendingPoints(2L)).isZero();
+
+        service.flush();
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), args.capture());
+        assertThat(args.getValue()).containsExactly(new Object[]{42, 1L});
+    }
+
+    @Test
+    void failedMergeLeavesThePointsWithTheDuplicate() {
+        LoyaltyAccrualService service = start();
+        service.accrue(2L, 5);
+
+        assertThatThrownBy(() -> service.mergeGuests(1L, 2L, () -> {
+            throw new IllegalStateException("rolled back");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(service.pendingPoints(2L)).isEqualTo(5);
+        assertThat(service.pendingPoints(1L)).isZero();
+    }
+
+    private LoyaltyAccrualService start() {
+        LoyaltyAccrualService service = new LoyaltyAccrualService(guestService, guestRepository, checkpointRepository,
+                mock(ApplicationEventPublisher.class), jdbcTemplate, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), journalDir.toString(), false, "node-1", 500);
+        service.recover();
+        return service;
+    }
+
+    private static GuestResponse response(Long id, int loyaltyPoints) {
+        return new GuestResponse(id, "Guest " + id, "guest" + id + "@example.com", null, null, null, loyaltyPoints, 0L);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.hotelmanagement.service;
+
+import com.example.hotelmanagement.dto.StayRequest;
+import com.example.hotelmanagement.entity.Guest;
+import com.example.hotelmanagement.entity.Stay;
+import com.example.hotelmanagement.exception.InvalidStayException;
+import com.example.hotelmanagement.repository.GuestRepository;
+import com.example.hotelmanagement.repository.StayRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class StayServiceTest {
+
+    private final StayRepository stayRepository = mock(StayRepository.class);
+    private final GuestRepository guestRepository = mock(GuestRepository.class);
+    private final StayService stayService = new StayService(stayRepository, guestRepository,
+            mock(GuestService.class), mock(ApplicationEventPublisher.class), 10, 5);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void migratesLegacyHistoryIntoStayRows() {
+        Guest guest = guest("2023-01-15: Room 101, 2023-06-20: Suite A; 2024-02-01:305");
+        when(stayRepository.findByGuestIdOrderByCheckOutDateDescIdDesc(eq(1L), any(Limit.class)))
+                .thenReturn(List.of(new Stay(1L, "305", date("2024-02-01"), date("2024-02-01"), 0),
+                        new Stay(1L, "Suite A", date("2023-06-20"), date("2023-06-20"), 0)));
+
+        int created = stayService.migrateLegacyHistory(guest);
+
+        ArgumentCaptor<List<Stay>> saved = ArgumentCaptor.forClass(List.class);
+        verify(stayRepository).saveAll(saved.capture());
+        assertThat(created).isEqualTo(3);
+        assertThat(saved.getValue()).extracting(Stay::getRoomNumber).containsExactly("101", "Suite A", "305");
+        assertThat(saved.getValue()).extracting(Stay::getPointsEarned).containsOnly(0);
+        assertThat(guest.getStayHistory()).isEqualTo("2023-06-20: Room Suite A, 2024-02-01: Room 305");
+    }
+
+    @Test
+    void leavesUnparseableHistoryUntouched() {
+        Guest guest = guest("2023-01-15: Room 101, stayed last summer");
+
+        assertThat(stayService.migrateLegacyHistory(guest)).isZero();
+        verify(stayRepository, never()).saveAll(anyList());
+        assertThat(guest.getStayHistory()).isEqualTo("2023-01-15: Room 101, stayed last summer");
+
+        Guest badDate = guest("2023-02-30: Room 101");
+        assertThat(stayService.migrateLegacyHistory(badDate)).isZero();
+    }
+
+    @Test
+    void skipsGuestsThatAlreadyHaveStayRows() {
+        when(stayRepository.existsByGuestId(1L)).thenReturn(true);
+
+        assertThat(stayService.migrateLegacyHistory(guest("2023-01-15: Room 101"))).isZero();
+        verify(stayRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void rejectsCheckOutBeforeCheckIn() {
+        StayRequest request = new StayRequest();
+        request.setRoomNumber("101");
+        request.setCheckInDate(date("2024-03-10"));
+        request.setCheckOutDate(date("2024-03-09"));
+
+        assertThatThrownBy(() -> stayService.recordCheckOut(1L, request)).isInstanceOf(InvalidStayException.class);
+        verifyNoInteractions(guestRepository);
+    }
+
+    @Test
+    void checkOutAccruesAndRewritesTheSummaryInOneUpdate() {
+        Guest guest = guest("2024-03-01: Room 101");
+        when(guestRepository.findById(1L)).thenReturn(Optional.of(guest));
+        when(stayRepository.existsByGuestId(1L)).thenReturn(true);
+        when(stayRepository.save(any(Stay.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(stayRepository.findByGuestIdOrderByCheckOutDateDescIdDesc(eq(1L), any(Limit.class)))
+                .thenReturn(List.of(new Stay(1L, "101", date("2024-03-01"), date("2024-03-02"), 10)))
+                .thenReturn(List.of(new Stay(1L, "202", date("2024-03-10"), date("2024-03-12"), 20),
+                        new Stay(1L, "101", date("2024-03-01"), date("2024-03-02"), 10)));
+
+        stayService.recordCheckOut(1L, request("202", "2024-03-10", "2024-03-12"));
+
+        verify(guestRepository).recordStay(1L, 20, "2024-03-01: Room 101, 2024-03-10: Room 202");
+    }
+
+    @Test
+    void checkOutKeepsHistoryThatCouldNotBeMigrated() {
+        Guest guest = guest("2023-01-15: Room 101, stayed last summer");
+        when(guestRepository.findById(1L)).thenReturn(Optional.of(guest));
+        when(stayRepository.save(any(Stay.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(stayRepository.findByGuestIdOrderByCheckOutDateDescIdDesc(eq(1L), any(Limit.class)))
+                .thenReturn(List.of());
+
+        stayService.recordCheckOut(1L, request("202", "2024-03-10", "2024-03-12"));
+
+        verify(stayRepository, never()).saveAll(anyList());
+        verify(guestRepository).recordStay(1L, 20, null);
+        assertThat(guest.getStayHistory()).isEqualTo("2023-01-15: Room 101, stayed last summer");
+    }
+
+    @Test
+    void mergeKeepsTheSurvivorsUnmigratedHistory() {
+        Guest survivor = guest("stayed last summer");
+        Guest duplicate = guest(2L, null);
+        when(stayRepository.existsByGuestId(2L)).thenReturn(true);
+        when(stayRepository.findByGuestIdOrderByCheckOutDateDescIdDesc(eq(1L), any(Limit.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new Stay(1L, "202", date("2024-03-10"), date("2024-03-12"), 20)));
+        when(stayRepository.reassignGuest(2L, 1L)).thenReturn(1);
+
+        assertThat(stayService.mergeStays(survivor, duplicate)).isEqualTo(1);
+        assertThat(survivor.getStayHistory()).isEqualTo("stayed last summer");
+    }
+
+    @Test
+    void mergeAppendsTheDuplicatesUnmigratedHistory() {
+        Guest survivor = guest("2024-03-10: Room 202");
+        Guest duplicate = guest(2L, "stayed last summer");
+        when(stayRepository.existsByGuestId(1L)).thenReturn(true);
+        when(stayRepository.findByGuestIdOrderByCheckOutDateDescIdDesc(eq(1L), any(Limit.class)))
+                .thenReturn(List.of(new Stay(1L, "202", date("2024-03-10"), date("2024-03-12"), 20)));
+        when(stayRepository.findByGuestIdOrderByCheckOutDateDescIdDesc(eq(2L), any(Limit.class)))
+                .thenReturn(List.of());
+
+        stayService.mergeStays(survivor, duplicate);
+
+        assertThat(survivor.getStayHistory()).isEqualTo("2024-03-10: Room 202, stayed last summer");
+    }
+
+    private static StayRequest request(String roomNumber, String checkIn, String checkOut) {
+        StayRequest request = new StayRequest();
+        request.setRoomNumber(roomNumber);
+        request.setCheckInDate(date(checkIn));
+        request.setCheckOutDate(date(checkOut));
+        return request;
+    }
+
+    private static Guest guest(String stayHistory) {
+        return guest(1L, stayHistory);
+    }
+
+    private static Guest guest(Long id, String stayHistory) {
+        Guest guest = new Guest();
+        guest.setId(id);
+        guest.setStayHistory(stayHistory);
+        guest.setIsDeleted(false);
+        return guest;
+    }
+
+    private static LocalDate date(String value) {
+        return LocalDate.parse(value);
+    }
+}